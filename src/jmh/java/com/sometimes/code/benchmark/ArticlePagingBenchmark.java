@@ -0,0 +1,65 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.dto.article.ArticleCursorInfo;
+import com.sometimes.code.dto.article.ArticlesInfo;
+import com.sometimes.code.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 오프셋 페이지네이션(getArticles)과 커서 페이지네이션(getArticlesByCursor)의 깊은 페이지 비용 비교
+// gradle jmhRun -PjmhIncludes=ArticlePagingBenchmark
+@State(Scope.Benchmark)
+public class ArticlePagingBenchmark {
+
+    private static final int PAGE_SIZE = 15;
+
+    @Param("1000")
+    public int users;
+
+    @Param("100000")
+    public int articles;
+
+    @Param({"1", "5000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, articles, 0);
+        articleService = context.getBean(ArticleService.class);
+        // articleId 가 1..articles 로 빈틈없으므로 page 번째 페이지 직전의 마지막 ID 를 바로 계산할 수 있음
+        // 커서 형식은 ArticleService.encodeCursor 와 같음
+        long lastSeenId = (long) articles - (long) (page - 1) * PAGE_SIZE + 1;
+        cursor = page == 1 ? null : Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastSeenId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ArticlesInfo offset(StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticles(page, "all");
+    }
+
+    @Benchmark
+    public ArticleCursorInfo keyset(StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticlesByCursor("all", cursor, PAGE_SIZE);
+    }
+}
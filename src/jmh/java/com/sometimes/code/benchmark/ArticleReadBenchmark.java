@@ -0,0 +1,107 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.dto.article.ArticleDetailInfo;
+import com.sometimes.code.dto.article.ArticlesInfo;
+import com.sometimes.code.dto.article.SearchDetailCriteriaDto;
+import com.sometimes.code.dto.comment.CommentInfo;
+import com.sometimes.code.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// ArticleService 의 조회 경로 벤치마크
+// gradle jmhRun -PjmhIncludes=ArticleReadBenchmark
+// 데이터 크기는 -PjmhArgs='-p articles=100000' 처럼 @Param 값을 바꿔서 조정
+@State(Scope.Benchmark)
+public class ArticleReadBenchmark {
+
+    @Param("500")
+    public int users;
+
+    @Param("10000")
+    public int articles;
+
+    @Param("10")
+    public int commentsPerArticle;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+
+    // 호출마다 다른 게시글/작성자/검색어를 고름
+    @State(Scope.Thread)
+    public static class Inputs {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        long articleId(ArticleReadBenchmark benchmark) {
+            return 1 + random.nextInt(benchmark.articles);
+        }
+
+        String nickname(ArticleReadBenchmark benchmark) {
+            return "user" + (1 + random.nextInt(benchmark.users));
+        }
+
+        SearchDetailCriteriaDto criteria() {
+            SearchDetailCriteriaDto criteria = new SearchDetailCriteriaDto();
+            criteria.setKeyword(random.nextInt(4) == 0
+                    ? SyntheticText.word(random) + " " + SyntheticText.word(random)
+                    : SyntheticText.word(random));
+            return criteria;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, articles, commentsPerArticle);
+        articleService = context.getBean(ArticleService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ArticlesInfo getArticles(StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticles(1, "all");
+    }
+
+    @Benchmark
+    public ArticlesInfo getArticlesByCategory(StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticles(1, "free");
+    }
+
+    @Benchmark
+    public ArticlesInfo getArticlesByAuthor(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticlesByAuthor(1, inputs.nickname(this));
+    }
+
+    @Benchmark
+    public ArticlesInfo searchArticles(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.searchArticles(inputs.criteria(), 1L);
+    }
+
+    @Benchmark
+    public ArticleDetailInfo getArticleDetail(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.getArticleDetail(inputs.articleId(this), 1L);
+    }
+
+    @Benchmark
+    public List<CommentInfo> getCommentsByArticleId(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.getCommentsByArticleId(inputs.articleId(this));
+    }
+}
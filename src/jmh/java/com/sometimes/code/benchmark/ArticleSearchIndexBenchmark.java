@@ -0,0 +1,97 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.search.ArticleSearchIndex;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// 메모리 검색 색인 자체의 검색 지연 (스프링 컨텍스트 없이 article 테이블만 만들어서 색인을 빌드)
+// gradle jmhRun -PjmhIncludes=ArticleSearchIndexBenchmark
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "-Xmx4g")
+public class ArticleSearchIndexBenchmark {
+
+    private static final int BATCH_SIZE = 5000;
+
+    @Param("1000000")
+    public int articles;
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleSearchIndex searchIndex;
+    private String commonWord;
+    private String rareWord;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:search-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE article (article_id BIGINT PRIMARY KEY, title VARCHAR(255), content CLOB)");
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int a = 1; a <= articles; a++) {
+            rows.add(new Object[]{a, SyntheticText.sentence(random, 3) + " " + a, SyntheticText.sentence(random, 30)});
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO article VALUES (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO article VALUES (?, ?, ?)", rows);
+        }
+
+        long startedAt = System.currentTimeMillis();
+        searchIndex = new ArticleSearchIndex(jdbcTemplate);
+        searchIndex.build();
+        System.out.printf("%nBuilt index over %d articles in %d ms, %d MB%n",
+                articles, System.currentTimeMillis() - startedAt, searchIndex.sizeInBytes() / (1024 * 1024));
+        // 색인을 만든 뒤에는 테이블이 필요 없으므로 메모리 확보
+        jdbcTemplate.execute("DROP TABLE article");
+
+        commonWord = SyntheticText.WORDS[0];
+        rareWord = SyntheticText.WORDS[SyntheticText.WORDS.length - 1];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Benchmark
+    public ArticleSearchIndex.SearchResult commonTerm() {
+        return searchIndex.search(commonWord, 0, 15);
+    }
+
+    @Benchmark
+    public ArticleSearchIndex.SearchResult rareTerm() {
+        return searchIndex.search(rareWord, 0, 15);
+    }
+
+    @Benchmark
+    public ArticleSearchIndex.SearchResult twoTerms() {
+        return searchIndex.search(commonWord + " " + rareWord, 0, 15);
+    }
+
+    @Benchmark
+    public ArticleSearchIndex.SearchResult phrase() {
+        return searchIndex.search("\"" + commonWord + " " + SyntheticText.WORDS[1] + "\"", 0, 15);
+    }
+
+    @Benchmark
+    public ArticleSearchIndex.SearchResult deepPage() {
+        return searchIndex.search(commonWord, 300, 15);
+    }
+}
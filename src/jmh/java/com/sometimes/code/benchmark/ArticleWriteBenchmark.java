@@ -0,0 +1,161 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.service.ArticleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// 좋아요/댓글 쓰기 경로의 SQL 문 개수 (statements / operations)
+// likeThenUnlike: 좋아요 후 바로 취소 (한 번 호출에 두 동작)
+// writeWithImages: 처음 보는 이미지 IMAGES 장을 붙여 글 쓰기 (S3 요청은 BenchmarkConfig.S3_LATENCY_MS 만큼 걸림)
+// repostWithImages: 매번 같은 이미지 IMAGES 장으로 글 쓰기 (이미 올라간 이미지는 다시 올리지 않음)
+// 끝나면 DB 커넥션 사용 시간(hikaricp.connections.usage)과 이미지 중복 제거 결과(image.dedup.*)를 출력
+// gradle jmhRun -PjmhIncludes=ArticleWriteBenchmark
+@State(Scope.Benchmark)
+public class ArticleWriteBenchmark {
+
+    @Param("500")
+    public int users;
+
+    @Param("10000")
+    public int articles;
+
+    private static final int IMAGES = 10;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private List<MultipartFile> images;
+    private final AtomicLong imageSequence = new AtomicLong();
+    private long setupConnectionCount;
+    private double setupConnectionMs;
+
+    @State(Scope.Thread)
+    public static class Inputs {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        // DatasetSeeder 는 articleId 가 5 의 배수인 글에는 좋아요를 넣지 않으므로 중복 좋아요가 생기지 않음
+        long unlikedArticleId(ArticleWriteBenchmark benchmark) {
+            return 5L * (1 + random.nextInt(benchmark.articles / 5));
+        }
+
+        long articleId(ArticleWriteBenchmark benchmark) {
+            return 1 + random.nextInt(benchmark.articles);
+        }
+
+        long userId(ArticleWriteBenchmark benchmark) {
+            return 1 + random.nextInt(benchmark.users);
+        }
+
+        ArticleWriteRequest article() {
+            ArticleWriteRequest article = new ArticleWriteRequest();
+            article.setTitle(SyntheticText.sentence(random, 4));
+            article.setContent(SyntheticText.sentence(random, 40));
+            article.setCategory(Article.Category.free);
+            return article;
+        }
+
+        CommentRequestDto comment() {
+            CommentRequestDto comment = new CommentRequestDto();
+            comment.setContent(SyntheticText.sentence(random, 8));
+            return comment;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, articles, 0);
+        articleService = context.getBean(ArticleService.class);
+        images = newImages();
+
+        Timer connectionUsage = connectionUsage();
+        if (connectionUsage != null) {
+            setupConnectionCount = connectionUsage.count();
+            setupConnectionMs = connectionUsage.totalTime(TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // 요청 하나가 DB 커넥션을 잡고 있던 시간 (S3 지연과 무관해야 함), 데이터 준비에 쓴 커넥션은 빼고 계산
+        Timer connectionUsage = connectionUsage();
+        if (connectionUsage != null) {
+            long count = connectionUsage.count() - setupConnectionCount;
+            double totalMs = connectionUsage.totalTime(TimeUnit.MILLISECONDS) - setupConnectionMs;
+            System.out.printf("%nconnection usage: count=%d mean=%.3fms%n", count, count == 0 ? 0 : totalMs / count);
+        }
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        Counter bytesSaved = meterRegistry.find("image.dedup.bytes_saved").counter();
+        System.out.printf("image dedup: uploaded=%.0f deduplicated=%.0f bytes_saved=%.0f%n",
+                dedupObjects(meterRegistry, "uploaded"), dedupObjects(meterRegistry, "deduplicated"),
+                bytesSaved == null ? 0 : bytesSaved.count());
+        context.close();
+    }
+
+    private static double dedupObjects(MeterRegistry meterRegistry, String result) {
+        Counter counter = meterRegistry.find("image.dedup.objects").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    // 서로 내용이 다른 이미지 IMAGES 장 (앞 8바이트에 일련번호)
+    private List<MultipartFile> newImages() {
+        return IntStream.range(0, IMAGES)
+                .<MultipartFile>mapToObj(i -> {
+                    byte[] content = new byte[64 * 1024];
+                    ByteBuffer.wrap(content).putLong(imageSequence.incrementAndGet());
+                    return new MockMultipartFile("images", "photo" + i + ".jpg", "image/jpeg", content);
+                })
+                .toList();
+    }
+
+    private Timer connectionUsage() {
+        return context.getBean(MeterRegistry.class).find("hikaricp.connections.usage").timer();
+    }
+
+    @Benchmark
+    public void likeThenUnlike(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        long articleId = inputs.unlikedArticleId(this);
+        long userId = inputs.userId(this);
+        articleService.likeArticle(articleId, userId);
+        articleService.unlikeArticle(articleId, userId);
+    }
+
+    @Benchmark
+    public Object createComment(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.createComment(inputs.articleId(this), inputs.userId(this), inputs.comment());
+    }
+
+    @Benchmark
+    public Object writeWithImages(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.writeArticle(inputs.article(), inputs.userId(this), newImages());
+    }
+
+    @Benchmark
+    public Object repostWithImages(Inputs inputs, StatementCounters counters) {
+        counters.operations++;
+        return articleService.writeArticle(inputs.article(), inputs.userId(this), images);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sometimes.code.benchmark;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.AnonymousAWSCredentials;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.sometimes.code.service.S3ImageService;
+import com.sometimes.code.support.StatementCountingDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 벤치마크 컨텍스트 전용 빈 (src/jmh 에만 있으므로 애플리케이션에는 포함되지 않음)
+@Configuration
+@Import(StatementCountingDataSource.class)
+public class BenchmarkConfig {
+
+    static final long S3_LATENCY_MS = 20;
+
+    // S3 는 호출하지 않고 요청 한 번의 왕복 시간만 흉내, 올라간 key 와 크기만 기억함 (클라이언트는 TransferManager 를 만들기 위해서만 필요)
+    @Bean
+    @Primary
+    S3ImageService stubS3ImageService() {
+        AmazonS3 unusedClient = AmazonS3ClientBuilder.standard()
+                .withRegion("ap-northeast-2")
+                .withCredentials(new AWSStaticCredentialsProvider(new AnonymousAWSCredentials()))
+                .build();
+        Map<String, Long> objects = new ConcurrentHashMap<>();
+        return new S3ImageService(unusedClient, "bench", DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 1) {
+            @Override
+            public String putImage(MultipartFile image, String key) {
+                sleep(S3_LATENCY_MS);
+                objects.put(key, image.getSize());
+                return getUrl(key);
+            }
+
+            @Override
+            public String uploadBytes(String key, byte[] bytes, String contentType) {
+                sleep(S3_LATENCY_MS);
+                objects.put(key, (long) bytes.length);
+                return getUrl(key);
+            }
+
+            @Override
+            public Long objectSize(String key) {
+                sleep(S3_LATENCY_MS);
+                return objects.get(key);
+            }
+
+            @Override
+            public String getUrl(String key) {
+                return "https://bench.local/" + key;
+            }
+
+            @Override
+            public Set<String> deleteObjects(List<String> keys) {
+                keys.forEach(objects::remove);
+                return Set.of();
+            }
+
+            @Override
+            public void deleteImageFromS3(String imageUrl) {
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.SometimesApplication;
+import com.sometimes.code.search.ArticleSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 벤치마크용 스프링 컨텍스트를 띄움
+// H2 메모리 DB(MariaDB 모드)에 스키마를 만들고 DatasetSeeder 로 데이터를 넣으며, 웹 서버는 띄우지 않음
+final class BenchmarkContext {
+
+    private static final long INDEX_READY_TIMEOUT_MS = 10 * 60 * 1000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(int users, int articles, int commentsPerArticle) {
+        // application.yaml 보다 우선하도록 커맨드라인 인자로 넘김
+        Map<String, Object> properties = Map.ofEntries(
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MariaDB;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "create"),
+                Map.entry("spring.jpa.show-sql", "false"),
+                Map.entry("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+                Map.entry("jwt.secret", "c29tZXRpbWVzLWJlbmNobWFyay1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzNTEyLXNpZ25pbmctcHVycG9zZXMtMTIzNDU2Nzg5MA=="),
+                Map.entry("cloud.aws.credentials.accessKey", "bench"),
+                Map.entry("cloud.aws.credentials.secretKey", "bench"),
+                Map.entry("cloud.aws.s3.bucketName", "bench"),
+                Map.entry("cloud.aws.region.static", "ap-northeast-2"),
+                Map.entry("aws.ses.access-key", "bench"),
+                Map.entry("aws.ses.secret-key", "bench"),
+                Map.entry("mail.transport", "fake"),
+                Map.entry("article.counter.reconcile-on-startup", "false"),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.com.sometimes.code", "INFO"),
+                Map.entry("benchmark.dataset.users", users),
+                Map.entry("benchmark.dataset.articles", articles),
+                Map.entry("benchmark.dataset.comments-per-article", commentsPerArticle));
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SometimesApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+
+        // 검색 색인은 기동 후 별도 스레드에서 만들어지므로 끝날 때까지 기다림
+        ArticleSearchIndex searchIndex = context.getBean(ArticleSearchIndex.class);
+        long deadline = System.currentTimeMillis() + INDEX_READY_TIMEOUT_MS;
+        while (!searchIndex.isReady()) {
+            if (System.currentTimeMillis() > deadline) {
+                context.close();
+                throw new IllegalStateException("Search index was not built in time");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return context;
+    }
+}
@@ -0,0 +1,140 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.service.ArticleCountRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// 벤치마크 시작 전에 합성 데이터를 넣음
+// ApplicationRunner 는 ApplicationReadyEvent 보다 먼저 실행되므로 검색 색인은 넣은 데이터로 만들어짐
+// 작성자는 user1..userN 이 돌아가며, articleId 는 1..articles 로 빈틈없이 생성됨
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class DatasetSeeder implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Article.Category[] CATEGORIES = Article.Category.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleCountRegistry articleCountRegistry;
+
+    @Value("${benchmark.dataset.users:500}")
+    private int users;
+
+    @Value("${benchmark.dataset.articles:10000}")
+    private int articles;
+
+    @Value("${benchmark.dataset.comments-per-article:10}")
+    private int commentsPerArticle;
+
+    @Value("${benchmark.dataset.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int u = 1; u <= users; u++) {
+            rows.add(new Object[]{"user" + u + "@bench.local", "{noop}password", "name" + u, "user" + u});
+            rows = flush(rows, "INSERT INTO user (email, password, name, nickname, gender, authority) VALUES (?, ?, ?, ?, 'other', 'ROLE_USER')");
+        }
+        flushAll(rows, "INSERT INTO user (email, password, name, nickname, gender, authority) VALUES (?, ?, ?, ?, 'other', 'ROLE_USER')");
+
+        // 유저 절반만 프로필 이미지가 있음
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int u = 1; u <= users; u += 2) {
+            rows.add(new Object[]{u, "https://bench.local/profile/" + u + ".png"});
+            rows = flush(rows, "INSERT INTO profile_img (user_id, url) VALUES (?, ?)");
+        }
+        flushAll(rows, "INSERT INTO profile_img (user_id, url) VALUES (?, ?)");
+
+        // 최근 글일수록 articleId 가 크고 created_at 이 늦음
+        // 다섯 개 중 하나는 이미지 2장, 좋아요는 0~4개
+        String articleSql = "INSERT INTO article (user_id, title, content, created_at, category, hits, like_count, comment_count, image_count) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int a = 1; a <= articles; a++) {
+            int imageCount = a % 5 == 0 ? 2 : 0;
+            rows.add(new Object[]{
+                    authorOf(a),
+                    SyntheticText.sentence(random, 3) + " " + a,
+                    SyntheticText.sentence(random, 30),
+                    Date.valueOf(today.minusDays((articles - a) / 100)),
+                    CATEGORIES[a % CATEGORIES.length].name(),
+                    random.nextInt(1000),
+                    a % 5,
+                    commentsPerArticle,
+                    imageCount});
+            rows = flush(rows, articleSql);
+        }
+        flushAll(rows, articleSql);
+
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int a = 5; a <= articles; a += 5) {
+            rows.add(new Object[]{a, "https://bench.local/article/" + a + "_1.jpg"});
+            rows.add(new Object[]{a, "https://bench.local/article/" + a + "_2.jpg"});
+            rows = flush(rows, "INSERT INTO article_img (article_id, url) VALUES (?, ?)");
+        }
+        flushAll(rows, "INSERT INTO article_img (article_id, url) VALUES (?, ?)");
+
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int a = 1; a <= articles; a++) {
+            for (int l = 0; l < a % 5; l++) {
+                rows.add(new Object[]{1 + (a + l * 7) % users, a});
+                rows = flush(rows, "INSERT INTO likes (user_id, article_id) VALUES (?, ?)");
+            }
+        }
+        flushAll(rows, "INSERT INTO likes (user_id, article_id) VALUES (?, ?)");
+
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int a = 1; a <= articles; a++) {
+            Date createdAt = Date.valueOf(today.minusDays((articles - a) / 100));
+            for (int c = 0; c < commentsPerArticle; c++) {
+                rows.add(new Object[]{a, 1 + random.nextInt(users), SyntheticText.sentence(random, 8), createdAt});
+                rows = flush(rows, "INSERT INTO comment (article_id, user_id, content, created_at) VALUES (?, ?, ?, ?)");
+            }
+        }
+        flushAll(rows, "INSERT INTO comment (article_id, user_id, content, created_at) VALUES (?, ?, ?, ?)");
+
+        // 레지스트리는 데이터를 넣기 전에 초기화됐으므로 다시 맞춤
+        articleCountRegistry.resync();
+        log.info("Seeded {} users, {} articles, {} comments in {} ms",
+                users, articles, (long) articles * commentsPerArticle, System.currentTimeMillis() - startedAt);
+    }
+
+    private int authorOf(int articleId) {
+        return 1 + articleId % users;
+    }
+
+    private List<Object[]> flush(List<Object[]> rows, String sql) {
+        if (rows.size() < BATCH_SIZE) {
+            return rows;
+        }
+        flushAll(rows, sql);
+        return new ArrayList<>(BATCH_SIZE);
+    }
+
+    private void flushAll(List<Object[]> rows, String sql) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.sometimes.code.benchmark;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.service.ImageRefCounter;
+import com.sometimes.code.service.ImageVariantProcessor;
+import com.sometimes.code.service.S3ImageService;
+import com.sometimes.code.support.LocalS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 큰 사진 한 장을 올릴 때 크기별 이미지 생성 비용 (LocalS3 대역 사용), 작업당 메모리는 gc.alloc.rate.norm (B/op) 으로 봄
+// upload: ImageVariantProcessor (원본 업로드 + subsampling 디코딩 한 번으로 medium/thumbnail 생성), 매번 처음 올리는 것으로 침
+// uploadDuplicate: 이미 올라간 같은 이미지를 다시 올림 (hash 와 HEAD 만 하고 디코딩/업로드는 건너뜀)
+// decodeFull: 비교용, ImageIO.read 로 원본 해상도 그대로 디코딩만 했을 때
+// gradle jmhRun -PjmhIncludes=ImageVariantBenchmark
+@State(Scope.Benchmark)
+public class ImageVariantBenchmark {
+
+    @Param({"4000x3000"})
+    public String resolution;
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+    private ImageVariantProcessor processor;
+    private MockMultipartFile image;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        s3ImageService = new S3ImageService(amazonS3, "bench", DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 8);
+        processor = new ImageVariantProcessor(s3ImageService, new AlwaysReferencedImages(), new SimpleMeterRegistry(),
+                1280, 320, 0.82f, 1, 64, Duration.ofSeconds(60));
+
+        String[] size = resolution.split("x");
+        image = new MockMultipartFile("image", "photo.jpg", "image/jpeg",
+                syntheticJpeg(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nLocalS3: objects=%d bytes=%d, source=%d bytes%n",
+                localS3.objectsPut(), localS3.bytesReceived(), image.getSize());
+        processor.shutdown();
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyBucket {
+
+        @Setup(Level.Invocation)
+        public void clear(ImageVariantBenchmark benchmark) {
+            benchmark.localS3.clear();
+        }
+    }
+
+    @Benchmark
+    public ImageVariants upload(EmptyBucket emptyBucket) {
+        return processor.upload(image, "articleImg");
+    }
+
+    @Benchmark
+    public ImageVariants uploadDuplicate() {
+        return processor.upload(image, "articleImg");
+    }
+
+    @Benchmark
+    public BufferedImage decodeFull() throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(image.getBytes()));
+    }
+
+    // DB 없이 돌리기 위한 참조 수 대역 (참조 기록은 항상 있는 것으로 봄)
+    private static class AlwaysReferencedImages extends ImageRefCounter {
+
+        AlwaysReferencedImages() {
+            super(null, null, null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public boolean reserve(String objectKey, long sizeBytes) {
+            return true;
+        }
+
+        @Override
+        public boolean touch(String objectKey) {
+            return true;
+        }
+
+        @Override
+        public void discard(Collection<String> imageUrls) {
+        }
+    }
+
+    // 압축이 너무 잘 되지 않도록 색 블록을 흩뿌린 JPEG
+    private static byte[] syntheticJpeg(int width, int height) throws IOException {
+        BufferedImage source = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = source.createGraphics();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 4000; i++) {
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillRect(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(200), 20 + random.nextInt(200));
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(source, "jpg", out);
+        return out.toByteArray();
+    }
+}
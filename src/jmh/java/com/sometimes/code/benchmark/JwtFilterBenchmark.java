@@ -0,0 +1,158 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.jwt.JwtFilter;
+import com.sometimes.code.jwt.JwtPrincipal;
+import com.sometimes.code.jwt.TokenDenylist;
+import com.sometimes.code.jwt.TokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// 요청 하나당 JWT 처리 비용 (필터 + 서비스에서 userId 를 얻기까지)
+// legacy: 이전 방식 재현 (필터에서 validateToken + getAuthentication, 서비스에서 getUserIdFromToken, 매번 새 파서로 3번 검증)
+// verifyUncached: 검증 캐시 없이 필터에서 한 번만 검증 (verify* 는 TokenDenylist 확인 포함)
+// verifyCached: 같은 토큰이 반복해서 들어와 검증 캐시에서 바로 principal 을 꺼내는 경우
+// gradle jmhRun -PjmhIncludes=JwtFilterBenchmark
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "c29tZXRpbWVzLWJlbmNobWFyay1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzNTEyLXNpZ25pbmctcHVycG9zZXMtMTIzNDU2Nzg5MA==";
+    // 동시에 활동하는 사용자 수 (서로 다른 토큰 개수)
+    private static final int ACTIVE_USERS = 1024;
+    // denylist 에 들어 있는 다른 토큰/사용자 수
+    private static final int REVOKED = 10_000;
+
+    private String[] headers;
+    private OncePerRequestFilter legacyFilter;
+    private JwtFilter uncachedFilter;
+    private JwtFilter cachedFilter;
+
+    // 필터 뒤에서 서비스가 userId 를 얻는 부분
+    private final FilterChain principalChain = (request, response) ->
+            ((JwtPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).userId();
+
+    // 이전 서비스 코드의 getUserIdFromToken: 헤더를 다시 파싱
+    private final FilterChain legacyChain = (request, response) -> {
+        String header = ((HttpServletRequest) request).getHeader(JwtFilter.AUTHORIZATION_HEADER);
+        ((LegacyJwtFilter) legacyFilter).parse(header.replace("Bearer ", "")).getSubject();
+    };
+
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private int next;
+
+        MockHttpServletRequest next(JwtFilterBenchmark benchmark) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/myPage/userInfo");
+            request.addHeader(JwtFilter.AUTHORIZATION_HEADER, benchmark.headers[next++ & (ACTIVE_USERS - 1)]);
+            return request;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TokenProvider tokenProvider = new TokenProvider(SECRET, 0);
+        headers = new String[ACTIVE_USERS];
+        for (int i = 0; i < ACTIVE_USERS; i++) {
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                    String.valueOf(i + 1), "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            headers[i] = JwtFilter.BEARER_PREFIX + tokenProvider.generateTokenDto(authentication).getAccessToken();
+        }
+        // 다른 사용자들의 로그아웃/강제 로그아웃이 쌓여 있는 상태에서 denylist 확인 비용까지 포함
+        TokenDenylist tokenDenylist = new TokenDenylist(new SimpleMeterRegistry());
+        for (int i = 0; i < REVOKED; i++) {
+            long otherUserId = ACTIVE_USERS + 1 + i;
+            tokenDenylist.revoke(new JwtPrincipal(otherUserId, List.of(), UUID.randomUUID().toString(),
+                    Instant.now(), Instant.now().plusMillis(TokenProvider.ACCESS_TOKEN_EXPIRE_TIME)));
+            tokenDenylist.revokeAll(otherUserId);
+        }
+        legacyFilter = new LegacyJwtFilter(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)));
+        uncachedFilter = new JwtFilter(tokenProvider, tokenDenylist);
+        cachedFilter = new JwtFilter(new TokenProvider(SECRET, 10_000), tokenDenylist);
+    }
+
+    @Benchmark
+    public void legacy(Requests requests) throws ServletException, IOException {
+        run(legacyFilter, requests.next(this), legacyChain);
+    }
+
+    @Benchmark
+    public void verifyUncached(Requests requests) throws ServletException, IOException {
+        run(uncachedFilter, requests.next(this), principalChain);
+    }
+
+    @Benchmark
+    public void verifyCached(Requests requests) throws ServletException, IOException {
+        run(cachedFilter, requests.next(this), principalChain);
+    }
+
+    private static void run(OncePerRequestFilter filter, HttpServletRequest request, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // 이전 JwtFilter + TokenProvider.validateToken/getAuthentication 재현
+    private static final class LegacyJwtFilter extends OncePerRequestFilter {
+
+        private final Key key;
+
+        private LegacyJwtFilter(Key key) {
+            this.key = key;
+        }
+
+        private Claims parse(String token) {
+            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String bearerToken = request.getHeader(JwtFilter.AUTHORIZATION_HEADER);
+            if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(JwtFilter.BEARER_PREFIX)) {
+                String jwt = bearerToken.substring(7);
+                parse(jwt);  // validateToken
+                Claims claims = parse(jwt);  // getAuthentication
+                Collection<? extends GrantedAuthority> authorities = Arrays.stream(claims.get("auth").toString().split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+                User principal = new User(claims.getSubject(), "", authorities);
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, "", authorities));
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.config.MailUtil;
+import com.sometimes.code.service.FakeMailTransport;
+import com.sometimes.code.service.MailOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+// 인증 메일 한 통의 비용
+// buildLegacy: 이전 방식 재현 (메일마다 MimeMessage 를 만들고 writeTo)
+// buildTemplate: 미리 만든 헤더/파트 구조에 받는 사람과 본문만 붙임
+// outboxDrain: FakeMailTransport(latencyMs 로 SES 호출 지연 흉내)로 BATCH 통을 넣고 모두 보낼 때까지, 발송 한도 없음
+// gradle jmhRun -PjmhIncludes=MailBenchmark
+@State(Scope.Benchmark)
+public class MailBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final String BODY = "<h2>인증번호는 123456 입니다</h2>";
+
+    @Param({"0", "20"})
+    public long latencyMs;
+
+    @Param({"4", "32"})
+    public int workers;
+
+    private FakeMailTransport transport;
+    private MailOutbox outbox;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transport = new FakeMailTransport(latencyMs);
+        outbox = new MailOutbox(transport, new SimpleMeterRegistry(), workers, BATCH, 0, 1, Duration.ofSeconds(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        outbox.shutdown();
+    }
+
+    @Benchmark
+    public byte[] buildLegacy() throws Exception {
+        Session session = Session.getDefaultInstance(new Properties());
+        MimeMessage message = new MimeMessage(session);
+        message.setSubject("sometime 메일 인증 번호입니다.");
+        message.setFrom(new InternetAddress("hsjj001102@gmail.com"));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse("user@example.com"));
+        MimeMultipart msgBody = new MimeMultipart("alternative");
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(BODY, "text/html; charset=UTF-8");
+        msgBody.addBodyPart(htmlPart);
+        MimeBodyPart wrap = new MimeBodyPart();
+        wrap.setContent(msgBody);
+        MimeMultipart msg = new MimeMultipart("mixed");
+        msg.addBodyPart(wrap);
+        message.setContent(msg);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        message.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] buildTemplate() {
+        return MailUtil.getRawMessage("user@example.com", BODY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long outboxDrain() throws InterruptedException {
+        long target = transport.sentCount() + BATCH;
+        byte[] rawMessage = MailUtil.getRawMessage("user@example.com", BODY);
+        for (int i = 0; i < BATCH; i++) {
+            outbox.enqueue("user@example.com", rawMessage);
+        }
+        while (transport.sentCount() < target) {
+            Thread.sleep(0, 100_000);
+        }
+        return transport.sentCount();
+    }
+}
@@ -0,0 +1,107 @@
+package com.sometimes.code.benchmark;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.util.IOUtils;
+import com.sometimes.code.service.S3ImageService;
+import com.sometimes.code.support.DiskMultipartFile;
+import com.sometimes.code.support.LocalS3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 이미지 한 장 업로드 비용 (LocalS3 대역 사용), 힙 사용량은 gc.alloc.rate.norm (B/op) 으로 봄
+// 톰캣처럼 디스크에 받아둔 part 를 호출마다 새로 만들어서 올림 (DiskMultipartFile, 복사 비용은 측정에서 빠짐)
+// upload: 현재 S3ImageService (작은 파일은 스트리밍, multipart-threshold 이상은 병렬 multipart)
+// uploadBuffered: 이전 방식 재현 (IOUtils.toByteArray 로 통째로 읽고 ByteArrayInputStream 으로 putObject)
+// 시작할 때 한 번 올려보고 LocalS3 에 받은 크기가 맞는지 확인함
+// gradle jmhRun -PjmhIncludes=S3UploadBenchmark
+@State(Scope.Benchmark)
+public class S3UploadBenchmark {
+
+    @Param({"1", "12"})
+    public int sizeMb;
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+    private Path source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        s3ImageService = new S3ImageService(amazonS3, "bench", DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 8);
+
+        byte[] content = new byte[sizeMb * 1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        source = Files.createTempFile("s3-upload-bench-", ".jpg");
+        Files.write(source, content);
+
+        DiskMultipartFile image = DiskMultipartFile.copyOf(source, "photo.jpg", "image/jpeg");
+        String key = s3ImageService.contentKey(image, "articleImg");
+        s3ImageService.putImage(image, key);
+        image.delete();
+        Long uploaded = localS3.objectSize("bench", key);
+        if (uploaded == null || uploaded != content.length) {
+            throw new IllegalStateException("LocalS3 received " + uploaded + " bytes, expected " + content.length);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nLocalS3: objects=%d parts=%d bytes=%d%n",
+                localS3.objectsPut(), localS3.partsPut(), localS3.bytesReceived());
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+        Files.deleteIfExists(source);
+    }
+
+    // 요청마다 톰캣이 새로 받은 part 파일
+    @State(Scope.Thread)
+    public static class UploadedPart {
+
+        DiskMultipartFile image;
+
+        @Setup(Level.Invocation)
+        public void receive(S3UploadBenchmark benchmark) throws IOException {
+            image = DiskMultipartFile.copyOf(benchmark.source, "photo.jpg", "image/jpeg");
+        }
+
+        @TearDown(Level.Invocation)
+        public void cleanUp() throws IOException {
+            image.delete();
+        }
+    }
+
+    @Benchmark
+    public String upload(UploadedPart part) {
+        return s3ImageService.uploadImage(part.image, "articleImg");
+    }
+
+    @Benchmark
+    public String uploadBuffered(UploadedPart part) throws IOException {
+        try (InputStream is = part.image.getInputStream()) {
+            byte[] bytes = IOUtils.toByteArray(is);
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType("image/jpg");
+            metadata.setContentLength(bytes.length);
+            amazonS3.putObject(new PutObjectRequest("bench", "articleImg/photo.jpg", new ByteArrayInputStream(bytes), metadata));
+            return amazonS3.getUrl("bench", "articleImg/photo.jpg").toString();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sometimes.code.benchmark;
+
+import com.sometimes.code.support.StatementCounter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 반복(iteration)마다 호출 횟수와 SQL 문 개수를 결과에 같이 기록
+// 벤치마크 메서드에서 호출할 때마다 operations 를 1 증가시켜야 함
+// EVENTS 값은 반복을 모두 더해서 보여주므로 호출당 SQL 문 개수는 statements / operations 로 계산 (비율을 카운터로 두면 반복 수만큼 곱해짐)
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StatementCounters {
+
+    public long operations;
+    private long statementsAtStart;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        operations = 0;
+        statementsAtStart = StatementCounter.current();
+    }
+
+    public long statements() {
+        return StatementCounter.current() - statementsAtStart;
+    }
+}
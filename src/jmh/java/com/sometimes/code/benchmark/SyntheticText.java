@@ -0,0 +1,35 @@
+package com.sometimes.code.benchmark;
+
+import java.util.SplittableRandom;
+
+// 벤치마크용 게시글 제목/본문 생성기
+// 앞쪽 단어일수록 자주 나오도록 치우치게 뽑아서 흔한 검색어와 드문 검색어가 모두 생기게 함
+final class SyntheticText {
+
+    static final String[] WORDS = {
+            "대화", "고민", "상담", "친구", "연애", "회사", "학교", "가족", "취업", "공부",
+            "여행", "운동", "음식", "영화", "음악", "시험", "이사", "결혼", "건강", "취미",
+            "선배", "후배", "동아리", "면접", "자취", "강아지", "고양이", "카페", "주말", "야근",
+            "이직", "연봉", "다이어트", "독서", "게임", "유학", "군대", "부모님", "동생", "룸메이트",
+            "spring", "java", "react", "kotlin", "docker", "aws", "mariadb", "jwt", "redis", "linux"
+    };
+
+    private SyntheticText() {
+    }
+
+    static String word(SplittableRandom random) {
+        double r = random.nextDouble();
+        return WORDS[(int) (WORDS.length * r * r)];
+    }
+
+    static String sentence(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(word(random));
+        }
+        return sb.toString();
+    }
+}
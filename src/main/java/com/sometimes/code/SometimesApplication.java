@@ -2,8 +2,10 @@ package com.sometimes.code;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SometimesApplication {
 
     public static void main(String[] args) {
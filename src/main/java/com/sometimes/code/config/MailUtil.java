@@ -1,67 +1,77 @@
 package com.sometimes.code.config;
 
-import com.amazonaws.services.simpleemail.model.RawMessage;
-import com.amazonaws.services.simpleemail.model.SendRawEmailRequest;
-import jakarta.mail.Message;
-import jakarta.mail.MessagingException;
-import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
-import jakarta.mail.internet.MimeBodyPart;
-import jakarta.mail.internet.MimeMessage;
-import jakarta.mail.internet.MimeMultipart;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.mail.internet.MimeUtility;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.Properties;
-
-@Slf4j
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+// 인증 메일 MIME 메시지, 받는 사람과 본문을 뺀 나머지(헤더, 파트 구조)는 한 번만 만들어 두고 붙여서 씀
+// 구조는 이전과 같음: multipart/mixed > multipart/alternative > text/html (base64)
 public class MailUtil {
 
     private static final String SUBJECT = "sometime 메일 인증 번호입니다.";
+    private static final String SENDER = "hsjj001102@gmail.com";
+    private static final String MIXED_BOUNDARY = "----=_sometimes_mixed";
+    private static final String ALTERNATIVE_BOUNDARY = "----=_sometimes_alternative";
+    private static final String CRLF = "\r\n";
 
-    public static SendRawEmailRequest getSendRawEmailRequest(String receiver, String bodyHtml) {
-        try {
-            // 메일 세션 생성
-            Session session = Session.getDefaultInstance(new Properties());
-            MimeMessage message = new MimeMessage(session);
-
-            // 제목 설정
-            message.setSubject(SUBJECT);
-
-            // 발신자 설정
-            message.setFrom(new InternetAddress("hsjj001102@gmail.com"));
-
-            // 수신자 설정
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(receiver));
-
-            // 메일 본문 설정
-            MimeMultipart msgBody = new MimeMultipart("alternative");
-
-            MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setContent(bodyHtml, "text/html; charset=UTF-8");
-
-            msgBody.addBodyPart(htmlPart);
-
-            MimeBodyPart wrap = new MimeBodyPart();
-            wrap.setContent(msgBody);
-
-            MimeMultipart msg = new MimeMultipart("mixed");
-            msg.addBodyPart(wrap);
+    private static final byte[] HEADER;
+    private static final byte[] BODY_PREFIX;
+    private static final byte[] BODY_SUFFIX;
 
-            message.setContent(msg);
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            message.writeTo(outputStream);
-
-            RawMessage rawMessage = new RawMessage(ByteBuffer.wrap(outputStream.toByteArray()));
-            return new SendRawEmailRequest(rawMessage);
+    static {
+        try {
+            HEADER = ("From: " + SENDER + CRLF
+                    + "Subject: " + MimeUtility.encodeText(SUBJECT, "UTF-8", "B") + CRLF
+                    + "MIME-Version: 1.0" + CRLF
+                    + "Content-Type: multipart/mixed; boundary=\"" + MIXED_BOUNDARY + "\"" + CRLF)
+                    .getBytes(StandardCharsets.US_ASCII);
+        } catch (UnsupportedEncodingException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        BODY_PREFIX = (CRLF
+                + "--" + MIXED_BOUNDARY + CRLF
+                + "Content-Type: multipart/alternative; boundary=\"" + ALTERNATIVE_BOUNDARY + "\"" + CRLF
+                + CRLF
+                + "--" + ALTERNATIVE_BOUNDARY + CRLF
+                + "Content-Type: text/html; charset=UTF-8" + CRLF
+                + "Content-Transfer-Encoding: base64" + CRLF
+                + CRLF)
+                .getBytes(StandardCharsets.US_ASCII);
+        BODY_SUFFIX = (CRLF
+                + "--" + ALTERNATIVE_BOUNDARY + "--" + CRLF
+                + CRLF
+                + "--" + MIXED_BOUNDARY + "--" + CRLF)
+                .getBytes(StandardCharsets.US_ASCII);
+    }
 
-        } catch (MessagingException | IOException e) {
-            log.error("메일 생성 중 오류 발생", e);
-            throw new RuntimeException("메일 생성 중 오류 발생", e);
+    // 주소가 올바르지 않으면 IllegalArgumentException (헤더에 줄바꿈 등을 끼워 넣지 못하도록 엄격하게 검사)
+    public static byte[] getRawMessage(String receiver, String bodyHtml) {
+        if (receiver == null) {
+            throw new IllegalArgumentException("Email address is missing");
         }
+        String to;
+        try {
+            to = new InternetAddress(receiver, true).toString();
+        } catch (AddressException e) {
+            throw new IllegalArgumentException("Invalid email address: " + receiver, e);
+        }
+
+        byte[] body = Base64.getMimeEncoder().encode(bodyHtml.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(HEADER.length + BODY_PREFIX.length + body.length + 256);
+        outputStream.writeBytes(HEADER);
+        outputStream.writeBytes(("To: " + to + CRLF
+                + "Date: " + DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()) + CRLF)
+                .getBytes(StandardCharsets.UTF_8));
+        outputStream.writeBytes(BODY_PREFIX);
+        outputStream.writeBytes(body);
+        outputStream.writeBytes(BODY_SUFFIX);
+        return outputStream.toByteArray();
     }
 }
-
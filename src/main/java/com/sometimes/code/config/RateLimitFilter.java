@@ -0,0 +1,92 @@
+package com.sometimes.code.config;
+
+import com.sometimes.code.exception.ErrorCode;
+import com.sometimes.code.jwt.JwtPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// /api/** 요청 수 제한, JwtFilter 다음에 실행되므로 로그인한 요청은 사용자 ID, 아니면 IP 기준
+// 제한을 넘으면 컨트롤러까지 가지 않고 429 + Retry-After
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    // 비밀번호 해시, 토큰 발급이 있는 요청만 (이메일/닉네임 중복 확인은 입력 중에 자주 부르므로 READ)
+    private static final List<String> AUTH_PATHS = List.of(
+            "/api/auth/login", "/api/auth/signup", "/api/auth/reissue", "/api/auth/resetPassword");
+    // 메일 발송(SES, 인증번호 행 생성)과 인증번호 확인(추측 대상)은 로그인 전에 부르므로 항상 IP 기준으로 더 엄격하게
+    private static final List<String> MAIL_PATHS = List.of("/api/auth/mailSend", "/api/auth/mailAuth");
+    private static final List<String> WRITE_PATHS = List.of(
+            "/api/article/write", "/api/article/update/**", "/api/article/delete/**",
+            "/api/article/*/like", "/api/article/*/unlike", "/api/article/comment/**");
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Group group = group(request);
+        long waitNanos = rateLimiter.tryAcquire(group, client(group, request));
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(ErrorCode.TOO_MANY_REQUESTS.getMessage());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static RateLimiter.Group group(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (AUTH_PATHS.contains(path)) {
+            return RateLimiter.Group.AUTH;
+        }
+        if (MAIL_PATHS.contains(path)) {
+            return RateLimiter.Group.MAIL;
+        }
+        if (path.startsWith("/api/article/search/")) {
+            return RateLimiter.Group.SEARCH;
+        }
+        // 게시글 목록 조회도 POST 이므로 메서드가 아닌 경로로 구분 (마이페이지는 조회 외에는 모두 POST)
+        if (path.startsWith("/api/myPage/") && HttpMethod.POST.matches(request.getMethod())) {
+            return RateLimiter.Group.WRITE;
+        }
+        for (String pattern : WRITE_PATHS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return RateLimiter.Group.WRITE;
+            }
+        }
+        return RateLimiter.Group.READ;
+    }
+
+    // 로드밸런서 뒤에서는 server.forward-headers-strategy 설정으로 remoteAddr 가 실제 클라이언트 IP 가 됨
+    private static String client(RateLimiter.Group group, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (group != RateLimiter.Group.MAIL && authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return "user:" + principal.userId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,102 @@
+package com.sometimes.code.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 클라이언트(사용자 ID 또는 IP) x API 그룹별 token bucket (RateLimitFilter 에서 사용)
+// 버킷마다 "다음 요청이 이론상 도착해야 하는 시각(TAT)" 하나만 AtomicLong 으로 두고 CAS 로 갱신 (GCRA, 락 없음)
+// 버킷은 크기 제한 + 일정 시간 요청이 없으면 빠지는 캐시에 둠 (빠질 때쯤이면 어차피 가득 찬 상태)
+@Component
+public class RateLimiter {
+
+    public enum Group {
+        AUTH, MAIL, WRITE, SEARCH, READ
+    }
+
+    private record Limit(long intervalNanos, long burstToleranceNanos) {
+    }
+
+    private record BucketKey(Group group, String client) {
+    }
+
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> allowedCounters = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejectedCounters = new EnumMap<>(Group.class);
+    private final Cache<BucketKey, AtomicLong> buckets;
+
+    public RateLimiter(Environment environment,
+                       MeterRegistry meterRegistry,
+                       @Value("${rate-limit.buckets.maximum-size:100000}") long maximumBuckets,
+                       @Value("${rate-limit.buckets.expire-after-access:10m}") Duration idleTimeout) {
+        for (Group group : Group.values()) {
+            String prefix = "rate-limit." + group.name().toLowerCase(Locale.ROOT);
+            double perSecond = environment.getProperty(prefix + ".per-second", Double.class, defaultPerSecond(group));
+            int burst = environment.getProperty(prefix + ".burst", Integer.class, defaultBurst(group));
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            limits.put(group, new Limit(intervalNanos, intervalNanos * burst));
+
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            allowedCounters.put(group, meterRegistry.counter("http.rate_limit", "group", tag, "result", "allowed"));
+            rejectedCounters.put(group, meterRegistry.counter("http.rate_limit", "group", tag, "result", "rejected"));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        Gauge.builder("http.rate_limit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // 허용이면 0, 거절이면 다시 시도할 수 있을 때까지 남은 시간(ns)
+    public long tryAcquire(Group group, String client) {
+        Limit limit = limits.get(group);
+        AtomicLong theoreticalArrival = buckets.get(new BucketKey(group, client), key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + limit.intervalNanos();
+            long allowedAt = next - limit.burstToleranceNanos();
+            if (allowedAt > now) {
+                rejectedCounters.get(group).increment();
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                allowedCounters.get(group).increment();
+                return 0;
+            }
+        }
+    }
+
+    // 그룹별 기본값, rate-limit.<group>.per-second / burst 로 바꿀 수 있음
+    private static double defaultPerSecond(Group group) {
+        return switch (group) {
+            case AUTH -> 1;
+            case MAIL -> 0.1;
+            case WRITE -> 2;
+            case SEARCH -> 5;
+            case READ -> 20;
+        };
+    }
+
+    private static int defaultBurst(Group group) {
+        return switch (group) {
+            case AUTH -> 10;
+            case MAIL -> 5;
+            case WRITE -> 20;
+            case SEARCH -> 20;
+            case READ -> 100;
+        };
+    }
+}
@@ -3,15 +3,19 @@ package com.sometimes.code.config;
 import com.sometimes.code.jwt.JwtAccessDeniedHandler;
 import com.sometimes.code.jwt.JwtAuthenticationEntryPoint;
 import com.sometimes.code.jwt.JwtSecurityConfig;
+import com.sometimes.code.jwt.TokenDenylist;
 import com.sometimes.code.jwt.TokenProvider;
+import com.sometimes.code.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -23,13 +27,30 @@ import java.util.List;
 public class SecurityConfig {
 
     private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final RateLimiter rateLimiter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.pool-size:0}") int poolSize,
+                                           @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        // pool-size 가 0 이면 CPU 코어 수
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
+    }
+
+    // 로그인 인증, 사용자 조회는 CustomUserDetailsService 의 캐시를 거침
+    // provider 의 setUserCache 는 쓰지 않음: 캐시된 사용자로 비밀번호가 틀리면 DB 에서 다시 읽고 BCrypt 를 한 번 더 돌리기 때문
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(CustomUserDetailsService customUserDetailsService,
+                                                            PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(customUserDetailsService);
+        provider.setUserDetailsPasswordService(customUserDetailsService);
+        return provider;
     }
 
     @Bean
@@ -44,6 +65,12 @@ public class SecurityConfig {
                 .sessionManagement(sessionManagementConfigurer -> sessionManagementConfigurer
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorizeHttpRequestsConfigurer -> authorizeHttpRequestsConfigurer
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // 로그인한 사용자의 userId 가 필요한 API 는 JwtFilter 에서 검증된 토큰이 있어야 함
+                        .requestMatchers("/api/myPage/**", "/api/auth/logout",
+                                "/api/article/write", "/api/article/update/**",
+                                "/api/article/*/like", "/api/article/*/unlike",
+                                "/api/article/comment/**", "/api/article/delete/comment/**").authenticated()
                         .requestMatchers( "/health","/api/**","/error","/favicon.ico").permitAll()
                         .anyRequest().authenticated())
                 .cors(corsConfigurer -> corsConfigurer.configurationSource(request -> {
@@ -54,7 +81,7 @@ public class SecurityConfig {
                     return cors;
                 }));
 
-        http.apply(new JwtSecurityConfig(tokenProvider));  // 여전히 필요한 경우
+        http.apply(new JwtSecurityConfig(tokenProvider, tokenDenylist, rateLimiter));  // 여전히 필요한 경우
 
         return http.build();
     }
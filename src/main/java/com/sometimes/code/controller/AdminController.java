@@ -0,0 +1,25 @@
+package com.sometimes.code.controller;
+
+import com.sometimes.code.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// ROLE_ADMIN 만 접근 가능 (SecurityConfig)
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final AuthService authService;
+
+    // 해당 사용자를 모든 기기에서 로그아웃시킴 (계정 도용 등)
+    @PostMapping("/users/{userId}/revokeSessions")
+    public ResponseEntity<String> revokeSessions(@PathVariable Long userId) {
+        authService.revokeAllSessions(userId);
+        return ResponseEntity.ok("Sessions revoked");
+    }
+}
@@ -1,15 +1,19 @@
 package com.sometimes.code.controller;
 
 import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.article.ArticleCategorySummary;
+import com.sometimes.code.dto.article.ArticleCursorInfo;
 import com.sometimes.code.dto.article.ArticleDetailInfo;
 import com.sometimes.code.dto.article.ArticleWriteRequest;
 import com.sometimes.code.dto.article.ArticlesInfo;
 import com.sometimes.code.dto.article.SearchDetailCriteriaDto;
 import com.sometimes.code.dto.comment.CommentInfo;
 import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.jwt.JwtPrincipal;
 import com.sometimes.code.service.ArticleService;
 import com.sometimes.code.service.S3ImageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -42,6 +46,25 @@ public class ArticleController {
         return ResponseEntity.ok(articlesInfo);
     }
 
+    @GetMapping("/articles/summary")
+    public ResponseEntity<ArticleCategorySummary> getCategorySummary() {
+        return ResponseEntity.ok(articleService.getCategorySummary());
+    }
+
+    // 페이지 번호 대신 커서(마지막으로 본 글) 기준으로 다음 목록을 가져오는 API
+    @PostMapping("/articles/{category}/cursor")
+    public ResponseEntity<ArticleCursorInfo> getArticlesByCursor(
+            @PathVariable("category") String category,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "15") Integer size) {
+        try {
+            ArticleCursorInfo articleCursorInfo = articleService.getArticlesByCursor(category, cursor, size);
+            return ResponseEntity.ok(articleCursorInfo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/articles/author/{nickname}/{page}")
     public ResponseEntity<ArticlesInfo> getArticlesByAuthor(
             @PathVariable("page") Integer page,
@@ -56,10 +79,10 @@ public class ArticleController {
     @PostMapping("/write")
     public ResponseEntity<Long> writeArticle(
             @RequestPart("articleWriteRequest") ArticleWriteRequest articleWriteRequest,
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @RequestPart(value = "images", required = false) List<MultipartFile> images) {
 
-        Article savedArticle = articleService.writeArticle(articleWriteRequest, token, images);
+        Article savedArticle = articleService.writeArticle(articleWriteRequest, principal.userId(), images);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedArticle.getArticleId());
     }
 
@@ -76,19 +99,20 @@ public class ArticleController {
 
     @PostMapping("/update/{articleId}")
     public ResponseEntity<Void> updateArticle(@RequestPart("articleWriteRequest") ArticleWriteRequest articleWriteRequest,
-                                              @RequestHeader("Authorization") String token,
+                                              @AuthenticationPrincipal JwtPrincipal principal,
                                               @RequestPart(value = "images", required = false) List<MultipartFile> images,
                                               @PathVariable("articleId") Long articleId) {
 
-        articleService.updateArticle(articleId, articleWriteRequest, token, images);
+        articleService.updateArticle(articleId, articleWriteRequest, principal.userId(), images);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/{articleId}")
     public ResponseEntity<ArticleDetailInfo> getArticleDetail(@PathVariable("articleId") Long articleId,
-                                                              @RequestHeader(value = "Authorization", required = false) String token) {
+                                                              @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            ArticleDetailInfo articleDetailInfo = articleService.getArticleDetail(articleId, token);
+            Long userId = principal == null ? null : principal.userId();  // 로그인하지 않은 경우 null
+            ArticleDetailInfo articleDetailInfo = articleService.getArticleDetail(articleId, userId);
             return ResponseEntity.ok(articleDetailInfo);
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
@@ -98,9 +122,9 @@ public class ArticleController {
 
     @PostMapping("/{articleId}/like")
     public ResponseEntity<Void> likeArticle(@PathVariable("articleId") Long articleId,
-                                            @RequestHeader("Authorization") String token) {
+                                            @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            articleService.likeArticle(articleId, token);
+            articleService.likeArticle(articleId, principal.userId());
             return ResponseEntity.ok().build();
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -109,9 +133,9 @@ public class ArticleController {
 
     @PostMapping("/{articleId}/unlike")
     public ResponseEntity<Void> unlikeArticle(@PathVariable("articleId") Long articleId,
-                                              @RequestHeader("Authorization") String token) {
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            articleService.unlikeArticle(articleId, token);
+            articleService.unlikeArticle(articleId, principal.userId());
             return ResponseEntity.ok().build();
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -131,16 +155,20 @@ public class ArticleController {
     @PostMapping("/comment/{articleId}")
     public ResponseEntity<Void> createComment(@PathVariable Long articleId,
                                               @RequestBody CommentRequestDto commentRequestDto,
-                                              @RequestHeader("Authorization") String token) {
-        articleService.createComment(articleId, token, commentRequestDto);
-        return ResponseEntity.ok().build();
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
+        try {
+            articleService.createComment(articleId, principal.userId(), commentRequestDto);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
     }
 
     @PostMapping("/delete/comment/{commentId}")
     public ResponseEntity<Void> deleteComment(@PathVariable("commentId") Long commentId,
-                                              @RequestHeader("Authorization") String token) {
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            articleService.deleteComment(commentId, token);
+            articleService.deleteComment(commentId, principal.userId());
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -149,10 +177,10 @@ public class ArticleController {
 
     @PostMapping("/update/comment/{commentId}")
     public ResponseEntity<Void> updateComment(@PathVariable("commentId") Long commentId,
-                                              @RequestHeader("Authorization") String token,
+                                              @AuthenticationPrincipal JwtPrincipal principal,
                                               @RequestBody CommentRequestDto commentRequestDto) {
         try {
-            articleService.updateComment(commentId, token, commentRequestDto);
+            articleService.updateComment(commentId, principal.userId(), commentRequestDto);
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -4,12 +4,16 @@ import com.sometimes.code.dto.login.ResetPasswordRequest;
 import com.sometimes.code.dto.login.TokenDto;
 import com.sometimes.code.dto.login.TokenRequestDto;
 import com.sometimes.code.dto.login.UserDetailsRequest;
+import com.sometimes.code.exception.PasswordHashingBusyException;
+import com.sometimes.code.jwt.JwtPrincipal;
 import com.sometimes.code.repository.UserRepository;
 import com.sometimes.code.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,6 +28,8 @@ public class AuthController {
         try {
             authService.signup(userDetailsRequest);
             return ResponseEntity.ok("User registered successfully.");
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -50,7 +56,13 @@ public class AuthController {
         try {
             TokenDto tokenDto = authService.login(userDetailsRequest);
             return ResponseEntity.ok(tokenDto);
+        } catch (PasswordHashingBusyException ex) {
+            return passwordHashingBusy(ex);
         } catch (AuthenticationException ex) {
+            // 없는 이메일이면 해시 작업 중 예외가 AuthenticationException 으로 감싸져서 옴
+            if (ex.getCause() instanceof PasswordHashingBusyException busy) {
+                return passwordHashingBusy(busy);
+            }
             // Spring Security의 AuthenticationException 사용
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication failed: " + ex.getMessage());
         } catch (Exception ex) {
@@ -71,12 +83,22 @@ public class AuthController {
         }
     }
 
+    // 지금 쓰는 access token 을 무효화, body 에 refreshToken 을 같이 보내면 그 기기의 것만, 안 보내면 모든 기기의 refresh token 을 지움
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@AuthenticationPrincipal JwtPrincipal principal,
+                                         @RequestBody(required = false) TokenRequestDto tokenRequestDto) {
+        authService.logout(principal, tokenRequestDto == null ? null : tokenRequestDto.getRefreshToken());
+        return ResponseEntity.ok("Logged out");
+    }
+
     @PostMapping("/resetPassword")
     public ResponseEntity<String> resetPassword(@RequestBody ResetPasswordRequest request) {
         try {
             authService.resetPassword(request.getEmail(), request.getNewPassword());
             // 성공 시 단순 문자열 메시지 반환
             return ResponseEntity.ok("Password updated successfully");
+        } catch (PasswordHashingBusyException ex) {
+            return passwordHashingBusy(ex);
         } catch (Exception ex) {
             // 예외 발생 시 단순 문자열 메시지 반환
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -84,5 +106,11 @@ public class AuthController {
         }
     }
 
+    // 비밀번호 해시 대기열이 가득 찬 경우 잠시 후 다시 시도하도록 503 + Retry-After
+    private ResponseEntity<String> passwordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 
 }
@@ -2,8 +2,13 @@ package com.sometimes.code.controller;
 
 import com.sometimes.code.dto.mail.EmailCheckDto;
 import com.sometimes.code.dto.mail.MailVO;
+import com.sometimes.code.exception.MailOutboxFullException;
+import com.sometimes.code.exception.TooManyRequestsException;
 import com.sometimes.code.service.AwsMailService;
+import com.sometimes.code.service.VerificationCodeStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,18 +23,37 @@ public class MailController {
     @PostMapping("/mailSend")
     public ResponseEntity<String> sendMail(@RequestBody MailVO mailVO) {
         // 이메일 전송
-        awsMailService.send(mailVO);
+        try {
+            awsMailService.send(mailVO);
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e, "잠시 후 다시 요청해 주세요");
+        } catch (MailOutboxFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("잘못된 이메일 주소");
+        }
 
         return ResponseEntity.ok("Email sent successfully!");
     }
 
     @PostMapping("/mailAuth")
     public ResponseEntity<String> authenticateEmail(@RequestBody EmailCheckDto emailCheckDto) {
-        boolean isValid = awsMailService.validateAuthNum(emailCheckDto);
-        if (isValid) {
+        VerificationCodeStore.Result result = awsMailService.validateAuthNum(emailCheckDto);
+        if (result == VerificationCodeStore.Result.VERIFIED) {
             return ResponseEntity.ok("인증 성공");
+        } else if (result == VerificationCodeStore.Result.LOCKED) {
+            // 틀린 횟수 초과, 인증번호를 다시 받아야 함
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("인증 시도 횟수 초과");
         } else {
             return ResponseEntity.status(400).body("인증 실패");
         }
     }
+
+    private ResponseEntity<String> tooManyRequests(TooManyRequestsException e, String body) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(body);
+    }
 }
@@ -2,8 +2,10 @@ package com.sometimes.code.controller;
 
 
 import com.sometimes.code.dto.myPage.*;
+import com.sometimes.code.jwt.JwtPrincipal;
 import com.sometimes.code.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,45 +18,45 @@ public class UserController {
 
     private final UserService userService;
     @GetMapping("/userInfo")
-    public ResponseEntity<UserInfoResponse> getUserInfo(@RequestHeader("Authorization") String token) {
-        UserInfoResponse userInfo = userService.getUserInfo(token);
+    public ResponseEntity<UserInfoResponse> getUserInfo(@AuthenticationPrincipal JwtPrincipal principal) {
+        UserInfoResponse userInfo = userService.getUserInfo(principal.userId());
         return ResponseEntity.ok(userInfo);
     }
 
     @PostMapping("/changeNickName")
-    public ResponseEntity<String> changeNickName(@RequestHeader("Authorization") String token,
+    public ResponseEntity<String> changeNickName(@AuthenticationPrincipal JwtPrincipal principal,
                                                  @RequestBody ChangeNickNameRequest request) {
-        userService.changeNickName(token, request.getNewNickName());
+        userService.changeNickName(principal.userId(), request.getNewNickName());
         return ResponseEntity.ok("Nickname updated successfully");
     }
 
     @PostMapping("/changeName")
-    public ResponseEntity<String> changeName(@RequestHeader("Authorization") String token,
+    public ResponseEntity<String> changeName(@AuthenticationPrincipal JwtPrincipal principal,
                                              @RequestBody ChangeNameRequest request) {
-        userService.changeName(token, request.getNewName());
+        userService.changeName(principal.userId(), request.getNewName());
         return ResponseEntity.ok("Name updated successfully");
     }
 
     @PostMapping("/changeGender")
-    public ResponseEntity<String> changeGender(@RequestHeader("Authorization") String token,
+    public ResponseEntity<String> changeGender(@AuthenticationPrincipal JwtPrincipal principal,
                                                @RequestBody ChangeGenderRequest request){
-        userService.changeGender(token, request.getNewGender());
+        userService.changeGender(principal.userId(), request.getNewGender());
         return ResponseEntity.ok("Gender updated successfully");
     }
 
     @PostMapping("/changeBirth")
-    public ResponseEntity<String> changeBirth(@RequestHeader("Authorization") String token,
+    public ResponseEntity<String> changeBirth(@AuthenticationPrincipal JwtPrincipal principal,
                                                @RequestBody ChangeBirthRequest request){
-        userService.changeBirth(token, request.getNewBirth());
+        userService.changeBirth(principal.userId(), request.getNewBirth());
         return ResponseEntity.ok("Birth updated successfully");
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<String> uploadProfileImage(@RequestHeader("Authorization") String token,
+    public ResponseEntity<String> uploadProfileImage(@AuthenticationPrincipal JwtPrincipal principal,
                                                      @RequestPart(value = "image") MultipartFile image) {
         try {
             // S3에 이미지 업로드 및 프로필 이미지 저장 처리
-            String imageUrl = userService.uploadProfileImage(token, image);
+            String imageUrl = userService.uploadProfileImage(principal.userId(), image);
             return ResponseEntity.ok(imageUrl);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
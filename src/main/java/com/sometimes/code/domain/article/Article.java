@@ -9,7 +9,10 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "article")
+@Table(name = "article", indexes = {
+        // 카테고리별 커서(articleId < ?) 페이지네이션용
+        @Index(name = "idx_article_category_article_id", columnList = "category, article_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,9 +43,25 @@ public class Article {
     @Column(name = "category", nullable = false, columnDefinition = "ENUM('question','info','free','counseling')")
     private Category category;
 
-    @Column(name = "hits")
+    // 조회수는 ArticleHitBuffer 가 모아서 원자적 UPDATE 로만 증가시키므로 엔티티 update 에서 제외
+    @Column(name = "hits", updatable = false)
     private Integer hits;
 
+    // 목록/상세 조회 시 집계 쿼리를 피하기 위한 비정규화 카운터
+    // 엔티티 저장 시 덮어쓰지 않도록 insert/update 에서 제외하고, ArticleRepository 의 원자적 UPDATE 로만 변경
+    @Column(name = "like_count", insertable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer likeCount;
+
+    @Column(name = "comment_count", insertable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer commentCount;
+
+    @Column(name = "image_count", insertable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer imageCount;
+
+    // 목록에 보여줄 첫 번째 이미지의 썸네일 (목록 조회에서 이미지 테이블을 조인하지 않도록 비정규화)
+    @Column(name = "cover_image_url")
+    private String coverImageUrl;
+
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments;
 
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "likes")
+// 사용자당 게시글 하나에 좋아요 한 번, 중복은 이 제약으로 막음
+@Table(name = "likes", uniqueConstraints = @UniqueConstraint(name = "uk_likes_user_article", columnNames = {"user_id", "article_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
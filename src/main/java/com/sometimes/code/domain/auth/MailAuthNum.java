@@ -3,18 +3,21 @@ package com.sometimes.code.domain.auth;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+// 이메일별 인증번호와 재전송/실패 횟수, 메모리 저장소에서도 같은 객체를 사용함
 @Entity
+@Table(indexes = @Index(name = "idx_mail_auth_num_expiration", columnList = "expiration"))
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class MailAuthNum {
 
     @Id
@@ -26,4 +29,21 @@ public class MailAuthNum {
     @Column(nullable = false)
     private LocalDateTime expiration;
 
-}
\ No newline at end of file
+    // 현재 인증번호로 틀린 횟수
+    private int failedAttempts;
+
+    // sendWindowEnd 까지 보낸 횟수
+    private int sendCount;
+
+    private LocalDateTime sendWindowEnd;
+
+    private LocalDateTime lastSentAt;
+
+    // 한 번이라도 인증에 성공한 주소인지 (메모리 저장소가 가득 찼을 때 밀어낼 대상을 고르는 데만 씀)
+    @Transient
+    private boolean verified;
+
+    public MailAuthNum(String email) {
+        this.email = email;
+    }
+}
@@ -23,4 +23,11 @@ public class ProfileImage {
 
     @Column(name = "url", nullable = false)
     private String url;
+
+    // 크기별 이미지, 이전에 올린 이미지는 null (원본 url 을 대신 씀)
+    @Column(name = "medium_url")
+    private String mediumUrl;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
 }
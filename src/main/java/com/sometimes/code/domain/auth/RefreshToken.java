@@ -3,30 +3,38 @@ package com.sometimes.code.domain.auth;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
+// refresh token 원문 대신 SHA-256 해시를 키로 저장, 사용자당 기기별로 여러 개 가질 수 있음
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
 public class RefreshToken {
 
     @Id
-    @Column(name = "rt_key")
+    @Column(name = "rt_key", length = 64)
     private String key;
 
-    @Column(name = "rt_value")
-    private String value;
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
 
     @Builder
-    public RefreshToken(String key, String value) {
+    public RefreshToken(String key, Long userId, Instant expiresAt) {
         this.key = key;
-        this.value = value;
-    }
-
-    public RefreshToken updateValue(String token) {
-        this.value = token;
-        return this;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
     }
 }
@@ -12,7 +12,10 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "user")
+@Table(name = "user", indexes = {
+        @Index(name = "idx_user_email", columnList = "email"),
+        @Index(name = "idx_user_nickname", columnList = "nickname")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,35 @@
+package com.sometimes.code.domain.image;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 지워야 할 S3 객체 (ImageDeleteOutbox 가 DB 트랜잭션과 함께 기록하고 백그라운드에서 지움)
+@Entity
+@Table(name = "image_delete_outbox", indexes = {
+        @Index(name = "idx_image_delete_outbox_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageDeleteTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "object_key", nullable = false, length = 1024)
+    private String objectKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
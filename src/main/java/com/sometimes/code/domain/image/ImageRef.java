@@ -0,0 +1,30 @@
+package com.sometimes.code.domain.image;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// S3 객체(content-hash key)별 참조 수, 같은 내용의 이미지를 가리키는 ArticleImage/ProfileImage 행 수
+// updated_at 은 업로드가 이 객체를 쓰기로 했거나 참조 수가 바뀐 마지막 시각 (ImageDeleteOutbox 의 grace-period 기준)
+@Entity
+@Table(name = "image_ref")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageRef {
+
+    @Id
+    @Column(name = "object_key", length = 255)
+    private String objectKey;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,14 @@
+package com.sometimes.code.dto.article;
+
+import com.sometimes.code.domain.article.Article;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ArticleCategorySummary {
+    private Long total;
+    private Map<Article.Category, Long> categories;  // 카테고리별 게시글 수
+}
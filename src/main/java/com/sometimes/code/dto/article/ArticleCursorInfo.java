@@ -0,0 +1,13 @@
+package com.sometimes.code.dto.article;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ArticleCursorInfo {
+    private List<ArticlesInfo.ArticleInfo> articles;
+    private String nextCursor;  // 다음 페이지 요청 시 그대로 넘겨주는 값, 마지막 페이지면 null
+}
@@ -1,6 +1,7 @@
 package com.sometimes.code.dto.article;
 
 import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.image.ImageVariants;
 import lombok.Builder;
 import lombok.Data;
 
@@ -19,10 +20,12 @@ public class ArticleDetailInfo {
     private LocalDate createAt;
     private String content;
     private List<String> imageUrls;  // 다중 이미지를 위한 List로 변경
+    private List<ImageVariants> imageVariants;  // imageUrls 와 같은 순서, 크기별 URL
     private Integer likes;
     private Integer hits;
     private Integer commentNum;
     private boolean mine;
     private boolean pushLikes;
     private List<String> profileImgs;  // 여러 프로필 이미지를 지원할 경우 List로 변경
+    private List<ImageVariants> profileImgVariants;  // profileImgs 와 같은 순서, 크기별 URL
 }
@@ -1,6 +1,7 @@
 package com.sometimes.code.dto.article;
 
 import com.sometimes.code.domain.article.Article;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -15,6 +16,7 @@ public class ArticlesInfo {
 
     @Data
     @Builder
+    @AllArgsConstructor
     public static class ArticleInfo{
         private Long articleId;
         private Long userId;
@@ -25,6 +27,7 @@ public class ArticlesInfo {
         private Integer likes;
         private Boolean existImg;
         private Integer commentCnt;
+        private String thumbnailUrl;  // 첫 번째 이미지의 썸네일, 이미지가 없으면 null
 
 
 
@@ -1,5 +1,6 @@
 package com.sometimes.code.dto.comment;
 
+import com.sometimes.code.dto.image.ImageVariants;
 import lombok.Builder;
 import lombok.Data;
 
@@ -14,5 +15,6 @@ public class CommentInfo {
     private String nickName;
     private LocalDate createdAt;
     private List<String> profileImages;  // 여러 프로필 이미지를 위한 리스트로 변경
+    private List<ImageVariants> profileImageVariants;  // profileImages 와 같은 순서, 크기별 URL (댓글 아바타는 thumbnail)
     private String content;
 }
@@ -0,0 +1,43 @@
+package com.sometimes.code.dto.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// 이미지 한 장의 크기별 URL (목록 썸네일, 본문용 중간 크기, 원본)
+// 크기별 이미지가 없으면(이전에 올린 이미지, 디코딩할 수 없는 형식) 원본 URL 로 채움
+@Data
+@Builder
+@AllArgsConstructor
+public class ImageVariants {
+    private String original;
+    private String medium;
+    private String thumbnail;
+
+    public static ImageVariants of(String original, String medium, String thumbnail) {
+        return new ImageVariants(original,
+                medium == null ? original : medium,
+                thumbnail == null ? original : thumbnail);
+    }
+
+    public static ImageVariants originalOnly(String original) {
+        return of(original, null, null);
+    }
+
+    // S3 에 실제로 있는 객체들의 URL (삭제용, 중복 제거)
+    public List<String> urls() {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(original);
+        urls.add(medium);
+        urls.add(thumbnail);
+        return List.copyOf(urls);
+    }
+
+    public static List<String> originals(List<ImageVariants> images) {
+        return images.stream().map(ImageVariants::getOriginal).toList();
+    }
+}
@@ -1,6 +1,7 @@
 package com.sometimes.code.dto.myPage;
 
 import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.image.ImageVariants;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -12,6 +13,7 @@ public class UserInfoResponse {
     private Long userId;
     private String email;
     private List<String> profileImages;
+    private List<ImageVariants> profileImageVariants;  // profileImages 와 같은 순서, 크기별 URL
     private String nickName;
     private String name;
     private LocalDate birth;
@@ -7,7 +7,12 @@ public enum ErrorCode {
     INVALID_FILE_EXTENSION("Invalid file extension. Only jpg, jpeg, png, gif are allowed."),
     PUT_OBJECT_EXCEPTION("Exception occurred while putting object to S3."),
     IO_EXCEPTION_ON_IMAGE_DELETE("I/O exception occurred during image deletion."),
-    INVALID_URL("Invalid URL provided.");  // 추가된 부분
+    INVALID_URL("Invalid URL provided."),  // 추가된 부분
+    IMAGE_UPLOAD_TIMEOUT("Image upload did not finish in time."),
+    IMAGE_UPLOAD_BUSY("Too many images being uploaded right now. Please retry shortly."),
+    PASSWORD_HASHING_BUSY("Too many login requests right now. Please retry shortly."),
+    TOO_MANY_REQUESTS("Too many requests. Please retry later."),
+    MAIL_OUTBOX_FULL("Too many mails waiting to be sent. Please retry shortly.");
 
     private final String message;
 
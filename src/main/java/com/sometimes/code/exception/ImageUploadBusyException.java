@@ -0,0 +1,13 @@
+package com.sometimes.code.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 이미지 업로드 대기열이 가득 찬 경우, 요청을 기다리게 하지 않고 바로 503 으로 돌려보냄
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImageUploadBusyException extends RuntimeException {
+
+    public ImageUploadBusyException() {
+        super(ErrorCode.IMAGE_UPLOAD_BUSY.getMessage());
+    }
+}
@@ -0,0 +1,19 @@
+package com.sometimes.code.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+// JwtFilter 에서 한 번 검증한 access token 의 내용
+// 컨트롤러에서 @AuthenticationPrincipal 로 받아서 서비스에는 userId 만 넘김
+// tokenId(jti), issuedAt(iat) 는 로그아웃/강제 로그아웃(TokenDenylist)에 사용
+public record JwtPrincipal(Long userId, List<GrantedAuthority> authorities, String tokenId,
+                           Instant issuedAt, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
@@ -1,21 +1,27 @@
 package com.sometimes.code.jwt;
 
+import com.sometimes.code.config.RateLimitFilter;
+import com.sometimes.code.config.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-// 직접 만든 TokenProvider 와 JwtFilter 를 SecurityConfig 에 적용할 때 사용
+// 직접 만든 TokenProvider 와 JwtFilter (+ RateLimitFilter) 를 SecurityConfig 에 적용할 때 사용
 @RequiredArgsConstructor
 public class JwtSecurityConfig extends SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
     private final TokenProvider tokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final RateLimiter rateLimiter;
 
     // TokenProvider 를 주입받아서 JwtFilter 를 통해 Security 로직에 필터를 등록
     @Override
     public void configure(HttpSecurity http) {
-        JwtFilter customFilter = new JwtFilter(tokenProvider);
+        JwtFilter customFilter = new JwtFilter(tokenProvider, tokenDenylist);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
+        // 요청 수 제한은 인증 정보(사용자 ID)가 채워진 다음에 확인
+        http.addFilterAfter(new RateLimitFilter(rateLimiter), JwtFilter.class);
     }
 }
 
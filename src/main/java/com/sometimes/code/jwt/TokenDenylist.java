@@ -0,0 +1,82 @@
+package com.sometimes.code.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// 만료 전에 무효화한 access token 목록 (JwtFilter 에서 요청마다 확인, 해시 조회 두 번)
+// - 로그아웃: 토큰 ID(jti) 단위, 토큰이 만료되는 시각에 목록에서도 빠짐
+// - 모든 기기 로그아웃: 사용자 단위로 "이 시각 이전에 발급된 토큰은 무효", access token 유효기간이 지나면 빠짐
+// 그래서 목록 크기는 아직 만료되지 않은 토큰 수를 넘지 않음
+// 서버 메모리에만 있으므로 서버가 여러 대면 각 서버에 같은 내용을 전달해야 함
+@Component
+public class TokenDenylist {
+
+    private final Cache<String, Instant> revokedTokens;  // jti -> 토큰 만료 시각
+    private final Cache<Long, Instant> revokedBefore;     // userId -> 이 시각(ms 단위) 이하에 발급된 토큰은 무효
+
+    @Autowired
+    public TokenDenylist(MeterRegistry meterRegistry) {
+        this(meterRegistry, Ticker.systemTicker());
+    }
+
+    // 테스트에서 시간을 흘려 목록에서 빠지는지 확인할 때 사용
+    TokenDenylist(MeterRegistry meterRegistry, Ticker ticker) {
+        this.revokedTokens = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Instant>() {
+                    @Override
+                    public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.revokedBefore = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfterWrite(Duration.ofMillis(TokenProvider.ACCESS_TOKEN_EXPIRE_TIME).plusMinutes(1))
+                .build();
+        Gauge.builder("auth.denylist", revokedTokens, Cache::estimatedSize)
+                .tag("type", "token")
+                .register(meterRegistry);
+        Gauge.builder("auth.denylist", revokedBefore, Cache::estimatedSize)
+                .tag("type", "user")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (revokedTokens.getIfPresent(principal.tokenId()) != null) {
+            return true;
+        }
+        Instant before = revokedBefore.getIfPresent(principal.userId());
+        return before != null && !principal.issuedAt().isAfter(before);
+    }
+
+    public void revoke(JwtPrincipal principal) {
+        revokedTokens.put(principal.tokenId(), principal.expiresAt());
+    }
+
+    // 발급 시각은 iat_ms(ms 단위)로 비교하므로 같은 초라도 이후에 다시 로그인한 토큰은 유효
+    // iat_ms 가 없는 이전 토큰은 초 단위 iat 라서 같은 초에 발급된 것까지 무효로 봄
+    public void revokeAll(Long userId) {
+        revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+}
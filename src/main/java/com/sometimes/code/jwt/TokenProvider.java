@@ -1,23 +1,25 @@
 package com.sometimes.code.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.sometimes.code.dto.login.TokenDto;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,15 +27,43 @@ import java.util.stream.Collectors;
 public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
+    // iat 는 초 단위라서 강제 로그아웃과 같은 초에 다시 로그인한 토큰을 구분할 수 없으므로 ms 단위 발급 시각을 따로 넣음
+    private static final String ISSUED_AT_MS_KEY = "iat_ms";
     private static final String BEARER_TYPE = "Bearer";
-    private static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 30;            // 30분
-    private static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24 * 7;  // 7일
+    public static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 30;             // 30분
+    public static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24 * 7;  // 7일
 
     private final Key key;
-
-    public TokenProvider(@Value("${jwt.secret}") String secretKey) {
+    // 파서는 스레드 안전하므로 한 번만 만들어서 재사용
+    private final JwtParser jwtParser;
+    // 최근에 검증한 access token -> principal, 토큰 만료 시각에 맞춰 캐시에서도 빠짐
+    // 같은 토큰으로 들어오는 요청은 서명(HMAC) 검증을 다시 하지 않음
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    public TokenProvider(@Value("${jwt.secret}") String secretKey,
+                         @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, principal.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public TokenDto generateTokenDto(Authentication authentication) {
@@ -47,14 +77,18 @@ public class TokenProvider {
         // Access Token 생성
         Date accessTokenExpiresIn = new Date(now + ACCESS_TOKEN_EXPIRE_TIME);
         String accessToken = Jwts.builder()
+            .setId(UUID.randomUUID().toString())        // payload "jti": 로그아웃 시 이 토큰만 무효화
             .setSubject(authentication.getName())       // payload "sub": "name"
+            .setIssuedAt(new Date(now))                 // payload "iat": 모든 기기 로그아웃 시 이전 발급분 무효화
+            .claim(ISSUED_AT_MS_KEY, now)               // payload "iat_ms": iat 의 ms 단위 값
             .claim(AUTHORITIES_KEY, authorities)        // payload "auth": "ROLE_USER"
             .setExpiration(accessTokenExpiresIn)        // payload "exp": 1516239022 (예시)
             .signWith(key, SignatureAlgorithm.HS512)    // header "alg": "HS512"
             .compact();
 
-        // Refresh Token 생성
+        // Refresh Token 생성 (같은 시각에 발급돼도 토큰이 겹치지 않도록 jti 추가)
         String refreshToken = Jwts.builder()
+            .setId(UUID.randomUUID().toString())
             .setExpiration(new Date(now + REFRESH_TOKEN_EXPIRE_TIME))
             .signWith(key, SignatureAlgorithm.HS512)
             .compact();
@@ -67,30 +101,41 @@ public class TokenProvider {
             .build();
     }
 
-    public Authentication getAuthentication(String accessToken) {
-        // 토큰 복호화
-        Claims claims = parseClaims(accessToken);
-
-        if (claims.get(AUTHORITIES_KEY) == null) {
-            throw new RuntimeException("권한 정보가 없는 토큰입니다.");
+    // access token 을 검증해서 principal 을 돌려줌, 유효하지 않으면 null
+    public JwtPrincipal verify(String accessToken) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(accessToken);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
         }
 
-        // 클레임에서 권한 정보 가져오기
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        // UserDetails 객체를 만들어서 Authentication 리턴
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        Claims claims = parseValidClaims(accessToken);
+        if (claims == null) {
+            return null;
+        }
+        JwtPrincipal principal = toPrincipal(claims);
+        if (principal == null) {
+            return null;
+        }
+        verifiedTokens.put(accessToken, principal);
+        return principal;
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+    // reissue 에서만 사용: 만료됐어도 서명이 맞으면 principal 을 돌려줌 (로그아웃/강제 로그아웃 여부 확인용)
+    public JwtPrincipal getPrincipalIgnoringExpiry(String accessToken) {
+        JwtPrincipal principal = toPrincipal(parseClaims(accessToken));
+        if (principal == null) {
+            throw new RuntimeException("유효하지 않은 Access Token 입니다.");
+        }
+        return principal;
     }
 
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    private Claims parseValidClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.");
         } catch (ExpiredJwtException e) {
@@ -100,19 +145,46 @@ public class TokenProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT 토큰이 잘못되었습니다.");
         }
-        return false;
+        return null;
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = parseClaims(token.replace("Bearer ", ""));
-        return Long.parseLong(claims.getSubject());
-    }
+    private JwtPrincipal toPrincipal(Claims claims) {
+        if (claims.get(AUTHORITIES_KEY) == null || claims.getExpiration() == null) {
+            log.info("권한 정보가 없는 토큰입니다.");
+            return null;
+        }
+        // jti, iat 가 없으면 로그아웃시킬 수 없으므로 받지 않음 (reissue 로 새로 받으면 됨)
+        if (claims.getId() == null || claims.getIssuedAt() == null) {
+            log.info("토큰 ID 또는 발급 시각이 없는 토큰입니다.");
+            return null;
+        }
+        Long userId;
+        try {
+            userId = Long.parseLong(claims.getSubject());
+        } catch (NumberFormatException e) {
+            log.info("JWT 토큰의 사용자 정보가 잘못되었습니다.");
+            return null;
+        }
 
+        List<GrantedAuthority> authorities = Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+        return new JwtPrincipal(userId, authorities, claims.getId(), issuedAt(claims), claims.getExpiration().toInstant());
+    }
 
+    // iat_ms 가 없는 이전 토큰은 초 단위 iat 를 사용
+    private static Instant issuedAt(Claims claims) {
+        Object issuedAtMillis = claims.get(ISSUED_AT_MS_KEY);
+        if (issuedAtMillis instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return claims.getIssuedAt().toInstant();
+    }
 
+    // reissue 에서만 사용: 서명은 검증하지만 만료된 access token 의 claims 도 돌려줌
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return jwtParser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
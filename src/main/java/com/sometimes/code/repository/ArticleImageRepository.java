@@ -6,6 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface ArticleImageRepository extends JpaRepository<ArticleImage, Long> {
+public interface ArticleImageRepository extends JpaRepository<ArticleImage, Long>, ArticleImageRepositoryCustom {
     List<ArticleImage> findByArticle(Article article);
 }
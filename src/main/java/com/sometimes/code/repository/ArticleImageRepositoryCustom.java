@@ -0,0 +1,11 @@
+package com.sometimes.code.repository;
+
+import com.sometimes.code.dto.image.ImageVariants;
+
+import java.util.List;
+
+public interface ArticleImageRepositoryCustom {
+
+    // 게시글 이미지 행을 한 번의 배치로 저장 (IDENTITY 키라 JPA 로는 한 행씩 INSERT 됨)
+    void insertAll(Long articleId, List<ImageVariants> images);
+}
@@ -0,0 +1,29 @@
+package com.sometimes.code.repository;
+
+import com.sometimes.code.dto.image.ImageVariants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// ArticleImageRepository 의 JDBC 구현 부분, JPA 와 같은 트랜잭션(커넥션)에서 실행됨
+@RequiredArgsConstructor
+public class ArticleImageRepositoryImpl implements ArticleImageRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long articleId, List<ImageVariants> images) {
+        if (images.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO article_img (article_id, url, medium_url, thumbnail_url) VALUES (?, ?, ?, ?)",
+                images, images.size(),
+                (ps, image) -> {
+                    ps.setLong(1, articleId);
+                    ps.setString(2, image.getOriginal());
+                    ps.setString(3, image.getMedium());
+                    ps.setString(4, image.getThumbnail());
+                });
+    }
+}
@@ -2,39 +2,98 @@ package com.sometimes.code.repository;
 
 import com.sometimes.code.domain.article.Article;
 import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.article.ArticlesInfo;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
-    @Query("SELECT a FROM Article a " +
+    // 같은 글을 동시에 수정/삭제하면 앞선 커밋이 끝난 뒤 그 내용을 읽도록 행 잠금 (검색 색인이 변경 전 내용으로 씀)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Article a WHERE a.articleId = :articleId")
+    Optional<Article> findByIdForUpdate(@Param("articleId") Long articleId);
+
+    // 목록 조회용 프로젝션: 비정규화된 카운터 컬럼과 작성자 닉네임을 집계 없이 한 번의 쿼리로 조회
+    String ARTICLE_INFO_SELECT = "SELECT new com.sometimes.code.dto.article.ArticlesInfo$ArticleInfo(" +
+            "a.articleId, u.userId, a.category, a.title, u.nickName, a.createdAt, " +
+            "a.likeCount, CASE WHEN a.imageCount > 0 THEN true ELSE false END, a.commentCount, a.coverImageUrl) " +
+            "FROM Article a JOIN a.user u ";
+
+    @Query(value = ARTICLE_INFO_SELECT +
             "WHERE (:keyword IS NULL OR a.title LIKE %:keyword%) " +
-            "ORDER BY a.articleId DESC")
-    Page<Article> searchArticles(
+            "ORDER BY a.articleId DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a " +
+                    "WHERE (:keyword IS NULL OR a.title LIKE %:keyword%)")
+    Page<ArticlesInfo.ArticleInfo> searchArticleInfos(
             @Param("keyword") String keyword,
             Pageable pageable
     );
 
-    @Query("SELECT a FROM Article a WHERE a.category = :category ORDER BY a.articleId DESC")
-    Page<Article> findArticlesByCategory(@Param("category") Article.Category category, Pageable pageable);
+    // 검색 색인에서 찾은 게시글들의 목록 정보 조회
+    @Query(ARTICLE_INFO_SELECT + "WHERE a.articleId IN :articleIds ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findArticleInfosByIds(@Param("articleIds") Collection<Long> articleIds);
+
+    @Query(ARTICLE_INFO_SELECT + "WHERE a.category = :category ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findArticleInfosByCategory(@Param("category") Article.Category category, Pageable pageable);
+
+    @Query(ARTICLE_INFO_SELECT + "ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findAllArticleInfos(Pageable pageable);
 
-    @Query("SELECT a FROM Article a ORDER BY a.articleId DESC")
-    Page<Article> findAllArticles(Pageable pageable);
+    // 커서 기반 조회: OFFSET 없이 마지막으로 본 articleId 이전 행만 읽음
+    @Query(ARTICLE_INFO_SELECT + "WHERE a.category = :category AND a.articleId < :lastSeenId ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findArticleInfosByCategoryBefore(@Param("category") Article.Category category,
+                                                                     @Param("lastSeenId") Long lastSeenId,
+                                                                     Pageable pageable);
 
-    @Query("SELECT COUNT(a) FROM Article a WHERE a.category = :category")
-    long countArticlesByCategory(@Param("category") Article.Category category);
+    @Query(ARTICLE_INFO_SELECT + "WHERE a.articleId < :lastSeenId ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findAllArticleInfosBefore(@Param("lastSeenId") Long lastSeenId, Pageable pageable);
 
-    @Query("SELECT COUNT(a) FROM Article a")
-    long countAllArticles();
+    @Query(ARTICLE_INFO_SELECT + "WHERE a.user = :user ORDER BY a.articleId DESC")
+    List<ArticlesInfo.ArticleInfo> findArticleInfosByUser(@Param("user") User user, Pageable pageable);
 
-    @Query("SELECT a FROM Article a WHERE a.user = :user ORDER BY a.createdAt DESC")
-    Page<Article> findArticlesByUser(@Param("user") User user, Pageable pageable);
+    // ArticleCountRegistry 초기화 및 재동기화용
+    @Query("SELECT a.category, COUNT(a) FROM Article a GROUP BY a.category")
+    List<Object[]> countArticlesGroupByCategory();
 
     long countArticlesByUser(User user);
 
+    // 카운터는 엔티티 read-modify-write 가 아닌 원자적 UPDATE 로만 증감
+    @Modifying
+    @Query(value = "UPDATE article SET like_count = like_count + :delta WHERE article_id = :articleId", nativeQuery = true)
+    int addLikeCount(@Param("articleId") Long articleId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE article SET comment_count = comment_count + :delta WHERE article_id = :articleId", nativeQuery = true)
+    int addCommentCount(@Param("articleId") Long articleId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE article SET image_count = image_count + :delta WHERE article_id = :articleId", nativeQuery = true)
+    int addImageCount(@Param("articleId") Long articleId, @Param("delta") int delta);
+
+    @Query("SELECT COALESCE(MAX(a.articleId), 0) FROM Article a")
+    long findMaxArticleId();
+
+    // articleId 구간 단위로 카운터를 원본 테이블 기준으로 다시 계산 (구간마다 별도 트랜잭션)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE article a SET " +
+            "like_count = (SELECT COUNT(*) FROM likes l WHERE l.article_id = a.article_id), " +
+            "comment_count = (SELECT COUNT(*) FROM comment c WHERE c.article_id = a.article_id), " +
+            "image_count = (SELECT COUNT(*) FROM article_img i WHERE i.article_id = a.article_id) " +
+            "WHERE a.article_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int reconcileCounters(@Param("fromId") long fromId, @Param("toId") long toId);
+
 }
@@ -3,6 +3,8 @@ package com.sometimes.code.repository;
 
 import com.sometimes.code.domain.article.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +13,10 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByArticleArticleId(Long articleId);
 
+    // 댓글 목록과 작성자를 한 번의 쿼리로 조회
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.article.articleId = :articleId ORDER BY c.commentId")
+    List<Comment> findWithUserByArticleId(@Param("articleId") Long articleId);
+
     List<Comment> findByUserUserId(Long userId);
 
     long countByArticleArticleId(Long articleId);
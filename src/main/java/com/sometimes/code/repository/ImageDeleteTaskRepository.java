@@ -0,0 +1,22 @@
+package com.sometimes.code.repository;
+
+import com.sometimes.code.domain.image.ImageDeleteTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ImageDeleteTaskRepository extends JpaRepository<ImageDeleteTask, Long> {
+
+    // 지울 때가 된 작업을 오래된 순으로
+    @Query("SELECT t FROM ImageDeleteTask t WHERE t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt")
+    List<ImageDeleteTask> findDue(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ImageDeleteTask t SET t.attempts = :attempts, t.nextAttemptAt = :nextAttemptAt WHERE t.taskId = :taskId")
+    int reschedule(@Param("taskId") Long taskId, @Param("attempts") int attempts, @Param("nextAttemptAt") Instant nextAttemptAt);
+}
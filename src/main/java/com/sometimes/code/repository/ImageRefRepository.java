@@ -0,0 +1,31 @@
+package com.sometimes.code.repository;
+
+import com.sometimes.code.domain.image.ImageRef;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageRefRepository extends JpaRepository<ImageRef, String>, ImageRefRepositoryCustom {
+
+    // 참조 수 변경 (0 아래로는 내려가지 않음)
+    @Modifying
+    @Query("UPDATE ImageRef r SET r.refCount = CASE WHEN r.refCount + :delta < 0 THEN 0 ELSE r.refCount + :delta END, " +
+            "r.updatedAt = :now WHERE r.objectKey IN :keys")
+    int addRefCount(@Param("keys") Collection<String> keys, @Param("delta") int delta, @Param("now") Instant now);
+
+    // 삭제 대기열이 S3 에서 지우는 동안 다른 업로드가 같은 객체를 예약하지 못하게 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ImageRef r WHERE r.objectKey IN :keys")
+    List<ImageRef> lockAll(@Param("keys") Collection<String> keys);
+
+    // 중복 제거로 아낀 저장 용량 (같은 객체를 두 번째부터 가리키는 행마다 객체 크기만큼)
+    @Query("SELECT COALESCE(SUM((r.refCount - 1) * r.sizeBytes), 0) FROM ImageRef r WHERE r.refCount > 1")
+    long sumSharedBytes();
+}
@@ -0,0 +1,15 @@
+package com.sometimes.code.repository;
+
+import java.time.Instant;
+
+public interface ImageRefRepositoryCustom {
+
+    // 이미 참조 행이 있으면 updated_at 만 갱신하고 true, 없으면 false
+    boolean touch(String objectKey, Instant now);
+
+    // touch 하고, 참조 행이 없으면 참조 수 0 으로 만듦 (동시에 만들어진 경우는 touch), 원래 있었으면 true
+    boolean reserve(String objectKey, long sizeBytes, Instant now);
+
+    // 참조 행이 없던 객체의 참조 수를 count 로 만듦, 그 사이 다른 트랜잭션이 만들었으면 거기에 더함
+    void insertOrAddRefCount(String objectKey, int count, Instant now);
+}
@@ -0,0 +1,46 @@
+package com.sometimes.code.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// ImageRefRepository 의 JDBC 구현 부분, 업로드 스레드에서 트랜잭션 없이(문장마다 커밋) 실행됨
+@RequiredArgsConstructor
+public class ImageRefRepositoryImpl implements ImageRefRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean touch(String objectKey, Instant now) {
+        return jdbcTemplate.update("UPDATE image_ref SET updated_at = ? WHERE object_key = ?",
+                Timestamp.from(now), objectKey) > 0;
+    }
+
+    @Override
+    public boolean reserve(String objectKey, long sizeBytes, Instant now) {
+        if (touch(objectKey, now)) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO image_ref (object_key, ref_count, size_bytes, updated_at) VALUES (?, 0, ?, ?)",
+                    objectKey, sizeBytes, Timestamp.from(now));
+            return false;
+        } catch (DuplicateKeyException e) {
+            return touch(objectKey, now);
+        }
+    }
+
+    @Override
+    public void insertOrAddRefCount(String objectKey, int count, Instant now) {
+        try {
+            jdbcTemplate.update("INSERT INTO image_ref (object_key, ref_count, size_bytes, updated_at) VALUES (?, ?, 0, ?)",
+                    objectKey, count, Timestamp.from(now));
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("UPDATE image_ref SET ref_count = ref_count + ?, updated_at = ? WHERE object_key = ?",
+                    count, Timestamp.from(now), objectKey);
+        }
+    }
+}
@@ -2,13 +2,17 @@ package com.sometimes.code.repository;
 
 import com.sometimes.code.domain.article.Likes;
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface LikesRepository extends JpaRepository<Likes, Long> {
     int countByArticle_ArticleId(Long articleId);
 
     boolean existsByUser_UserIdAndArticle_ArticleId(Long userId, Long articleId);
 
-    Optional<Likes> findByUser_UserIdAndArticle_ArticleId(Long userId, Long articleId);
+    // 엔티티를 읽지 않고 바로 삭제, 삭제된 행 수를 돌려줌
+    @Modifying
+    @Query("DELETE FROM Likes l WHERE l.user.userId = :userId AND l.article.articleId = :articleId")
+    int deleteByUserIdAndArticleId(@Param("userId") Long userId, @Param("articleId") Long articleId);
 }
@@ -2,12 +2,29 @@ package com.sometimes.code.repository;
 
 
 import com.sometimes.code.domain.auth.MailAuthNum;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface MailAuthNumRepository extends JpaRepository<MailAuthNum, Long> {
-    Optional<MailAuthNum> findByEmailAndAuthNum(String email, String authNum);
+public interface MailAuthNumRepository extends JpaRepository<MailAuthNum, String> {
+
+    // 같은 이메일로 동시에 전송/확인해도 횟수가 빠지지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MailAuthNum m WHERE m.email = :email")
+    Optional<MailAuthNum> findByEmailForUpdate(@Param("email") String email);
+
+    long countByExpirationAfter(LocalDateTime now);
+
+    // 인증번호가 만료되고 재전송 제한 기간도 지난 행만 지움
+    @Modifying
+    @Query("DELETE FROM MailAuthNum m WHERE m.expiration <= :now AND (m.sendWindowEnd IS NULL OR m.sendWindowEnd <= :now)")
+    int deleteExpired(@Param("now") LocalDateTime now);
 }
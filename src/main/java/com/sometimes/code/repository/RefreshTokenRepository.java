@@ -3,9 +3,30 @@ package com.sometimes.code.repository;
 
 import com.sometimes.code.domain.auth.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.List;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByKey(String key);
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    List<RefreshToken> findByUserIdOrderByExpiresAtAsc(Long userId);
+
+    long countByExpiresAtAfter(Instant now);
+
+    // 조건부 삭제로 같은 토큰을 동시에 두 번 쓰는 것을 막음 (삭제된 행이 1 이면 이번 요청이 사용한 것)
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.key = :key AND r.userId = :userId AND r.expiresAt > :now")
+    int deleteUnexpired(@Param("key") String key, @Param("userId") Long userId, @Param("now") Instant now);
+
+    // 만료 시각/사용자가 없는 행은 해시 키로 바뀌기 전에 저장된 것이라 사용할 수 없으므로 같이 지움
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now OR r.expiresAt IS NULL OR r.userId IS NULL")
+    int deleteExpired(@Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
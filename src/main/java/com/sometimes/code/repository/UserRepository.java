@@ -20,6 +20,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByNickName(String nickName);
 
+    boolean existsByNickName(String nickName);
+
     Optional<User> findByUserId(Long userId);
 
 
@@ -0,0 +1,369 @@
+package com.sometimes.code.search;
+
+import com.sometimes.code.config.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// 게시글 제목/본문에 대한 메모리 역색인
+// 기동 시 article 테이블을 스트리밍으로 읽어 만들고, 이후에는 글 작성/수정/삭제 시 갱신됨
+// 색인이 준비되기 전이거나 비활성화된 경우 isReady() 가 false 이므로 호출하는 쪽에서 DB 검색을 사용해야 함
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    private static final String STREAM_SQL = "SELECT article_id, title, content FROM article ORDER BY article_id";
+    private static final String FIND_SQL = "SELECT title, content FROM article WHERE article_id = ?";
+    private static final int APPLY_STRIPES = 64;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    // "따옴표로 묶은 구" 또는 공백으로 구분된 단어
+    private static final Pattern QUERY_TERM = Pattern.compile("\"([^\"]+)\"|(\\S+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();  // lock 으로 보호
+    private final BitSet indexedDocs = new BitSet();  // lock 으로 보호
+    // 같은 글에 대한 반영(커밋된 내용 읽기 + 색인 변경)을 한 번에 하나씩 실행
+    private final Object[] applyLocks = Stream.generate(Object::new).limit(APPLY_STRIPES).toArray();
+
+    private volatile boolean ready;
+    private volatile boolean building;
+    // 색인을 만드는 도중 작성/수정/삭제된 글은 이미 최신 상태로 반영됐으므로 스트리밍 결과로 덮어쓰지 않음
+    private final Set<Long> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    public record SearchResult(long total, List<Long> articleIds) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("Article search index is disabled, searches use the database");
+            return;
+        }
+        Thread builder = new Thread(this::build, "article-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public void build() {
+        building = true;
+        long startedAt = System.currentTimeMillis();
+        try {
+            List<IndexedDocument> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(STREAM_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(BUILD_BATCH_SIZE);  // 전체 테이블을 메모리에 올리지 않고 스트리밍
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                long articleId = rs.getLong("article_id");
+                if (!touchedDuringBuild.contains(articleId)) {
+                    batch.add(new IndexedDocument(articleId, collectTerms(rs.getString("title"), rs.getString("content"))));
+                }
+                if (batch.size() >= BUILD_BATCH_SIZE) {
+                    addBatch(batch);
+                    batch.clear();
+                }
+            });
+            addBatch(batch);
+
+            lock.writeLock().lock();
+            try {
+                postings.values().forEach(PostingList::trimToSize);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Article search index built: {} articles, {} terms, {} KB in {} ms",
+                    indexedDocs.cardinality(), postings.size(), sizeInBytes() / 1024, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to build article search index, searches keep using the database", e);
+        } finally {
+            building = false;
+            touchedDuringBuild.clear();
+        }
+    }
+
+    // 아래 변경 메서드들은 트랜잭션 커밋 이후에 반영됨
+    // 넘겨받는 것은 변경 전 내용뿐이고, 새 내용은 반영할 때 DB 에서 커밋된 값을 다시 읽음
+    // 같은 글을 동시에 수정해 커밋 후 콜백이 커밋 순서와 다르게 실행돼도 마지막 반영이 최신 내용이 됨
+    // 변경 전 내용은 호출하는 쪽이 행 잠금을 잡고 읽어야 이전 커밋의 내용과 일치함 (ArticleRepository.findByIdForUpdate)
+    public void index(Long articleId) {
+        TransactionUtil.afterCommit(() -> apply(articleId, null, null));
+    }
+
+    public void reindex(Long articleId, String oldTitle, String oldContent) {
+        TransactionUtil.afterCommit(() -> apply(articleId, oldTitle, oldContent));
+    }
+
+    public void remove(Long articleId, String title, String content) {
+        TransactionUtil.afterCommit(() -> apply(articleId, title, content));
+    }
+
+    // 검색어의 모든 단어(또는 따옴표로 묶은 구)를 포함하는 글을 최신순으로 반환
+    // 한 글자 검색어는 한 글자 단어로 등장한 경우에만 일치함 (bigram 색인의 한계)
+    public SearchResult search(String query, int offset, int limit) {
+        List<List<BigramTokenizer.Token>> terms = parseQuery(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        int[] matched = null;
+        lock.readLock().lock();
+        try {
+            for (List<BigramTokenizer.Token> term : terms) {
+                int[] termMatches = matchPhrase(term);
+                matched = matched == null ? termMatches : intersect(matched, termMatches);
+                if (matched.length == 0) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // articleId 오름차순으로 저장되어 있으므로 뒤에서부터 읽으면 최신순
+        List<Long> articleIds = new ArrayList<>(limit);
+        for (int i = matched.length - 1 - offset; i >= 0 && articleIds.size() < limit; i--) {
+            articleIds.add((long) matched[i]);
+        }
+        return new SearchResult(matched.length, articleIds);
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList postingList : postings.values()) {
+                bytes += postingList.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long articleId, String oldTitle, String oldContent) {
+        if (!enabled) {
+            return;
+        }
+        if (building) {
+            touchedDuringBuild.add(articleId);
+        }
+        int docId = toDocId(articleId);
+        synchronized (applyLocks[docId % APPLY_STRIPES]) {
+            List<Map<String, int[]>> committed = jdbcTemplate.query(FIND_SQL,
+                    (rs, rowNum) -> collectTerms(rs.getString("title"), rs.getString("content")), articleId);
+            Map<String, int[]> oldTerms = oldTitle == null && oldContent == null ? Map.of() : collectTerms(oldTitle, oldContent);
+            Map<String, int[]> newTerms = committed.isEmpty() ? null : committed.get(0);  // 삭제된 글이면 null
+            apply(docId, oldTerms, newTerms);
+        }
+    }
+
+    private void apply(int docId, Map<String, int[]> oldTerms, Map<String, int[]> newTerms) {
+        lock.writeLock().lock();
+        try {
+            for (String term : oldTerms.keySet()) {
+                if (newTerms != null && newTerms.containsKey(term)) {
+                    continue;  // 아래에서 교체됨
+                }
+                PostingList postingList = postings.get(term);
+                if (postingList != null && postingList.remove(docId) && postingList.docCount() == 0) {
+                    postings.remove(term);
+                }
+            }
+            if (newTerms != null) {
+                newTerms.forEach((term, positions) ->
+                        postings.computeIfAbsent(term, key -> new PostingList()).put(docId, positions));
+            }
+            indexedDocs.set(docId, newTerms != null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addBatch(List<IndexedDocument> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (IndexedDocument document : batch) {
+                // 읽은 뒤 이 배치가 들어가기 전에 작성/수정/삭제된 글은 apply 가 이미 최신 상태로 반영했으므로 건너뜀
+                // apply 는 lock 을 잡기 전에 touchedDuringBuild 에 추가하므로 lock 안에서 확인하면 빠지는 경우가 없음
+                if (touchedDuringBuild.contains(document.articleId())) {
+                    continue;
+                }
+                int docId = toDocId(document.articleId());
+                document.terms().forEach((term, positions) ->
+                        postings.computeIfAbsent(term, key -> new PostingList()).put(docId, positions));
+                indexedDocs.set(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 한 구(phrase)를 이루는 토큰들이 모두 같은 간격으로 등장하는 글을 찾음
+    // 게시글 ID 로 교집합을 먼저 구하고, 위치는 모든 토큰이 등장하는 후보 글에 대해서만 읽음
+    private int[] matchPhrase(List<BigramTokenizer.Token> tokens) {
+        int size = tokens.size();
+        PostingList[] postingLists = new PostingList[size];
+        PostingList.DocIds[] lists = new PostingList.DocIds[size];
+        Map<String, PostingList.DocIds> decoded = new HashMap<>();
+        int rarest = 0;
+        for (int i = 0; i < size; i++) {
+            String term = tokens.get(i).term();
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                return new int[0];
+            }
+            postingLists[i] = postingList;
+            lists[i] = decoded.computeIfAbsent(term, key -> postingList.decodeDocIds());
+            if (lists[i].docIds().length < lists[rarest].docIds().length) {
+                rarest = i;
+            }
+        }
+
+        // 가장 짧은 목록을 기준으로 나머지 목록의 커서를 앞으로만 이동시키며 교집합을 구함
+        int[] cursors = new int[size];
+        int[] result = new int[lists[rarest].docIds().length];
+        int resultSize = 0;
+        int[] rarestDocIds = lists[rarest].docIds();
+
+        candidates:
+        for (int r = 0; r < rarestDocIds.length; r++) {
+            int docId = rarestDocIds[r];
+            cursors[rarest] = r;
+            for (int i = 0; i < size; i++) {
+                if (i == rarest) {
+                    continue;
+                }
+                int[] docIds = lists[i].docIds();
+                int cursor = cursors[i];
+                while (cursor < docIds.length && docIds[cursor] < docId) {
+                    cursor++;
+                }
+                cursors[i] = cursor;
+                if (cursor == docIds.length) {
+                    break candidates;
+                }
+                if (docIds[cursor] != docId) {
+                    continue candidates;
+                }
+            }
+            if (size == 1 || containsPhrase(tokens, postingLists, lists, cursors)) {
+                result[resultSize++] = docId;
+            }
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private boolean containsPhrase(List<BigramTokenizer.Token> tokens, PostingList[] postingLists,
+                                   PostingList.DocIds[] lists, int[] cursors) {
+        int size = tokens.size();
+        int[][] positions = new int[size][];
+        for (int i = 0; i < size; i++) {
+            positions[i] = postingLists[i].positionsAt(lists[i].entryOffsets()[cursors[i]]);
+        }
+        int firstOffset = tokens.get(0).position();
+        for (int firstPosition : positions[0]) {
+            int start = firstPosition - firstOffset;
+            boolean allMatch = true;
+            for (int i = 1; i < size && allMatch; i++) {
+                allMatch = Arrays.binarySearch(positions[i], start + tokens.get(i).position()) >= 0;
+            }
+            if (allMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static List<List<BigramTokenizer.Token>> parseQuery(String query) {
+        List<List<BigramTokenizer.Token>> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        Matcher matcher = QUERY_TERM.matcher(query);
+        while (matcher.find()) {
+            String term = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            List<BigramTokenizer.Token> tokens = BigramTokenizer.tokenize(term);
+            if (!tokens.isEmpty()) {
+                terms.add(tokens);
+            }
+        }
+        return terms;
+    }
+
+    // 제목과 본문을 하나의 위치 공간에 색인 (제목 끝과 본문 시작 사이는 한 칸 띄움)
+    private static Map<String, int[]> collectTerms(String title, String content) {
+        List<BigramTokenizer.Token> tokens = new ArrayList<>();
+        int position = BigramTokenizer.tokenize(title, 0, tokens);
+        BigramTokenizer.tokenize(content, position + 1, tokens);
+
+        Map<String, List<Integer>> grouped = new HashMap<>();
+        for (BigramTokenizer.Token token : tokens) {
+            grouped.computeIfAbsent(token.term(), key -> new ArrayList<>()).add(token.position());
+        }
+        Map<String, int[]> terms = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((term, positions) ->
+                terms.put(term, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return terms;
+    }
+
+    private static int toDocId(Long articleId) {
+        return Math.toIntExact(articleId);
+    }
+
+    private record IndexedDocument(long articleId, Map<String, int[]> terms) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.sometimes.code.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// 한글처럼 띄어쓰기만으로 단어를 나누기 어려운 텍스트를 위한 bigram 토크나이저
+// "안녕하세요" -> 안녕(0) 녕하(1) 하세(2) 세요(3)
+// 한 글자 단어는 그 글자 하나를 토큰으로 사용하고, 단어 사이에는 위치를 한 칸 비워서 단어를 넘는 구(phrase) 매칭이 되지 않도록 함
+public class BigramTokenizer {
+
+    public record Token(String term, int position) {
+    }
+
+    public static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        tokenize(text, 0, tokens);
+        return tokens;
+    }
+
+    // startPosition 부터 위치를 매기고, 다음 텍스트가 시작할 위치를 반환
+    public static int tokenize(String text, int startPosition, List<Token> out) {
+        if (text == null || text.isEmpty()) {
+            return startPosition;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int position = startPosition;
+        int[] word = new int[32];
+        int wordLength = 0;
+
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (wordLength == word.length) {
+                    word = Arrays.copyOf(word, word.length * 2);
+                }
+                word[wordLength++] = codePoint;
+            } else if (wordLength > 0) {
+                position = emitWord(word, wordLength, position, out);
+                wordLength = 0;
+            }
+        }
+        if (wordLength > 0) {
+            position = emitWord(word, wordLength, position, out);
+        }
+        return position;
+    }
+
+    private static int emitWord(int[] word, int length, int position, List<Token> out) {
+        if (length == 1) {
+            out.add(new Token(new String(word, 0, 1), position));
+            return position + 2;
+        }
+        for (int i = 0; i < length - 1; i++) {
+            out.add(new Token(new String(word, i, 2), position + i));
+        }
+        return position + length;
+    }
+}
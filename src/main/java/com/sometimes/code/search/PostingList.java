@@ -0,0 +1,251 @@
+package com.sometimes.code.search;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 한 토큰이 등장하는 게시글 목록과 게시글 내 위치를 varint 로 압축해 저장
+// 항목 형식: [articleId 증가분][위치 개수][첫 위치][위치 증가분...], articleId 오름차순
+// 새 글은 항상 articleId 가 가장 크므로 대부분 뒤에 덧붙이기만 함
+// 수정/삭제는 pending 에 모아두고 (삭제는 null 인 tombstone) 읽을 때 합쳐 보며, 쌓이면 한 번에 다시 인코딩함
+class PostingList {
+
+    // pending 이 이 개수와 인코딩된 항목 수의 1/8 중 큰 값을 넘으면 다시 인코딩
+    private static final int MIN_PENDING_BEFORE_COMPACT = 16;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int encodedCount;
+    private int lastDocId;
+    private int docCount;  // pending 을 반영한 게시글 수
+    private final TreeMap<Integer, int[]> pending = new TreeMap<>();  // 키는 항상 lastDocId 이하
+
+    int docCount() {
+        return docCount;
+    }
+
+    int sizeInBytes() {
+        return data.length;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    // 같은 게시글이 이미 있으면 위치 정보를 교체
+    void put(int docId, int[] positions) {
+        if (encodedCount == 0 || docId > lastDocId) {
+            append(docId, positions);
+            docCount++;
+            return;
+        }
+        if (!contains(docId)) {
+            docCount++;
+        }
+        pending.put(docId, positions);
+        compactIfNeeded();
+    }
+
+    boolean remove(int docId) {
+        if (docId > lastDocId || !contains(docId)) {
+            return false;
+        }
+        pending.put(docId, null);
+        docCount--;
+        compactIfNeeded();
+        return true;
+    }
+
+    void trimToSize() {
+        if (!pending.isEmpty()) {
+            compact();
+        }
+        if (data.length != length) {
+            data = Arrays.copyOf(data, length);
+        }
+    }
+
+    // 위치는 풀지 않고 게시글 ID 와 각 항목의 위치 정보가 시작하는 지점만 읽음
+    // 구 검색에서 교집합에 남은 후보 글의 위치만 positionsAt 으로 나중에 읽기 위해 씀
+    // pending 에 있는 글의 지점은 음수 (-1 - docId) 로 표시
+    DocIds decodeDocIds() {
+        int[] docIds = new int[docCount];
+        int[] entryOffsets = new int[docCount];
+        int size = 0;
+
+        Iterator<Map.Entry<Integer, int[]>> overlay = pending.entrySet().iterator();
+        Map.Entry<Integer, int[]> next = overlay.hasNext() ? overlay.next() : null;
+        int[] cursor = {0};
+        int docId = 0;
+        for (int i = 0; i < encodedCount; i++) {
+            docId += readVInt(data, cursor);
+            int entryOffset = cursor[0];
+            skipVInts(readVInt(data, cursor), cursor);
+            for (; next != null && next.getKey() < docId; next = overlay.hasNext() ? overlay.next() : null) {
+                if (next.getValue() != null) {
+                    docIds[size] = next.getKey();
+                    entryOffsets[size++] = -1 - next.getKey();
+                }
+            }
+            if (next != null && next.getKey() == docId) {
+                if (next.getValue() != null) {
+                    docIds[size] = docId;
+                    entryOffsets[size++] = -1 - docId;
+                }
+                next = overlay.hasNext() ? overlay.next() : null;
+                continue;
+            }
+            docIds[size] = docId;
+            entryOffsets[size++] = entryOffset;
+        }
+        for (; next != null; next = overlay.hasNext() ? overlay.next() : null) {
+            if (next.getValue() != null) {
+                docIds[size] = next.getKey();
+                entryOffsets[size++] = -1 - next.getKey();
+            }
+        }
+        return new DocIds(docIds, entryOffsets);
+    }
+
+    // decodeDocIds 가 돌려준 지점에서 한 게시글의 위치 목록 (오름차순)
+    int[] positionsAt(int entryOffset) {
+        if (entryOffset < 0) {
+            return pending.get(-1 - entryOffset);
+        }
+        int[] cursor = {entryOffset};
+        int[] positions = new int[readVInt(data, cursor)];
+        int position = 0;
+        for (int j = 0; j < positions.length; j++) {
+            position += readVInt(data, cursor);
+            positions[j] = position;
+        }
+        return positions;
+    }
+
+    private boolean contains(int docId) {
+        if (pending.containsKey(docId)) {
+            return pending.get(docId) != null;
+        }
+        int[] cursor = {0};
+        int current = 0;
+        for (int i = 0; i < encodedCount; i++) {
+            current += readVInt(data, cursor);
+            if (current >= docId) {
+                return current == docId;
+            }
+            skipVInts(readVInt(data, cursor), cursor);
+        }
+        return false;
+    }
+
+    private void compactIfNeeded() {
+        if (pending.size() > Math.max(MIN_PENDING_BEFORE_COMPACT, encodedCount >> 3)) {
+            compact();
+        }
+    }
+
+    // 인코딩된 항목과 pending 을 articleId 순으로 합쳐 한 번에 다시 인코딩
+    private void compact() {
+        byte[] source = data;
+        int count = encodedCount;
+        data = new byte[Math.max(8, length)];
+        length = 0;
+        encodedCount = 0;
+        lastDocId = 0;
+
+        Iterator<Map.Entry<Integer, int[]>> overlay = pending.entrySet().iterator();
+        Map.Entry<Integer, int[]> next = overlay.hasNext() ? overlay.next() : null;
+        int[] cursor = {0};
+        int docId = 0;
+        for (int i = 0; i < count; i++) {
+            docId += readVInt(source, cursor);
+            int start = cursor[0];
+            skipVInts(source, readVInt(source, cursor), cursor);
+            for (; next != null && next.getKey() < docId; next = overlay.hasNext() ? overlay.next() : null) {
+                if (next.getValue() != null) {
+                    append(next.getKey(), next.getValue());
+                }
+            }
+            if (next != null && next.getKey() == docId) {
+                if (next.getValue() != null) {
+                    append(docId, next.getValue());
+                }
+                next = overlay.hasNext() ? overlay.next() : null;
+                continue;
+            }
+            appendEncoded(docId, source, start, cursor[0]);
+        }
+        for (; next != null; next = overlay.hasNext() ? overlay.next() : null) {
+            if (next.getValue() != null) {
+                append(next.getKey(), next.getValue());
+            }
+        }
+        pending.clear();
+    }
+
+    private void append(int docId, int[] positions) {
+        writeVInt(docId - lastDocId);
+        writeVInt(positions.length);
+        int previous = 0;
+        for (int position : positions) {
+            writeVInt(position - previous);
+            previous = position;
+        }
+        lastDocId = docId;
+        encodedCount++;
+    }
+
+    // 위치 부분은 이미 인코딩된 바이트를 그대로 복사
+    private void appendEncoded(int docId, byte[] source, int from, int to) {
+        writeVInt(docId - lastDocId);
+        ensureCapacity(to - from);
+        System.arraycopy(source, from, data, length, to - from);
+        length += to - from;
+        lastDocId = docId;
+        encodedCount++;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + extra, data.length + (data.length >> 1)));
+        }
+    }
+
+    private void writeVInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void skipVInts(int count, int[] cursor) {
+        skipVInts(data, count, cursor);
+    }
+
+    private static void skipVInts(byte[] bytes, int count, int[] cursor) {
+        while (count > 0) {
+            if ((bytes[cursor[0]++] & 0x80) == 0) {
+                count--;
+            }
+        }
+    }
+
+    private static int readVInt(byte[] bytes, int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    // 위치를 풀지 않은 포스팅: i 번째 게시글의 위치는 positionsAt(entryOffsets[i])
+    record DocIds(int[] docIds, int[] entryOffsets) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.config.TransactionUtil;
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 카테고리별 게시글 수를 메모리에 유지해서 목록 조회마다 COUNT 쿼리를 날리지 않도록 함
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleCountRegistry {
+
+    private final ArticleRepository articleRepository;
+
+    // LongAdder 가 아닌 AtomicLong: resync 가 compareAndSet 으로 덮어써야 하는데 LongAdder 에는 원자적인 비교 후 설정이 없음
+    // (sum() 뒤 reset()/add() 사이에 들어온 증감이 사라짐), 증감은 글 작성/삭제 때만 있어 경합도 적음
+    private final Map<Article.Category, AtomicLong> categoryCounts = createCounters();
+    private final AtomicLong totalCount = new AtomicLong();
+
+    private static Map<Article.Category, AtomicLong> createCounters() {
+        Map<Article.Category, AtomicLong> counters = new EnumMap<>(Article.Category.class);
+        for (Article.Category category : Article.Category.values()) {
+            counters.put(category, new AtomicLong());
+        }
+        return Collections.unmodifiableMap(counters);
+    }
+
+    @PostConstruct
+    public void init() {
+        resync();
+    }
+
+    public long count(Article.Category category) {
+        return categoryCounts.get(category).get();
+    }
+
+    public long countAll() {
+        return totalCount.get();
+    }
+
+    public Map<Article.Category, Long> snapshot() {
+        Map<Article.Category, Long> snapshot = new EnumMap<>(Article.Category.class);
+        categoryCounts.forEach((category, counter) -> snapshot.put(category, counter.get()));
+        return snapshot;
+    }
+
+    // 아래 변경 메서드들은 트랜잭션 커밋 이후에 반영됨
+    public void increment(Article.Category category) {
+        TransactionUtil.afterCommit(() -> {
+            categoryCounts.get(category).incrementAndGet();
+            totalCount.incrementAndGet();
+        });
+    }
+
+    public void decrement(Article.Category category) {
+        TransactionUtil.afterCommit(() -> {
+            categoryCounts.get(category).decrementAndGet();
+            totalCount.decrementAndGet();
+        });
+    }
+
+    public void move(Article.Category from, Article.Category to) {
+        if (from == to) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            categoryCounts.get(from).decrementAndGet();
+            categoryCounts.get(to).incrementAndGet();
+        });
+    }
+
+    // DB 기준으로 다시 맞춤
+    // 조회 전에 읽어둔 값에서 바뀌지 않은 카운터만 compareAndSet 으로 덮어씀 (조회 중에 커밋된 증감분은 조회 결과에 들었는지 알 수 없으므로)
+    // 그 사이 증감이 있었던 카운터는 이번에는 건너뛰고 다음 주기에 맞춤
+    @Scheduled(initialDelayString = "${article.count.resync-interval-ms:600000}",
+            fixedDelayString = "${article.count.resync-interval-ms:600000}")
+    public void resync() {
+        Map<Article.Category, Long> before = snapshot();
+        long totalBefore = totalCount.get();
+
+        Map<Article.Category, Long> dbCounts = new EnumMap<>(Article.Category.class);
+        for (Object[] row : articleRepository.countArticlesGroupByCategory()) {
+            dbCounts.put((Article.Category) row[0], (Long) row[1]);
+        }
+
+        long dbTotal = 0;
+        int skipped = 0;
+        for (Article.Category category : Article.Category.values()) {
+            long dbCount = dbCounts.getOrDefault(category, 0L);
+            if (!categoryCounts.get(category).compareAndSet(before.get(category), dbCount)) {
+                skipped++;
+            }
+            dbTotal += dbCount;
+        }
+        if (!totalCount.compareAndSet(totalBefore, dbTotal)) {
+            skipped++;
+        }
+
+        log.debug("Article count registry resynced: total={}, categories={}, skipped={}", dbTotal, dbCounts, skipped);
+    }
+}
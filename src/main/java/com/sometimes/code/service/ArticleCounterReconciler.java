@@ -0,0 +1,47 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Article 의 like_count / comment_count / image_count 가 원본 테이블과 어긋났을 때 다시 맞춰주는 작업
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleCounterReconciler {
+
+    private final ArticleRepository articleRepository;
+
+    @Value("${article.counter.reconcile-batch-size:1000}")
+    private long batchSize;
+
+    @Value("${article.counter.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    // 컬럼이 새로 추가된 기존 게시글은 0 으로 시작하므로 기동 시 한 번 맞춰줌
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${article.counter.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        long maxArticleId = articleRepository.findMaxArticleId();
+        long updatedRows = 0;
+
+        // 한 번에 전체 테이블을 잠그지 않도록 articleId 구간별로 나눠서 갱신
+        for (long fromId = 1; fromId <= maxArticleId; fromId += batchSize) {
+            updatedRows += articleRepository.reconcileCounters(fromId, fromId + batchSize - 1);
+        }
+
+        log.info("Article counters reconciled: {} rows in {} ms", updatedRows, System.currentTimeMillis() - startedAt);
+    }
+}
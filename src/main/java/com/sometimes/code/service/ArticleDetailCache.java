@@ -0,0 +1,120 @@
+package com.sometimes.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sometimes.code.config.TransactionUtil;
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.image.ImageVariants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 게시글 상세 중 보는 사람과 무관한 부분(본문, 이미지, 작성자, 좋아요/댓글 수, 조회수)을 캐시
+// mine / pushLikes 는 요청마다 이 위에 따로 계산함
+// 히트/미스/eviction 통계는 /actuator/metrics 의 cache.* (cache=articleDetail) 로 노출
+@Component
+public class ArticleDetailCache {
+
+    private final Cache<Long, Entry> cache;
+    // 작성자별로 캐시에 있는 글 (invalidateByAuthor 가 전체 캐시를 훑지 않도록)
+    // 같은 글에 대한 추가/제거는 캐시의 키 단위 잠금 안에서 일어나므로 순서가 뒤바뀌지 않음
+    private final Map<Long, Set<Long>> articleIdsByAuthor = new ConcurrentHashMap<>();
+
+    public record Entry(Long articleId, Long userId, Article.Category category, String title, String nickName,
+                        LocalDate createAt, String content, List<ImageVariants> images, Integer likes, Integer hits,
+                        Integer commentNum, List<ImageVariants> profileImgs) {
+
+        Entry withHits(int newHits) {
+            return new Entry(articleId, userId, category, title, nickName, createAt, content, images, likes,
+                    newHits, commentNum, profileImgs);
+        }
+    }
+
+    @Autowired
+    public ArticleDetailCache(MeterRegistry meterRegistry,
+                              @Value("${article.detail-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${article.detail-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this(meterRegistry, maximumSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    ArticleDetailCache(MeterRegistry meterRegistry, long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .evictionListener((Long articleId, Entry entry, RemovalCause cause) -> unindex(entry))  // 크기/만료로 빠질 때
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "articleDetail");
+    }
+
+    // 같은 키를 동시에 조회하면 한 번만 로드함
+    public Entry get(Long articleId, Function<Long, Entry> loader) {
+        return cache.get(articleId, id -> index(loader.apply(id)));
+    }
+
+    // 아래 무효화는 트랜잭션 커밋 이후에 실행
+    // 로드 중인 키를 무효화하면 로드가 끝날 때까지 기다렸다가 제거하므로 커밋 전 데이터가 남지 않음
+    public void invalidate(Long articleId) {
+        TransactionUtil.afterCommit(() -> remove(articleId));
+    }
+
+    // 작성자 정보(프로필 이미지, 닉네임)가 바뀌면 그 작성자의 글을 모두 제거
+    public void invalidateByAuthor(Long userId) {
+        TransactionUtil.afterCommit(() -> {
+            Set<Long> articleIds = articleIdsByAuthor.get(userId);
+            if (articleIds != null) {
+                List.copyOf(articleIds).forEach(this::remove);
+            }
+        });
+    }
+
+    // ArticleHitBuffer 가 조회수를 DB 에 반영한 뒤 캐시된 조회수를 커밋된 값으로 맞춤
+    // 로드 중인 키면 로드가 끝난 뒤에 덮어쓰므로, 커밋 전에 읽어간 항목이 남지 않음
+    public void setPersistedHits(Long articleId, int hits) {
+        cache.asMap().computeIfPresent(articleId, (key, entry) -> entry.hits() == hits ? entry : entry.withHits(hits));
+    }
+
+    // 작성자 색인에 남아 있는 글 수 (테스트용)
+    int indexedArticles(Long userId) {
+        Set<Long> articleIds = articleIdsByAuthor.get(userId);
+        return articleIds == null ? 0 : articleIds.size();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private void remove(Long articleId) {
+        cache.asMap().computeIfPresent(articleId, (key, entry) -> {
+            unindex(entry);
+            return null;
+        });
+    }
+
+    private Entry index(Entry entry) {
+        if (entry != null) {
+            articleIdsByAuthor.computeIfAbsent(entry.userId(), key -> ConcurrentHashMap.newKeySet()).add(entry.articleId());
+        }
+        return entry;
+    }
+
+    private void unindex(Entry entry) {
+        articleIdsByAuthor.computeIfPresent(entry.userId(), (key, articleIds) -> {
+            articleIds.remove(entry.articleId());
+            return articleIds.isEmpty() ? null : articleIds;
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package com.sometimes.code.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 게시글 조회수를 메모리에 모아뒀다가 주기적으로 한 번에 DB 에 반영 (write-behind)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleHitBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE article SET hits = COALESCE(hits, 0) + ? WHERE article_id = ?";
+    private static final int READ_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleDetailCache articleDetailCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // ConcurrentHashMap 은 키가 속한 구간(bin) 단위로만 잠그기 때문에 서로 다른 게시글의 조회수 증가는 경합하지 않음
+    private final ConcurrentHashMap<Long, Long> pendingHits = new ConcurrentHashMap<>();
+
+    public void increment(Long articleId) {
+        pendingHits.merge(articleId, 1L, Long::sum);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수
+    public long pending(Long articleId) {
+        return pendingHits.getOrDefault(articleId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${article.hits.flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingHits.isEmpty()) {
+            return;
+        }
+
+        // remove 는 키 단위로 원자적이라 꺼내는 도중 들어온 증가분은 다음 주기에 반영됨
+        List<Object[]> batch = new ArrayList<>();
+        for (Long articleId : pendingHits.keySet()) {
+            Long delta = pendingHits.remove(articleId);
+            if (delta != null && delta > 0) {
+                batch.add(new Object[]{delta, articleId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // 한 트랜잭션으로 묶어서 중간에 실패하면 전부 롤백됨 (일부 행만 반영된 채로 전체를 되돌려 두 번 세는 일이 없음)
+        // 반영한 뒤의 조회수도 같은 트랜잭션에서 읽어둠 (조회수는 여기서만 바꾸므로 커밋된 값과 같음)
+        Map<Long, Integer> persistedHits;
+        try {
+            persistedHits = transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                return readHits(batch);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // 실패한 증가분은 버퍼에 되돌려 다음 주기에 다시 시도
+            for (Object[] row : batch) {
+                pendingHits.merge((Long) row[1], (Long) row[0], Long::sum);
+            }
+            log.warn("Failed to flush article hits, will retry: {}", e.getMessage());
+            return;
+        }
+        log.debug("Flushed hits of {} articles", batch.size());
+
+        // 커밋된 뒤에만 캐시된 상세 정보의 조회수를 DB 값으로 덮어씀
+        // 증가분을 더하면 커밋 직후에 DB 에서 새로 로드된 항목에는 두 번 더해지므로 더하지 않음
+        persistedHits.forEach(articleDetailCache::setPersistedHits);
+    }
+
+    private Map<Long, Integer> readHits(List<Object[]> batch) {
+        Map<Long, Integer> hits = new HashMap<>();
+        for (int from = 0; from < batch.size(); from += READ_CHUNK) {
+            List<Object[]> chunk = batch.subList(from, Math.min(batch.size(), from + READ_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT article_id, hits FROM article WHERE article_id IN (" + placeholders + ")",
+                    rs -> {
+                        hits.put(rs.getLong(1), rs.getInt(2));
+                    },
+                    chunk.stream().map(row -> row[1]).toArray());
+        }
+        return hits;
+    }
+
+    // 종료 시 남아있는 조회수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
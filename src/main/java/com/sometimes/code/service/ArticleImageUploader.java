@@ -0,0 +1,151 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.exception.ErrorCode;
+import com.sometimes.code.exception.ImageUploadBusyException;
+import com.sometimes.code.exception.S3Exception;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 게시글 이미지 여러 장을 동시에 S3 에 올림 (전용 스레드, 대기열 크기 제한), 크기별 이미지는 ImageVariantProcessor 가 만듦
+// 전체 업로드에 timeout 을 두고, 하나라도 실패하거나 시간이 지나면 이미 올라간(또는 뒤늦게 올라가는) 이미지를 삭제 대기열에 넣음
+// 대기열이 가득 차면 ImageUploadBusyException(503)
+@Slf4j
+@Component
+public class ArticleImageUploader {
+
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final ImageRefCounter imageRefCounter;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public ArticleImageUploader(ImageVariantProcessor imageVariantProcessor,
+                                ImageRefCounter imageRefCounter,
+                                MeterRegistry meterRegistry,
+                                @Value("${article.image-upload.threads:16}") int threads,
+                                @Value("${article.image-upload.queue-capacity:200}") int queueCapacity,
+                                @Value("${article.image-upload.timeout:30s}") Duration timeout) {
+        this.imageVariantProcessor = imageVariantProcessor;
+        this.imageRefCounter = imageRefCounter;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-image-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("article.image_upload.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 올라간 이미지의 크기별 URL 을 받은 순서대로 반환 (비어 있는 파일은 건너뜀)
+    public List<ImageVariants> uploadAll(List<MultipartFile> images, String folderName) {
+        List<MultipartFile> files = images == null ? List.of() : images.stream()
+                .filter(image -> image != null && !image.isEmpty() && image.getOriginalFilename() != null)
+                .toList();
+        if (files.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<CompletableFuture<ImageVariants>> uploads = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                // 이미 실패한 묶음이면 대기열에 남은 업로드는 시작하지 않음
+                uploads.add(CompletableFuture.supplyAsync(
+                        () -> aborted.get() ? null : imageVariantProcessor.upload(file, folderName), executor));
+            }
+            awaitAll(uploads, aborted).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            abort(aborted, uploads, "rejected", start);
+            throw new ImageUploadBusyException();
+        } catch (TimeoutException e) {
+            abort(aborted, uploads, "timeout", start);
+            throw new S3Exception(ErrorCode.IMAGE_UPLOAD_TIMEOUT);
+        } catch (ExecutionException e) {
+            abort(aborted, uploads, "failed", start);
+            if (e.getCause() instanceof S3Exception s3Exception) {
+                throw s3Exception;
+            }
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(aborted, uploads, "interrupted", start);
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        }
+
+        record("success", start);
+        return uploads.stream().map(CompletableFuture::join).toList();
+    }
+
+    // 이미 올라간 이미지를 지움 (DB 저장이 롤백된 경우 등), 같은 내용을 다른 글이 쓰고 있을 수 있으므로 참조가 없을 때만 지워짐
+    public void deleteAll(List<ImageVariants> images) {
+        imageRefCounter.discard(images.stream().flatMap(image -> image.urls().stream()).toList());
+    }
+
+    // 전부 끝나면 완료, 하나라도 실패하면 나머지를 기다리지 않고 바로 실패
+    // 실패한 스레드에서 바로 aborted 를 세움 (요청 스레드가 깨어나기 전에 대기열의 다음 업로드가 시작되지 않도록)
+    private static CompletableFuture<Void> awaitAll(List<CompletableFuture<ImageVariants>> uploads, AtomicBoolean aborted) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        for (CompletableFuture<ImageVariants> upload : uploads) {
+            upload.whenComplete((image, ex) -> {
+                if (ex != null) {
+                    aborted.set(true);
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).thenRun(() -> result.complete(null));
+        return result;
+    }
+
+    // 끝난 업로드는 바로, 아직 진행 중인 업로드는 끝나는 대로 지움
+    private void abort(AtomicBoolean aborted, List<CompletableFuture<ImageVariants>> uploads, String result, long start) {
+        aborted.set(true);
+        for (CompletableFuture<ImageVariants> upload : uploads) {
+            upload.thenAccept(image -> {
+                if (image != null) {
+                    imageRefCounter.discard(image.urls());
+                }
+            });
+        }
+        record(result, start);
+    }
+
+    private void record(String result, long start) {
+        Timer.builder("article.image_upload")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -4,17 +4,18 @@ import com.sometimes.code.domain.article.Article;
 import com.sometimes.code.domain.article.ArticleImage;
 import com.sometimes.code.domain.article.Comment;
 import com.sometimes.code.domain.article.Likes;
-import com.sometimes.code.domain.auth.ProfileImage;
 import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.article.ArticleCategorySummary;
+import com.sometimes.code.dto.article.ArticleCursorInfo;
 import com.sometimes.code.dto.article.ArticleDetailInfo;
 import com.sometimes.code.dto.article.ArticleWriteRequest;
 import com.sometimes.code.dto.article.ArticlesInfo;
 import com.sometimes.code.dto.article.SearchDetailCriteriaDto;
 import com.sometimes.code.dto.comment.CommentInfo;
 import com.sometimes.code.dto.comment.CommentRequestDto;
-import com.sometimes.code.jwt.TokenProvider;
+import com.sometimes.code.dto.image.ImageVariants;
 import com.sometimes.code.repository.*;
-import jakarta.transaction.Transactional;
+import com.sometimes.code.search.ArticleSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
@@ -23,12 +24,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.Base64;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,64 +42,43 @@ import java.util.stream.Collectors;
 public class ArticleService {
 
     private final ArticleRepository articleRepository;
-    private final TokenProvider tokenProvider;
     private final UserRepository userRepository;
-    private final S3ImageService s3ImageService;
     private final CommentRepository commentRepository;
     private final LikesRepository likesRepository;
     private final ArticleImageRepository articleImageRepository;
-    private final ProfileImageRepository profileImageRepository;
+    private final ProfileImageCache profileImageCache;
+    private final ArticleCountRegistry articleCountRegistry;
+    private final ArticleHitBuffer articleHitBuffer;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleDetailCache articleDetailCache;
+    private final ArticleImageUploader articleImageUploader;
+    private final ImageRefCounter imageRefCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
 
 
     public ArticlesInfo getArticles(Integer page, String category) {
         int pageSize = 15;
         Pageable pageable = PageRequest.of(page - 1, pageSize);
 
-        Page<Article> articlePage;
+        List<ArticlesInfo.ArticleInfo> articleInfoList;
         long totalCount;
 
         // 카테고리가 'all'일 경우 모든 게시글 조회
         if ("all".equalsIgnoreCase(category)) {
-            articlePage = articleRepository.findAllArticles(pageable);
-            totalCount = articleRepository.countAllArticles();
+            articleInfoList = articleRepository.findAllArticleInfos(pageable);
+            totalCount = articleCountRegistry.countAll();
         } else {
             // 카테고리 값에 맞는 게시글 조회
             Article.Category articleCategory = Article.Category.valueOf(category.toLowerCase());
-            articlePage = articleRepository.findArticlesByCategory(articleCategory, pageable);
-            totalCount = articleRepository.countArticlesByCategory(articleCategory);
+            articleInfoList = articleRepository.findArticleInfosByCategory(articleCategory, pageable);
+            totalCount = articleCountRegistry.count(articleCategory);
         }
 
         // 전체 페이지 수 계산
         long totalPages = (long) Math.ceil((double) totalCount / pageSize);
 
-        // Article 객체를 ArticleInfo로 변환하여 리스트로 저장
-        List<ArticlesInfo.ArticleInfo> articleInfoList = articlePage.getContent().stream()
-                .map(article -> {
-                    User user = article.getUser();
-
-                    // 좋아요 수를 likes 테이블에서 가져오기
-                    int likeCount = likesRepository.countByArticle_ArticleId(article.getArticleId());
-
-                    // 댓글 수
-                    int commentCount = article.getComments().size();
-
-                    // 이미지가 존재하는지 여부
-                    boolean existImg = !article.getImages().isEmpty();
-
-                    // Article 객체를 ArticleInfo로 매핑
-                    return ArticlesInfo.ArticleInfo.builder()
-                            .articleId(article.getArticleId())
-                            .userId(user.getUserId())
-                            .category(article.getCategory())
-                            .title(article.getTitle())
-                            .author(user.getNickName())
-                            .createdAt(article.getCreatedAt())
-                            .likes(likeCount)
-                            .existImg(existImg)
-                            .commentCnt(commentCount)
-                            .build();
-                }).collect(Collectors.toList());
-
         // ArticlesInfo 객체에 담아서 반환
         return ArticlesInfo.builder()
                 .pageNum(totalPages)
@@ -102,6 +87,57 @@ public class ArticleService {
     }
 
 
+    public ArticleCategorySummary getCategorySummary() {
+        return ArticleCategorySummary.builder()
+                .total(articleCountRegistry.countAll())
+                .categories(articleCountRegistry.snapshot())
+                .build();
+    }
+
+    public ArticleCursorInfo getArticlesByCursor(String category, String cursor, Integer size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회 (count 쿼리 없음)
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        Long lastSeenId = decodeCursor(cursor);
+
+        List<ArticlesInfo.ArticleInfo> articleInfoList;
+        if ("all".equalsIgnoreCase(category)) {
+            articleInfoList = articleRepository.findAllArticleInfosBefore(lastSeenId, pageable);
+        } else {
+            Article.Category articleCategory = Article.Category.valueOf(category.toLowerCase());
+            articleInfoList = articleRepository.findArticleInfosByCategoryBefore(articleCategory, lastSeenId, pageable);
+        }
+
+        String nextCursor = null;
+        if (articleInfoList.size() > pageSize) {
+            articleInfoList = articleInfoList.subList(0, pageSize);
+            nextCursor = encodeCursor(articleInfoList.get(pageSize - 1).getArticleId());
+        }
+
+        return ArticleCursorInfo.builder()
+                .articles(articleInfoList)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 커서는 마지막으로 본 articleId 를 감싼 불투명 문자열
+    private static String encodeCursor(Long articleId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(articleId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MAX_VALUE;  // 첫 페이지
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+
     public ArticlesInfo getArticlesByAuthor(Integer page, String nickname) {
         int pageSize = 15;
         Pageable pageable = PageRequest.of(page - 1, pageSize);
@@ -110,37 +146,13 @@ public class ArticleService {
         User user = userRepository.findByNickName(nickname)
                 .orElseThrow(() -> new RuntimeException("Author not found"));
 
-        // Fetch the articles by the user
-        Page<Article> articlePage = articleRepository.findArticlesByUser(user, pageable);
+        // Fetch the article rows of the user (the query orders them by articleId descending)
+        List<ArticlesInfo.ArticleInfo> articleInfoList = articleRepository.findArticleInfosByUser(user, pageable);
         long totalCount = articleRepository.countArticlesByUser(user);
 
         // Calculate total pages
         long totalPages = (long) Math.ceil((double) totalCount / pageSize);
 
-        // Convert articles to ArticleInfo list and sort by articleId descending
-        List<ArticlesInfo.ArticleInfo> articleInfoList = articlePage.getContent().stream()
-                .sorted(Comparator.comparingLong(Article::getArticleId).reversed()) // articleId 기준 내림차순 정렬
-                .map(article -> {
-                    int likeCount = likesRepository.countByArticle_ArticleId(article.getArticleId());
-                    int commentCount = article.getComments().size();
-
-                    // Fetch images associated with the article
-                    boolean existImg = !article.getImages().isEmpty();
-
-                    return ArticlesInfo.ArticleInfo.builder()
-                            .articleId(article.getArticleId())
-                            .userId(user.getUserId())
-                            .category(article.getCategory())
-                            .title(article.getTitle())
-                            .author(user.getNickName())
-                            .createdAt(article.getCreatedAt())
-                            .likes(likeCount)
-                            .existImg(existImg)  // Check if the article has images
-                            .commentCnt(commentCount)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
         // Return the ArticlesInfo object
         return ArticlesInfo.builder()
                 .pageNum(totalPages)
@@ -150,9 +162,15 @@ public class ArticleService {
 
 
 
-    @Transactional
-    public Article writeArticle(ArticleWriteRequest articleWriteRequest, String token, List<MultipartFile> images) {
-        Long userId = tokenProvider.getUserIdFromToken(token);
+    // S3 업로드는 트랜잭션 밖에서 먼저 끝내고 DB 저장만 짧은 트랜잭션으로 (커넥션을 S3 지연 동안 잡고 있지 않음)
+    public Article writeArticle(ArticleWriteRequest articleWriteRequest, Long userId, List<MultipartFile> images) {
+        // 이미지는 여러 장을 동시에 올림 (크기별 이미지 포함)
+        List<ImageVariants> uploadedImages = articleImageUploader.uploadAll(images, "articleImg");
+
+        return inTransaction(uploadedImages, () -> saveArticle(articleWriteRequest, userId, uploadedImages));
+    }
+
+    private Article saveArticle(ArticleWriteRequest articleWriteRequest, Long userId, List<ImageVariants> uploadedImages) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -164,23 +182,23 @@ public class ArticleService {
                 .category(articleWriteRequest.getCategory())
                 .createdAt(LocalDate.now())
                 .hits(0)
+                .coverImageUrl(coverImageUrl(uploadedImages))
                 .build();
 
         // Article 저장
         Article savedArticle = articleRepository.save(article);
 
-        // 이미지 처리 및 저장
-        if (images != null && !images.isEmpty()) {
-            for (MultipartFile image : images) {
-                String imageUrl = s3ImageService.uploadImage(image,"articleImg");  // S3에 이미지 업로드
-                ArticleImage articleImage = ArticleImage.builder()
-                        .article(savedArticle)
-                        .url(imageUrl)
-                        .build();
-                articleImageRepository.save(articleImage);  // ArticleImage 저장
-            }
+        // ArticleImage 저장 (한 번의 배치) 및 이미지 수 카운터 반영
+        if (!uploadedImages.isEmpty()) {
+            articleImageRepository.insertAll(savedArticle.getArticleId(), uploadedImages);
+            imageRefCounter.acquire(objectUrlsOf(uploadedImages));
+            articleRepository.addImageCount(savedArticle.getArticleId(), uploadedImages.size());
         }
 
+        // 카테고리별 게시글 수, 검색 색인 반영
+        articleCountRegistry.increment(savedArticle.getCategory());
+        articleSearchIndex.index(savedArticle.getArticleId());
+
         return savedArticle;
     }
 
@@ -189,281 +207,298 @@ public class ArticleService {
     @Transactional
     public void deleteArticle(Long articleId) {
         // Article 존재 여부 확인
-        Article article = articleRepository.findById(articleId)
+        Article article = articleRepository.findByIdForUpdate(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found with id: " + articleId));
 
-        // S3에서 관련된 이미지 삭제
+        // S3 이미지는 커밋된 뒤 다른 글이 쓰고 있지 않으면 ImageDeleteOutbox 가 지움
         List<ArticleImage> articleImages = articleImageRepository.findByArticle(article);
-        for (ArticleImage articleImage : articleImages) {
-            s3ImageService.deleteImageFromS3(articleImage.getUrl());
-        }
+        imageRefCounter.release(objectUrls(articleImages));
 
         // Article 삭제
         articleRepository.deleteById(articleId);
         // ArticleImage 삭제
         articleImageRepository.deleteAll(articleImages); // 관련 이미지 데이터도 삭제
+
+        // 카테고리별 게시글 수, 검색 색인 반영
+        articleCountRegistry.decrement(article.getCategory());
+        articleSearchIndex.remove(articleId, article.getTitle(), article.getContent());
+        articleDetailCache.invalidate(articleId);
     }
 
 
-    @Transactional
-    public ResponseEntity<Void> updateArticle(Long articleId, ArticleWriteRequest articleWriteRequest, String token, List<MultipartFile> images) {
-        Long userId = tokenProvider.getUserIdFromToken(token);
+    // writeArticle 과 마찬가지로 새 이미지는 트랜잭션 밖에서 먼저 올림 (실패하면 기존 글과 이미지는 그대로 둠)
+    // 글이 없으면 트랜잭션 안의 조회에서 실패하고 먼저 올린 이미지는 inTransaction 이 지움 (미리 존재 여부를 따로 조회하지 않음)
+    public ResponseEntity<Void> updateArticle(Long articleId, ArticleWriteRequest articleWriteRequest, Long userId, List<MultipartFile> images) {
+        List<ImageVariants> newImages = articleImageUploader.uploadAll(images, "articleImg");
 
-        Article article = articleRepository.findById(articleId)
+        return inTransaction(newImages, () -> saveArticleUpdate(articleId, articleWriteRequest, newImages));
+    }
+
+    private ResponseEntity<Void> saveArticleUpdate(Long articleId, ArticleWriteRequest articleWriteRequest, List<ImageVariants> newImages) {
+        Article article = articleRepository.findByIdForUpdate(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
 
-        // 기존 이미지 삭제
+        // 기존 이미지 삭제 (S3 객체는 커밋된 뒤 참조가 없으면 ImageDeleteOutbox 가 지움, 같은 이미지를 다시 올린 경우는 남음)
         List<ArticleImage> existingImages = articleImageRepository.findByArticle(article);
-        for (ArticleImage existingImage : existingImages) {
-            try {
-                s3ImageService.deleteImageFromS3(existingImage.getUrl());
-                // 이미지 삭제 후 ArticleImage 엔티티도 삭제
-                articleImageRepository.delete(existingImage);
-            } catch (Exception e) {
-                // 삭제 실패에 대한 로그 추가
-                System.err.println("Failed to delete image from S3: " + existingImage.getUrl());
-            }
-        }
+        imageRefCounter.release(objectUrls(existingImages));
+        articleImageRepository.deleteAllInBatch(existingImages);
+        int imageCountDelta = -existingImages.size();
 
         // Article 정보 업데이트
+        Article.Category previousCategory = article.getCategory();
+        String previousTitle = article.getTitle();
+        String previousContent = article.getContent();
         article.setTitle(articleWriteRequest.getTitle());
         article.setCategory(articleWriteRequest.getCategory());
         article.setContent(articleWriteRequest.getContent());
+        article.setCoverImageUrl(coverImageUrl(newImages));
 
-        // 이미지 처리
-        if (images != null && !images.isEmpty()) {
-            for (MultipartFile image : images) {
-                String newImageUrl = s3ImageService.uploadImage(image,"articleImg");
-                ArticleImage articleImage = ArticleImage.builder()
-                        .article(article)
-                        .url(newImageUrl)
-                        .build();
-                articleImageRepository.save(articleImage);  // 새 이미지를 ArticleImage 테이블에 저장
-            }
-        }
+        // 새 이미지를 ArticleImage 테이블에 저장 (한 번의 배치)
+        articleImageRepository.insertAll(articleId, newImages);
+        imageRefCounter.acquire(objectUrlsOf(newImages));
+        imageCountDelta += newImages.size();
 
         articleRepository.save(article); // Article 저장
 
+        // 이미지 수 카운터 반영
+        if (imageCountDelta != 0) {
+            articleRepository.addImageCount(articleId, imageCountDelta);
+        }
+
+        // 카테고리가 바뀐 경우 카테고리별 게시글 수 반영, 검색 색인 갱신
+        articleCountRegistry.move(previousCategory, article.getCategory());
+        articleSearchIndex.reindex(articleId, previousTitle, previousContent);
+        articleDetailCache.invalidate(articleId);
+
         return ResponseEntity.ok().build();
     }
 
 
 
+    // 트랜잭션이 실패하면 먼저 올려둔 이미지를 지움
+    private <T> T inTransaction(List<ImageVariants> uploadedImages, Supplier<T> work) {
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } catch (RuntimeException e) {
+            articleImageUploader.deleteAll(uploadedImages);
+            throw e;
+        }
+    }
+
+    // 목록에 보여줄 대표 이미지 (첫 번째 이미지의 썸네일)
+    private static String coverImageUrl(List<ImageVariants> images) {
+        return images.isEmpty() ? null : images.get(0).getThumbnail();
+    }
+
+    // 이미지 행이 가리키는 S3 객체 전부 (원본 + 크기별 이미지)
+    private static List<String> objectUrls(List<ArticleImage> articleImages) {
+        return objectUrlsOf(articleImages.stream()
+                .map(articleImage -> ImageVariants.of(articleImage.getUrl(), articleImage.getMediumUrl(),
+                        articleImage.getThumbnailUrl()))
+                .toList());
+    }
+
+    private static List<String> objectUrlsOf(List<ImageVariants> images) {
+        return images.stream().flatMap(image -> image.urls().stream()).toList();
+    }
+
     public ArticlesInfo searchArticles(SearchDetailCriteriaDto criteria, Long page) {
         int pageSize = 15;
+        String keyword = criteria.getKeyword();
+
+        // 메모리 검색 색인이 준비되어 있으면 색인에서 게시글 ID 를 찾고 해당 행만 조회
+        if (keyword != null && !keyword.isBlank() && articleSearchIndex.isReady()) {
+            ArticleSearchIndex.SearchResult result =
+                    articleSearchIndex.search(keyword, (page.intValue() - 1) * pageSize, pageSize);
+            List<ArticlesInfo.ArticleInfo> articleInfoList = result.articleIds().isEmpty()
+                    ? List.of()
+                    : articleRepository.findArticleInfosByIds(result.articleIds());
+
+            return ArticlesInfo.builder()
+                    .pageNum((long) Math.ceil((double) result.total() / pageSize))
+                    .articles(articleInfoList)
+                    .build();
+        }
+
         Pageable pageable = PageRequest.of(page.intValue() - 1, pageSize);
 
-        // 검색된 게시글을 페이지네이션하여 가져옴
-        Page<Article> articlesPage = articleRepository.searchArticles(
-                criteria.getKeyword(),
+        // 색인이 아직 준비되지 않은 경우 DB 에서 제목으로 검색
+        Page<ArticlesInfo.ArticleInfo> articlesPage = articleRepository.searchArticleInfos(
+                keyword,
                 pageable
         );
 
         // 전체 페이지 수 계산
         int totalPageNum = (int) Math.ceil((double) articlesPage.getTotalElements() / pageSize);
 
-        // Article 객체를 ArticleInfo로 변환하여 리스트로 저장
-        List<ArticlesInfo.ArticleInfo> articleInfoList = articlesPage.getContent().stream()
-                .map(article -> {
-                    // 각 게시글에 대한 좋아요 수 계산
-                    int likeCount = likesRepository.countByArticle_ArticleId(article.getArticleId());
-
-                    // 댓글 수 계산
-                    int commentCount = article.getComments().size();
-
-                    // 이미지 존재 여부 확인 (ArticleImage 테이블 사용)
-                    boolean existImg = !article.getImages().isEmpty();
-
-                    // Article 객체를 ArticleInfo로 매핑
-                    return ArticlesInfo.ArticleInfo.builder()
-                            .articleId(article.getArticleId())
-                            .userId(article.getUser().getUserId()) // 작성자 ID
-                            .category(article.getCategory())
-                            .title(article.getTitle())
-                            .author(article.getUser().getNickName()) // 작성자 닉네임
-                            .createdAt(article.getCreatedAt())
-                            .likes(likeCount) // 좋아요 수
-                            .commentCnt(commentCount)
-                            .existImg(existImg) // 이미지 존재 여부
-                            .build();
-                })
-                .collect(Collectors.toList());
-
         // ArticlesInfo 객체에 담아서 반환
         return ArticlesInfo.builder()
                 .pageNum((long) totalPageNum)
-                .articles(articleInfoList)
+                .articles(articlesPage.getContent())
                 .build();
     }
 
-    @Transactional
-    public ArticleDetailInfo getArticleDetail(Long articleId, String token) {
-        Long userId = null;
+    // userId 는 로그인하지 않은 경우 null
+    // 트랜잭션은 캐시에 없을 때만 (캐시 히트면 비로그인 요청은 커넥션을 잡지 않음)
+    public ArticleDetailInfo getArticleDetail(Long articleId, Long userId) {
         boolean mine = false;
         boolean pushLikes = false;
 
-        // JWT가 있을 경우 사용자 ID 추출
-        if (token != null && !token.isEmpty()) {
-            userId = tokenProvider.getUserIdFromToken(token);
-        }
-
-        // 게시글 조회
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("Article not found"));
+        // 보는 사람과 무관한 게시글 정보는 캐시에서 조회 (없으면 DB 에서 로드)
+        ArticleDetailCache.Entry detail = articleDetailCache.get(articleId,
+                id -> transactionTemplate.execute(status -> loadArticleDetail(id)));
 
-        // 조회수 증가
-        article.setHits(article.getHits() + 1);
-        articleRepository.save(article);
+        // 조회수 증가는 버퍼에 모아뒀다가 주기적으로 DB 에 반영
+        articleHitBuffer.increment(articleId);
+        int hits = detail.hits() + (int) articleHitBuffer.pending(articleId);
 
         // JWT가 있을 경우 좋아요 상태 및 본인 글 여부 확인
         if (userId != null) {
             // 작성자가 본인의 게시글인지 여부 확인
-            mine = article.getUser().getUserId().equals(userId);
+            mine = detail.userId().equals(userId);
 
             // 사용자가 해당 게시글에 좋아요를 눌렀는지 여부 확인
             pushLikes = likesRepository.existsByUser_UserIdAndArticle_ArticleId(userId, articleId);
         }
 
-        // 좋아요 수 조회
-        int likeCount = likesRepository.countByArticle_ArticleId(articleId);
-
-        // ArticleImage 목록 가져오기
-        List<String> imageUrls = article.getImages().stream()
-                .map(ArticleImage::getUrl)
-                .collect(Collectors.toList());
-
-        // 사용자 프로필 이미지가 여러 개일 수 있으므로 리스트로 처리
-        List<String> profileImgs = profileImageRepository.findByUser_UserId(article.getUser().getUserId()).stream()
-                .map(ProfileImage::getUrl)
-                .collect(Collectors.toList());
-
         // ArticleDetailInfo 객체에 게시글 정보를 매핑하여 반환
         return ArticleDetailInfo.builder()
-                .articleId(article.getArticleId())
-                .userId(article.getUser().getUserId())
-                .category(article.getCategory())
-                .title(article.getTitle())
-                .nickName(article.getUser().getNickName()) // 작성자 닉네임
-                .createAt(article.getCreatedAt())
-                .content(article.getContent())
-                .imageUrls(imageUrls)  // 게시글에 포함된 이미지 URL 리스트
-                .likes(likeCount)  // 좋아요 수
-                .hits(article.getHits())  // 업데이트된 조회수
-                .commentNum(article.getComments().size()) // 댓글 수
+                .articleId(detail.articleId())
+                .userId(detail.userId())
+                .category(detail.category())
+                .title(detail.title())
+                .nickName(detail.nickName()) // 작성자 닉네임
+                .createAt(detail.createAt())
+                .content(detail.content())
+                .imageUrls(ImageVariants.originals(detail.images()))  // 게시글에 포함된 이미지 URL 리스트
+                .imageVariants(detail.images())
+                .likes(detail.likes())  // 좋아요 수
+                .hits(hits)  // DB 에 반영된 조회수 + 아직 반영되지 않은 조회수
+                .commentNum(detail.commentNum()) // 댓글 수
                 .mine(mine)  // 사용자가 작성자인지 여부 (JWT 있을 때만 true)
                 .pushLikes(pushLikes)  // 사용자가 좋아요를 눌렀는지 여부 (JWT 있을 때만 true)
-                .profileImgs(profileImgs) // 프로필 이미지 리스트
+                .profileImgs(ImageVariants.originals(detail.profileImgs())) // 프로필 이미지 리스트
+                .profileImgVariants(detail.profileImgs())
                 .build();
     }
 
+    // 상세 캐시에 담을 보는 사람과 무관한 게시글 정보 로드
+    private ArticleDetailCache.Entry loadArticleDetail(Long articleId) {
+        // 게시글 조회
+        Article article = articleRepository.findById(articleId)
+                .orElseThrow(() -> new RuntimeException("Article not found"));
+        User author = article.getUser();
 
+        // ArticleImage 목록 가져오기 (이미지가 없는 글은 조회 생략)
+        List<ImageVariants> images = article.getImageCount() > 0
+                ? article.getImages().stream()
+                        .map(articleImage -> ImageVariants.of(articleImage.getUrl(), articleImage.getMediumUrl(),
+                                articleImage.getThumbnailUrl()))
+                        .toList()
+                : List.of();
 
-    @Transactional
-    public void likeArticle(Long articleId, String token) {
-        // JWT 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
-        // 사용자 정보 조회
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // 사용자 프로필 이미지가 여러 개일 수 있으므로 리스트로 처리
+        List<ImageVariants> profileImgs = profileImageCache.get(author.getUserId());
+
+        return new ArticleDetailCache.Entry(
+                article.getArticleId(),
+                author.getUserId(),
+                article.getCategory(),
+                article.getTitle(),
+                author.getNickName(),
+                article.getCreatedAt(),
+                article.getContent(),
+                images,
+                article.getLikeCount(),
+                article.getHits() == null ? 0 : article.getHits(),
+                article.getCommentCount(),
+                profileImgs);
+    }
 
-        // 게시글 정보 조회
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("Article not found"));
 
-        // 이미 좋아요를 눌렀는지 확인
-        boolean alreadyLiked = likesRepository.existsByUser_UserIdAndArticle_ArticleId(userId, articleId);
 
-        if (alreadyLiked) {
-            throw new RuntimeException("You have already liked this article");
+    @Transactional
+    public void likeArticle(Long articleId, Long userId) {
+        // 좋아요 수 카운터 증가 (게시글이 없으면 0건, 같은 게시글의 좋아요는 이 행 잠금으로 순서대로 처리됨)
+        if (articleRepository.addLikeCount(articleId, 1) == 0) {
+            throw new RuntimeException("Article not found");
         }
 
-        // 좋아요 저장
-        Likes like = new Likes();
-        like.setUser(user);
-        like.setArticle(article);
+        // 좋아요 저장, 사용자/게시글은 조회하지 않고 참조(프록시)만 넣음
+        // 이미 눌렀으면 (user_id, article_id) 유니크 제약, 없는 사용자면 FK 제약에 걸려 DataIntegrityViolationException (트랜잭션 롤백)
+        Likes like = Likes.builder()
+                .user(userRepository.getReferenceById(userId))
+                .article(articleRepository.getReferenceById(articleId))
+                .build();
         likesRepository.save(like);
+
+        articleDetailCache.invalidate(articleId);
     }
 
     @Transactional
-    public void unlikeArticle(Long articleId, String token) {
-        // JWT 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
-        // 사용자 정보 조회
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // 게시글 정보 조회
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("Article not found"));
-
-        // 해당 사용자가 이미 좋아요를 눌렀는지 확인
-        Likes like = likesRepository.findByUser_UserIdAndArticle_ArticleId(userId, articleId)
-                .orElseThrow(() -> new RuntimeException("You have not liked this article"));
+    public void unlikeArticle(Long articleId, Long userId) {
+        // 좋아요 삭제, 누른 적이 없으면 0건
+        if (likesRepository.deleteByUserIdAndArticleId(userId, articleId) == 0) {
+            throw new RuntimeException("You have not liked this article");
+        }
 
-        // 좋아요 삭제
-        likesRepository.delete(like);
+        // 좋아요 수 카운터 감소
+        articleRepository.addLikeCount(articleId, -1);
+        articleDetailCache.invalidate(articleId);
     }
 
 
     public List<CommentInfo> getCommentsByArticleId(Long articleId) {
-
-        return commentRepository.findByArticleArticleId(articleId)
-                .stream()
+        // 댓글과 작성자를 fetch join 으로 한 번에 조회
+        List<Comment> comments = commentRepository.findWithUserByArticleId(articleId);
+
+        // 작성자들의 프로필 이미지를 캐시에서 한 번에 가져옴 (캐시에 없는 작성자만 IN 쿼리 한 번으로 로드)
+        Set<Long> authorIds = comments.stream()
+                .map(comment -> comment.getUser().getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, List<ImageVariants>> profileImagesByUser = authorIds.isEmpty()
+                ? Map.of()
+                : profileImageCache.getAll(authorIds);
+
+        return comments.stream()
                 .map(comment -> {
-                    // 해당 유저의 프로필 이미지 리스트 가져오기
-                    List<String> profileImages = profileImageRepository.findByUser_UserId(comment.getUser().getUserId())
-                            .stream()
-                            .map(ProfileImage::getUrl)
-                            .collect(Collectors.toList());
-
-                    // CommentInfo 객체로 매핑
+                    List<ImageVariants> profileImages = profileImagesByUser.getOrDefault(comment.getUser().getUserId(), List.of());
                     return CommentInfo.builder()
                             .userId(comment.getUser().getUserId())
                             .commentId(comment.getCommentId())
                             .nickName(comment.getUser().getNickName())
                             .content(comment.getContent())
                             .createdAt(comment.getCreatedAt())
-                            .profileImages(profileImages)  // 여러 프로필 이미지 설정
+                            .profileImages(ImageVariants.originals(profileImages))  // 여러 프로필 이미지 설정
+                            .profileImageVariants(profileImages)
                             .build();
                 })
                 .toList();
     }
 
     @Transactional
-    public Comment createComment(Long articleId, String token, CommentRequestDto commentRequestDto) {
-        // 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-        Optional<User> userOptional = userRepository.findById(userId);
-
-        if (userOptional.isEmpty()) {
-            throw new IllegalArgumentException("Invalid user.");
-        }
-
-        User user = userOptional.get();
-        Optional<Article> articleOptional = articleRepository.findById(articleId);
-
-        if (articleOptional.isEmpty()) {
+    public Comment createComment(Long articleId, Long userId, CommentRequestDto commentRequestDto) {
+        // 댓글 수 카운터 증가 (게시글이 없으면 0건)
+        if (articleRepository.addCommentCount(articleId, 1) == 0) {
             throw new IllegalArgumentException("Invalid article.");
         }
 
-        Article article = articleOptional.get();
-
+        // 사용자/게시글은 조회하지 않고 참조(프록시)만 넣음, 없는 사용자면 FK 제약에 걸림
         Comment comment = new Comment();
-        comment.setArticle(article);
-        comment.setUser(user);
+        comment.setArticle(articleRepository.getReferenceById(articleId));
+        comment.setUser(userRepository.getReferenceById(userId));
         comment.setContent(commentRequestDto.getContent());
         comment.setCreatedAt(LocalDate.now());
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+
+        articleDetailCache.invalidate(articleId);
+
+        return savedComment;
     }
 
     @Transactional
-    public void deleteComment(Long commentId, String token) {
-        // 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void deleteComment(Long commentId, Long userId) {
         // 댓글 조회
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
@@ -475,13 +510,14 @@ public class ArticleService {
 
         // 댓글 삭제
         commentRepository.delete(comment);
+
+        // 댓글 수 카운터 감소
+        articleRepository.addCommentCount(comment.getArticle().getArticleId(), -1);
+        articleDetailCache.invalidate(comment.getArticle().getArticleId());
     }
 
     @Transactional
-    public void updateComment(Long commentId, String token, CommentRequestDto commentRequestDto) {
-        // 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void updateComment(Long commentId, Long userId, CommentRequestDto commentRequestDto) {
         // 댓글 조회
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
@@ -1,14 +1,16 @@
 package com.sometimes.code.service;
 
 import com.sometimes.code.domain.auth.Authority;
-import com.sometimes.code.domain.auth.RefreshToken;
 import com.sometimes.code.domain.auth.User;
 import com.sometimes.code.dto.login.TokenDto;
 import com.sometimes.code.dto.login.TokenRequestDto;
 import com.sometimes.code.dto.login.UserDetailsRequest;
+import com.sometimes.code.jwt.JwtPrincipal;
+import com.sometimes.code.jwt.TokenDenylist;
 import com.sometimes.code.jwt.TokenProvider;
-import com.sometimes.code.repository.RefreshTokenRepository;
 import com.sometimes.code.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -17,6 +19,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
 
 @Service
 @RequiredArgsConstructor
@@ -25,15 +30,21 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final TokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenDenylist tokenDenylist;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final UserDetailsCache userDetailsCache;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
 
+    // Bloom filter 에 없으면 DB 조회 없이 false, 있을 수도 있으면 exists 쿼리로 확인
     public boolean isEmailTaken(String email){
-        return userRepository.findByEmail(email).isPresent();
+        return userAvailabilityFilter.isEmailTaken(email);
     }
 
     public boolean isNicknameTaken(String nickName) {
-        return userRepository.findByNickName(nickName).isPresent();
+        return userAvailabilityFilter.isNickNameTaken(nickName);
     }
 
     public void signup(UserDetailsRequest userDetailsRequest) {
@@ -50,10 +61,14 @@ public class AuthService {
         user.setGender(userDetailsRequest.getGender());
         user.setAuthority(Authority.ROLE_USER);
 
+        // 저장 전에 필터에 추가 (중복 확인에서 놓치지 않도록)
+        userAvailabilityFilter.addUser(user.getEmail(), user.getNickName());
         userRepository.save(user);
+        userDetailsCache.forgetUnknown(user.getEmail());
     }
 
-    @Transactional
+    // BCrypt 검증은 BoundedPasswordEncoder 대기열에서 기다릴 수 있으므로 트랜잭션(커넥션) 없이 실행
+    // refresh token 저장은 저장소 안에서 짧은 트랜잭션으로 끝남
     public TokenDto login(UserDetailsRequest userDetailRequest) {
         // 1. Login ID/PW 를 기반으로 AuthenticationToken 생성
         UsernamePasswordAuthenticationToken authenticationToken = userDetailRequest.toAuthentication();
@@ -65,13 +80,8 @@ public class AuthService {
         // 3. 인증 정보를 기반으로 JWT 토큰 생성
         TokenDto tokenDto = tokenProvider.generateTokenDto(authentication);
 
-        // 4. RefreshToken 저장
-        RefreshToken refreshToken = RefreshToken.builder()
-                .key(authentication.getName())
-                .value(tokenDto.getRefreshToken())
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
+        // 4. RefreshToken 저장 (기기마다 하나씩, 원문 대신 해시로 저장)
+        refreshTokenStore.save(Long.valueOf(authentication.getName()), tokenDto.getRefreshToken(), refreshTokenExpiresAt());
 
         // 5. 토큰 발급
         return tokenDto;
@@ -79,40 +89,85 @@ public class AuthService {
 
     @Transactional
     public TokenDto reissue(TokenRequestDto tokenRequestDto) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            TokenDto tokenDto = rotate(tokenRequestDto);
+            outcome = "success";
+            return tokenDto;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.reissue", "outcome", outcome));
+        }
+    }
+
+    private TokenDto rotate(TokenRequestDto tokenRequestDto) {
         // 1. Refresh Token 검증
         if (!tokenProvider.validateToken(tokenRequestDto.getRefreshToken())) {
             throw new RuntimeException("Refresh Token 이 유효하지 않습니다.");
         }
 
-        // 2. Access Token 에서 Member ID 가져오기
-        Authentication authentication = tokenProvider.getAuthentication(tokenRequestDto.getAccessToken());
+        // 2. Access Token 에서 Member ID 가져오기 (만료됐어도 서명은 확인, 한 번만 파싱)
+        JwtPrincipal principal = tokenProvider.getPrincipalIgnoringExpiry(tokenRequestDto.getAccessToken());
+        Long userId = principal.userId();
+
+        // 로그아웃했거나 모든 기기에서 로그아웃된 세션은 재발급하지 않음
+        if (tokenDenylist.isRevoked(principal)) {
+            throw new RuntimeException("로그아웃 된 사용자입니다.");
+        }
 
-        // 3. 저장소에서 Member ID 를 기반으로 Refresh Token 값 가져옴
-        RefreshToken refreshToken = refreshTokenRepository.findByKey(authentication.getName())
+        // 3. 저장소에서 Refresh Token 을 꺼냄 (한 번 사용한 토큰은 지워지므로 재사용 불가)
+        //    주인이 Access Token 의 사용자일 때만 지워짐
+        Long ownerId = refreshTokenStore.consume(userId, tokenRequestDto.getRefreshToken())
                 .orElseThrow(() -> new RuntimeException("로그아웃 된 사용자입니다."));
 
-        // 4. Refresh Token 일치하는지 검사
-        if (!refreshToken.getValue().equals(tokenRequestDto.getRefreshToken())) {
+        // 4. Refresh Token 의 주인과 Access Token 의 사용자가 일치하는지 검사 (다르면 토큰은 지워지지 않은 상태)
+        if (!ownerId.equals(userId)) {
             throw new RuntimeException("토큰의 유저 정보가 일치하지 않습니다.");
         }
 
-        // 5. 새로운 토큰 생성
+        // 5. 새로운 토큰 생성 (권한은 이전 Access Token 의 것을 그대로)
+        Authentication authentication = new UsernamePasswordAuthenticationToken(String.valueOf(userId), "", principal.authorities());
         TokenDto tokenDto = tokenProvider.generateTokenDto(authentication);
 
-        // 6. 저장소 정보 업데이트
-        RefreshToken newRefreshToken = refreshToken.updateValue(tokenDto.getRefreshToken());
-        refreshTokenRepository.save(newRefreshToken);
+        // 6. 새 Refresh Token 저장
+        refreshTokenStore.save(userId, tokenDto.getRefreshToken(), refreshTokenExpiresAt());
 
         // 토큰 발급
         return tokenDto;
     }
 
-    @Transactional
+    // 지금 사용 중인 access token 을 무효화하고 refresh token 도 지움
+    // 같이 보낸 refresh token 이 본인 것이면 그 기기의 것만, 안 보냈거나 본인 것이 아니면 어느 기기인지 알 수 없으므로 모든 기기의 것을 지움
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        tokenDenylist.revoke(principal);
+        boolean consumed = refreshToken != null
+                && refreshTokenStore.consume(principal.userId(), refreshToken)
+                .filter(principal.userId()::equals)
+                .isPresent();
+        if (!consumed) {
+            refreshTokenStore.removeAll(principal.userId());
+        }
+    }
+
+    // 모든 기기에서 로그아웃: 지금까지 발급된 access token 을 무효화하고 refresh token 을 모두 지움
+    public void revokeAllSessions(Long userId) {
+        tokenDenylist.revokeAll(userId);
+        refreshTokenStore.removeAll(userId);
+    }
+
+    private static Instant refreshTokenExpiresAt() {
+        return Instant.now().plusMillis(TokenProvider.REFRESH_TOKEN_EXPIRE_TIME);
+    }
+
     public void resetPassword(String email, String newPassword) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found with email : " + email));
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        // 해시는 트랜잭션 밖에서 먼저 만들고 변경만 짧은 트랜잭션으로 (해시 대기 중에 커넥션을 잡고 있지 않음)
+        String encodedPassword = passwordEncoder.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found with email : " + email));
+            user.setPassword(encodedPassword);
+        });
+        userDetailsCache.invalidate(email);
     }
 
 }
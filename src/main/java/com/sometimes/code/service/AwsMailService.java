@@ -1,66 +1,57 @@
 package com.sometimes.code.service;
 
-import com.amazonaws.services.simpleemail.AmazonSimpleEmailService;
-import com.amazonaws.services.simpleemail.model.SendRawEmailRequest;
-import com.amazonaws.services.simpleemail.model.SendRawEmailResult;
 import com.sometimes.code.config.MailUtil;
-import com.sometimes.code.domain.auth.MailAuthNum;
 import com.sometimes.code.dto.mail.EmailCheckDto;
 import com.sometimes.code.dto.mail.MailVO;
-import com.sometimes.code.repository.MailAuthNumRepository;
+import com.sometimes.code.exception.MailOutboxFullException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.security.SecureRandom;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AwsMailService {
 
-    private final AmazonSimpleEmailService amazonSimpleEmailService;
-    private final MailAuthNumRepository mailAuthNumRepository;
+    // 시도 횟수를 제한해도 번호 자체는 예측할 수 없어야 함
+    private static final SecureRandom RANDOM = new SecureRandom();
 
-    public String send(MailVO mailVO) {
+    private final MailOutbox mailOutbox;
+    private final VerificationCodeStore verificationCodeStore;
+    private final MeterRegistry meterRegistry;
+
+    // 메일은 대기열에 넣기만 하고 바로 돌아감 (실제 발송은 MailOutbox 에서)
+    // 주소가 올바르지 않으면 IllegalArgumentException, 재전송 제한에 걸리면 TooManyRequestsException
+    // 대기열이 가득 차면 MailOutboxFullException, 이때는 메일이 나가지 않았으므로 재전송 제한에 세지 않음
+    public void send(MailVO mailVO) {
         // 인증 번호 생성
         String authNum = generateAuthNum();
 
-        // 이메일 본문 구성
+        // 이메일 본문 구성 (주소 검사를 겸하므로 인증 번호 저장보다 먼저)
         String bodyHtml = String.format("<h2>인증번호는 %s 입니다</h2>", authNum);
+        byte[] rawMessage = MailUtil.getRawMessage(mailVO.getEmail(), bodyHtml);
 
+        // 인증 번호 저장 (제한 확인을 먼저 해야 메일이 나가지 않음)
+        verificationCodeStore.issue(mailVO.getEmail(), authNum);
         try {
-            // 이메일 전송
-            SendRawEmailRequest sendRawEmailRequest = MailUtil.getSendRawEmailRequest(mailVO.getEmail(), bodyHtml);
-            SendRawEmailResult result = amazonSimpleEmailService.sendRawEmail(sendRawEmailRequest);
-            log.info("Email sent successfully, message ID: {}", result.getMessageId());
-
-            // 인증 번호와 만료 시간 저장
-            LocalDateTime expiration = LocalDateTime.now().plusMinutes(10); // 10분 유효
-            saveAuthNum(mailVO.getEmail(), authNum, expiration);
-            return "Email sent successfully!";
-        } catch (Exception e) {
-            log.error("이메일 전송 중 오류 발생", e);
-            return "Failed to send email: " + e.getMessage();
+            mailOutbox.enqueue(mailVO.getEmail(), rawMessage);
+        } catch (MailOutboxFullException e) {
+            verificationCodeStore.cancel(mailVO.getEmail(), authNum);
+            throw e;
         }
     }
 
-    public void saveAuthNum(String email, String authNum, LocalDateTime expiration) {
-        MailAuthNum mailAuthNum = new MailAuthNum(email, authNum, expiration);
-        mailAuthNumRepository.save(mailAuthNum);
-    }
-
-    public boolean validateAuthNum(EmailCheckDto emailCheckDto) {
-        // 인증 번호와 이메일로 DB에서 인증 번호 찾기
-        return mailAuthNumRepository.findByEmailAndAuthNum(emailCheckDto.getEmail(), emailCheckDto.getAuthNum())
-                .map(mailAuthNum -> mailAuthNum.getExpiration().isAfter(LocalDateTime.now()))
-                .orElse(false);
+    public VerificationCodeStore.Result validateAuthNum(EmailCheckDto emailCheckDto) {
+        VerificationCodeStore.Result result = verificationCodeStore.verify(emailCheckDto.getEmail(), emailCheckDto.getAuthNum());
+        meterRegistry.counter("auth.mail_code.verify", "result", result.name().toLowerCase()).increment();
+        return result;
     }
 
     private String generateAuthNum() {
-        Random random = new Random();
-        int authNum = 100000 + random.nextInt(900000); // 6자리 랜덤 숫자 생성
+        int authNum = 100000 + RANDOM.nextInt(900000); // 6자리 랜덤 숫자 생성
         return String.valueOf(authNum);
     }
 }
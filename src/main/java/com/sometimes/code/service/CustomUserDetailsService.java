@@ -6,6 +6,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,25 +16,38 @@ import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
+    // 캐시에 없을 때만 DB 조회, 없는 이메일도 잠시 캐시함
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
+        return userDetailsCache.get(username, userRepository::findByEmail)
                 .map(this::createUserDetails)
                 .orElseThrow(() -> new UsernameNotFoundException(username + " -> 데이터베이스에서 찾을 수 없습니다."));
     }
 
+    // 로그인 성공 시 저장된 해시의 BCrypt strength 가 설정값보다 낮으면 새 해시로 교체 (DaoAuthenticationProvider 가 호출)
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        com.sometimes.code.domain.auth.User user = userRepository.findByUserId(Long.valueOf(userDetails.getUsername()))
+                .orElseThrow(() -> new UsernameNotFoundException(userDetails.getUsername() + " -> 데이터베이스에서 찾을 수 없습니다."));
+        user.setPassword(newPassword);
+        userDetailsCache.invalidate(user.getEmail());
+        return createUserDetails(UserDetailsCache.CachedUser.of(user));
+    }
+
     // DB 에 User 값이 존재한다면 UserDetails 객체로 만들어서 리턴
-    private UserDetails createUserDetails(com.sometimes.code.domain.auth.User user) {
-        GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(user.getAuthority().toString());
+    private UserDetails createUserDetails(UserDetailsCache.CachedUser user) {
+        GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(user.authority());
 
         return new User(
-                String.valueOf(user.getUserId()),
-                user.getPassword(),
+                String.valueOf(user.userId()),
+                user.password(),
                 Collections.singleton(grantedAuthority)
         );
     }
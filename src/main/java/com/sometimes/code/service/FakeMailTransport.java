@@ -0,0 +1,44 @@
+package com.sometimes.code.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 실제로 보내지 않는 구현체, 로컬 개발과 부하 테스트용 (SES 호출 지연은 latency-ms 로 흉내냄)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "fake")
+public class FakeMailTransport implements MailTransport {
+
+    private final long latencyMs;
+    private final AtomicLong sent = new AtomicLong();
+
+    public FakeMailTransport(@Value("${mail.fake.latency-ms:0}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String send(String receiver, byte[] rawMessage) {
+        if (latencyMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long id = sent.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("Fake mail to {}:\n{}", receiver, new String(rawMessage, StandardCharsets.UTF_8));
+        }
+        return "fake-" + id;
+    }
+
+    public long sentCount() {
+        return sent.get();
+    }
+}
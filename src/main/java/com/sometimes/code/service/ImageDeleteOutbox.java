@@ -0,0 +1,202 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.image.ImageDeleteTask;
+import com.sometimes.code.domain.image.ImageRef;
+import com.sometimes.code.repository.ImageDeleteTaskRepository;
+import com.sometimes.code.repository.ImageRefRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// S3 이미지 삭제 대기열 (image_delete_outbox 테이블)
+// 서비스는 DB 변경과 같은 트랜잭션에 지울 객체만 기록하고, 커밋된 것만 백그라운드에서 DeleteObjects 로 모아서 지움
+// 따라서 요청의 DB 커넥션 사용 시간이 S3 지연과 무관하고, 롤백되면 아무것도 지워지지 않음
+// 서버가 여러 대면 같은 작업을 두 번 지울 수 있으나 S3 삭제는 멱등이므로 문제없음
+// content-hash key 는 여러 이미지 행이 같이 쓰므로 image_ref 의 참조 수가 0 이고 grace-period 가 지난 객체만 지움
+@Slf4j
+@Component
+public class ImageDeleteOutbox {
+
+    private static final int MAX_BATCH_SIZE = 1000;  // DeleteObjects 한 번에 지울 수 있는 최대 개수
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final ImageDeleteTaskRepository imageDeleteTaskRepository;
+    private final ImageRefRepository imageRefRepository;
+    private final S3ImageService s3ImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration gracePeriod;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer batchTimer;
+    private final Counter deletedCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+    private final Counter keptCounter;
+    private final Counter deferredCounter;
+
+    public ImageDeleteOutbox(ImageDeleteTaskRepository imageDeleteTaskRepository,
+                             ImageRefRepository imageRefRepository,
+                             S3ImageService s3ImageService,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${image.delete-outbox.batch-size:1000}") int batchSize,
+                             @Value("${image.delete-outbox.max-attempts:10}") int maxAttempts,
+                             @Value("${image.delete-outbox.initial-backoff:30s}") Duration initialBackoff,
+                             @Value("${image.delete-outbox.grace-period:10m}") Duration gracePeriod) {
+        this.imageDeleteTaskRepository = imageDeleteTaskRepository;
+        this.imageRefRepository = imageRefRepository;
+        this.s3ImageService = s3ImageService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.gracePeriod = gracePeriod;
+
+        this.batchTimer = meterRegistry.timer("image.delete_outbox.batch");
+        this.deletedCounter = meterRegistry.counter("image.delete_outbox.results", "result", "deleted");
+        this.retriedCounter = meterRegistry.counter("image.delete_outbox.results", "result", "retried");
+        this.droppedCounter = meterRegistry.counter("image.delete_outbox.results", "result", "dropped");
+        this.keptCounter = meterRegistry.counter("image.delete_outbox.results", "result", "kept");
+        this.deferredCounter = meterRegistry.counter("image.delete_outbox.results", "result", "deferred");
+        Gauge.builder("image.delete_outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+    }
+
+    // 지울 이미지를 현재 트랜잭션에 함께 기록 (커밋되어야 지워짐)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Collection<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<ImageDeleteTask> tasks = new ArrayList<>(imageUrls.size());
+        for (String imageUrl : imageUrls) {
+            tasks.add(ImageDeleteTask.builder()
+                    .objectKey(s3ImageService.getKeyFromImageUrl(imageUrl))
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        imageDeleteTaskRepository.saveAll(tasks);
+    }
+
+    // 지울 때가 된 작업을 batch-size 개씩 지움
+    // 참조 행을 잠근 채로 S3 에서 지우므로 이 트랜잭션은 DeleteObjects 한 번 동안 열려 있음 (요청 스레드가 아닌 백그라운드에서만)
+    @Scheduled(fixedDelayString = "${image.delete-outbox.poll-interval-ms:5000}")
+    public void drain() {
+        while (true) {
+            List<ImageDeleteTask> due = imageDeleteTaskRepository.findDue(Instant.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> deleteUnreferenced(due));
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+        pending.set(imageDeleteTaskRepository.count());
+    }
+
+    // 다시 참조된 객체는 지우지 않고, 참조가 없어진 지 grace-period 가 안 된 객체는 미룸
+    // 참조 행이 없는 객체(content-hash 이전에 올린 이미지, 저장되지 못한 업로드)는 바로 지움
+    private void deleteUnreferenced(List<ImageDeleteTask> tasks) {
+        Set<String> keys = tasks.stream().map(ImageDeleteTask::getObjectKey).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, ImageRef> refs = imageRefRepository.lockAll(keys).stream()
+                .collect(Collectors.toMap(ImageRef::getObjectKey, Function.identity()));
+
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<String> deletable = new ArrayList<>(keys.size());
+        Set<String> kept = new HashSet<>();
+        Map<String, Instant> deferred = new HashMap<>();
+        for (String key : keys) {
+            ImageRef ref = refs.get(key);
+            if (ref == null) {
+                deletable.add(key);
+            } else if (ref.getRefCount() > 0) {
+                kept.add(key);  // 다시 참조됨, 참조가 없어지면 release 가 다시 기록함
+            } else if (ref.getUpdatedAt().isAfter(cutoff)) {
+                deferred.put(key, ref.getUpdatedAt().plus(gracePeriod));
+            } else {
+                deletable.add(key);
+            }
+        }
+
+        Set<String> failedKeys = deletable.isEmpty() ? Set.of() : batchTimer.record(() -> s3ImageService.deleteObjects(deletable));
+        List<String> deletedRefs = deletable.stream()
+                .filter(key -> refs.containsKey(key) && !failedKeys.contains(key))
+                .toList();
+        if (!deletedRefs.isEmpty()) {
+            imageRefRepository.deleteAllByIdInBatch(deletedRefs);
+        }
+        settle(tasks, failedKeys, kept, deferred);
+    }
+
+    // 지워진 작업은 없애고, 실패한 작업은 지수 backoff 로 다시 예약 (max-attempts 를 넘으면 버림)
+    private void settle(List<ImageDeleteTask> tasks, Set<String> failedKeys, Set<String> kept, Map<String, Instant> deferred) {
+        List<Long> doneIds = new ArrayList<>(tasks.size());
+        Instant now = Instant.now();
+        for (ImageDeleteTask task : tasks) {
+            if (kept.contains(task.getObjectKey())) {
+                doneIds.add(task.getTaskId());
+                keptCounter.increment();
+                continue;
+            }
+            Instant deferredUntil = deferred.get(task.getObjectKey());
+            if (deferredUntil != null) {
+                imageDeleteTaskRepository.reschedule(task.getTaskId(), task.getAttempts(), deferredUntil);
+                deferredCounter.increment();
+                continue;
+            }
+            if (!failedKeys.contains(task.getObjectKey())) {
+                doneIds.add(task.getTaskId());
+                deletedCounter.increment();
+                continue;
+            }
+            int attempts = task.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Giving up deleting S3 object {} after {} attempts", task.getObjectKey(), attempts);
+                doneIds.add(task.getTaskId());
+                droppedCounter.increment();
+                continue;
+            }
+            imageDeleteTaskRepository.reschedule(task.getTaskId(), attempts, now.plus(backoff(attempts)));
+            retriedCounter.increment();
+        }
+        if (!doneIds.isEmpty()) {
+            imageDeleteTaskRepository.deleteAllByIdInBatch(doneIds);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, MAX_BACKOFF.toMillis());
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+}
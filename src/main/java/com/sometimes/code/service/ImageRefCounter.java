@@ -0,0 +1,123 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.repository.ImageRefRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// S3 객체별 참조 수 (image_ref 테이블), 같은 내용의 이미지는 content-hash key 하나를 여러 이미지 행이 같이 씀
+// 이미지 행을 저장/삭제하는 트랜잭션에서 acquire/release 하고, 참조가 없는 객체만 ImageDeleteOutbox 가 grace-period 뒤에 지움
+// 업로드는 객체를 쓰기 전에 reserve 해두므로 DB 에 저장되기 전에 다른 글의 삭제로 지워지지 않음
+@Slf4j
+@Component
+public class ImageRefCounter {
+
+    private final ImageRefRepository imageRefRepository;
+    private final ImageDeleteOutbox imageDeleteOutbox;
+    private final S3ImageService s3ImageService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong storageSavedBytes = new AtomicLong();
+
+    public ImageRefCounter(ImageRefRepository imageRefRepository,
+                           ImageDeleteOutbox imageDeleteOutbox,
+                           S3ImageService s3ImageService,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry) {
+        this.imageRefRepository = imageRefRepository;
+        this.imageDeleteOutbox = imageDeleteOutbox;
+        this.s3ImageService = s3ImageService;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("image.dedup.storage_saved", storageSavedBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // 업로드하거나 재사용할 객체를 예약 (트랜잭션 밖에서, S3 에 있는지 확인하기 전에 호출)
+    // 참조 행이 없었으면 false, 이 경우 S3 에도 없음 (content-hash 객체는 올리기 전에 행이 생기고, 지운 뒤에야 행이 없어지므로)
+    public boolean reserve(String objectKey, long sizeBytes) {
+        return imageRefRepository.reserve(objectKey, sizeBytes, Instant.now());
+    }
+
+    // 이미 참조 기록이 있는 객체만 예약, 없으면 false
+    public boolean touch(String objectKey) {
+        return imageRefRepository.touch(objectKey, Instant.now());
+    }
+
+    // 새로 저장한 이미지 행이 가리키는 객체들 (행마다 한 번씩, 같은 URL 이 여러 번 있으면 그만큼)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void acquire(Collection<String> imageUrls) {
+        Instant now = Instant.now();
+        countByKey(imageUrls).forEach((count, keys) -> {
+            int updated = imageRefRepository.addRefCount(keys, count, now);
+            if (updated < keys.size()) {
+                insertMissing(keys, count, now);  // 예약 없이 저장된 객체 (보통은 없음)
+            }
+        });
+    }
+
+    // 삭제한 이미지 행이 가리키던 객체들, 지울지는 커밋된 뒤 ImageDeleteOutbox 가 참조 수를 보고 정함
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        countByKey(imageUrls).forEach((count, keys) -> imageRefRepository.addRefCount(keys, -count, now));
+        imageDeleteOutbox.enqueue(new LinkedHashSet<>(imageUrls));
+    }
+
+    // 올렸지만 DB 에 저장하지 못한 이미지, 다른 행이 같은 객체를 쓰고 있을 수 있으므로 바로 지우지 않고 삭제 대기열로
+    public void discard(Collection<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> imageDeleteOutbox.enqueue(new LinkedHashSet<>(imageUrls)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to enqueue {} uploaded images for deletion", imageUrls.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${image.refs.stats-interval-ms:60000}")
+    public void refreshStats() {
+        storageSavedBytes.set(imageRefRepository.sumSharedBytes());
+    }
+
+    // 참조 수 변화량별 key 목록 (보통은 모든 key 가 한 번씩이므로 UPDATE 한 번)
+    private Map<Integer, List<String>> countByKey(Collection<String> imageUrls) {
+        return imageUrls.stream()
+                .map(s3ImageService::getKeyFromImageUrl)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> entry.getValue().intValue(),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    }
+
+    // 동시에 같은 객체를 처음 저장하는 트랜잭션이 있어도 커밋 때 키 중복으로 실패하지 않도록 reserve 처럼 넣거나 더함
+    private void insertMissing(List<String> keys, int count, Instant now) {
+        Set<String> existing = new HashSet<>();
+        imageRefRepository.findAllById(keys).forEach(ref -> existing.add(ref.getObjectKey()));
+        for (String key : keys) {
+            if (!existing.contains(key)) {
+                imageRefRepository.insertOrAddRefCount(key, count, now);
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.exception.ErrorCode;
+import com.sometimes.code.exception.ImageUploadBusyException;
+import com.sometimes.code.exception.S3Exception;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 업로드한 이미지의 크기별 이미지(썸네일, 중간 크기)를 만들어 원본과 별도 key 로 S3 에 올림
+// 디코딩/리사이즈/인코딩은 CPU 코어 수만큼의 전용 스레드에서만 하고(요청 스레드에서 하지 않음),
+// 원본은 중간 크기에 필요한 만큼만 줄여서(subsampling) 한 번 디코딩하므로 원본 해상도와 무관하게 작업당 메모리가 제한됨
+// 디코딩할 수 없는 형식이면 원본만 올리고 크기별 URL 은 원본으로 채움, 크기별 이미지는 항상 JPEG
+@Slf4j
+@Component
+public class ImageVariantProcessor {
+
+    private record Encoded(byte[] medium, byte[] thumbnail) {
+    }
+
+    private final S3ImageService s3ImageService;
+    private final ImageRefCounter imageRefCounter;
+    private final ThreadPoolExecutor executor;
+    private final int mediumSize;
+    private final int thumbnailSize;
+    private final float jpegQuality;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public ImageVariantProcessor(S3ImageService s3ImageService,
+                                 ImageRefCounter imageRefCounter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${image.variants.medium-size:1280}") int mediumSize,
+                                 @Value("${image.variants.thumbnail-size:320}") int thumbnailSize,
+                                 @Value("${image.variants.jpeg-quality:0.82}") float jpegQuality,
+                                 @Value("${image.variants.threads:0}") int threads,
+                                 @Value("${image.variants.queue-capacity:64}") int queueCapacity,
+                                 @Value("${image.variants.timeout:20s}") Duration timeout) {
+        this.s3ImageService = s3ImageService;
+        this.imageRefCounter = imageRefCounter;
+        this.meterRegistry = meterRegistry;
+        this.mediumSize = mediumSize;
+        this.thumbnailSize = thumbnailSize;
+        this.jpegQuality = jpegQuality;
+        this.timeout = timeout;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("image.variants.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 원본 업로드와 크기별 이미지 생성을 동시에 진행, 비어 있는 파일이면 null
+    // key 는 원본 내용의 hash 이므로 이미 올라가 있는 객체는 다시 올리지 않음 (원본과 크기별 이미지가 모두 있으면 디코딩도 하지 않음)
+    public ImageVariants upload(MultipartFile image, String folderName) {
+        if (image == null || image.isEmpty() || image.getOriginalFilename() == null) {
+            return null;
+        }
+
+        String originalKey = s3ImageService.contentKey(image, folderName);
+        String baseKey = baseKey(originalKey);
+        String mediumKey = baseKey + "_" + mediumSize + ".jpg";
+        String thumbnailKey = baseKey + "_" + thumbnailSize + ".jpg";
+
+        // 있는지 확인하기 전에 예약해야 확인한 뒤에 삭제 대기열이 지우지 않음, 처음 보는 key 면 HEAD 없이 바로 올림
+        boolean known = imageRefCounter.reserve(originalKey, image.getSize());
+        Long existingSize = known ? s3ImageService.objectSize(originalKey) : null;
+        if (existingSize != null) {
+            ImageVariants existing = existingVariants(originalKey, existingSize, mediumKey, thumbnailKey);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        Future<Encoded> encoding;
+        try {
+            encoding = executor.submit(() -> encode(image));
+        } catch (RejectedExecutionException e) {
+            throw new ImageUploadBusyException();
+        }
+
+        String originalUrl;
+        if (existingSize != null) {
+            deduplicated(existingSize);
+            originalUrl = s3ImageService.getUrl(originalKey);
+        } else {
+            try {
+                originalUrl = s3ImageService.putImage(image, originalKey);
+                uploaded();
+            } catch (RuntimeException e) {
+                encoding.cancel(true);
+                imageRefCounter.discard(List.of(s3ImageService.getUrl(originalKey)));
+                throw e;
+            }
+        }
+
+        try {
+            Encoded encoded = await(encoding);
+            if (encoded == null) {
+                return ImageVariants.originalOnly(originalUrl);
+            }
+            imageRefCounter.reserve(mediumKey, encoded.medium().length);
+            imageRefCounter.reserve(thumbnailKey, encoded.thumbnail().length);
+            String mediumUrl = s3ImageService.uploadBytes(mediumKey, encoded.medium(), "image/jpeg");
+            uploaded();
+            String thumbnailUrl = s3ImageService.uploadBytes(thumbnailKey, encoded.thumbnail(), "image/jpeg");
+            uploaded();
+            return ImageVariants.of(originalUrl, mediumUrl, thumbnailUrl);
+        } catch (RuntimeException e) {
+            // 일부만 올라간 경우 참조가 없으면 지워지도록 삭제 대기열에 넣고 실패 처리
+            imageRefCounter.discard(List.of(originalUrl, s3ImageService.getUrl(mediumKey), s3ImageService.getUrl(thumbnailKey)));
+            throw e;
+        }
+    }
+
+    // 크기별 이미지도 이미 올라가 있으면 그대로 씀, 없으면 null (디코딩할 수 없던 이미지이거나 이전 업로드가 중간에 실패한 경우)
+    private ImageVariants existingVariants(String originalKey, long originalSize, String mediumKey, String thumbnailKey) {
+        // 참조 기록이 없는 크기별 이미지는 없는 것으로 봄 (예약 행을 새로 만들지 않음)
+        if (!imageRefCounter.touch(mediumKey) || !imageRefCounter.touch(thumbnailKey)) {
+            return null;
+        }
+        Long mediumBytes = s3ImageService.objectSize(mediumKey);
+        Long thumbnailBytes = mediumBytes == null ? null : s3ImageService.objectSize(thumbnailKey);
+        if (thumbnailBytes == null) {
+            return null;
+        }
+        deduplicated(originalSize);
+        deduplicated(mediumBytes);
+        deduplicated(thumbnailBytes);
+        return ImageVariants.of(s3ImageService.getUrl(originalKey), s3ImageService.getUrl(mediumKey),
+                s3ImageService.getUrl(thumbnailKey));
+    }
+
+    private Encoded await(Future<Encoded> encoding) {
+        try {
+            return encoding.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            encoding.cancel(true);
+            throw new S3Exception(ErrorCode.IMAGE_UPLOAD_TIMEOUT);
+        } catch (ExecutionException e) {
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encoding.cancel(true);
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        }
+    }
+
+    // 디코딩할 수 없으면(지원하지 않는 형식, 깨진 파일) null
+    private Encoded encode(MultipartFile image) throws IOException {
+        long start = System.nanoTime();
+        BufferedImage decoded;
+        try (InputStream is = image.getInputStream()) {
+            decoded = decodeSubsampled(is, mediumSize);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Cannot decode image {}: {}", image.getOriginalFilename(), e.toString());
+            decoded = null;
+        }
+        if (decoded == null) {
+            record("skipped", start);
+            return null;
+        }
+        BufferedImage medium = scale(decoded, mediumSize);
+        BufferedImage thumbnail = scale(medium, thumbnailSize);
+        Encoded encoded = new Encoded(encodeJpeg(medium), encodeJpeg(thumbnail));
+        record("processed", start);
+        return encoded;
+    }
+
+    // 긴 변이 targetSize 보다 작아지지 않는 범위에서 최대한 줄여서 디코딩 (디코딩된 긴 변은 targetSize 의 2배 미만)
+    private static BufferedImage decodeSubsampled(InputStream in, int targetSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longSide / targetSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변을 maxSize 이하로 줄임 (투명 영역은 흰색으로), 한 번에 절반 넘게 줄이면 품질이 떨어지므로 나눠서 줄임
+    private static BufferedImage scale(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // articleImg/3f2a...png -> articleImg/3f2a...
+    private static String baseKey(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+    }
+
+    private void uploaded() {
+        meterRegistry.counter("image.dedup.objects", "result", "uploaded").increment();
+    }
+
+    // 이미 있어서 올리지 않은 객체, 아낀 전송량은 image.dedup.bytes_saved
+    private void deduplicated(long bytes) {
+        meterRegistry.counter("image.dedup.objects", "result", "deduplicated").increment();
+        meterRegistry.counter("image.dedup.bytes_saved").increment(bytes);
+    }
+
+    private void record(String result, long start) {
+        Timer.builder("image.variants.process")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
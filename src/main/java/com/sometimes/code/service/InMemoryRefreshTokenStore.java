@@ -0,0 +1,138 @@
+package com.sometimes.code.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// 메모리에 저장하는 구현체, 서버 한 대로 운영할 때 reissue 마다 DB 를 거치지 않음 (재시작하면 다시 로그인해야 함)
+// 모든 토큰의 유효기간이 같으므로 저장 순서가 곧 만료 순서, 만료 정리는 앞에서부터 만료되지 않은 토큰이 나올 때까지만 봄
+// 로그인/재발급은 BCrypt, 서명보다 훨씬 드물고 가벼우므로 메서드 단위로 동기화함
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    // 해시 문자열(64자) + Entry + 맵 노드 + 사용자별 목록 참조의 대략적인 크기
+    private static final long ESTIMATED_ENTRY_BYTES = 240;
+
+    private record Entry(Long userId, Instant expiresAt) {
+    }
+
+    private final int capacity;
+    private final int maxPerUser;
+
+    private final LinkedHashMap<String, Entry> tokens = new LinkedHashMap<>();  // 해시 -> 토큰, 저장 순서
+    private final Map<Long, ArrayDeque<String>> tokensByUser = new HashMap<>();  // 사용자 -> 해시, 오래된 것부터
+
+    public InMemoryRefreshTokenStore(MeterRegistry meterRegistry,
+                                     @Value("${auth.refresh-token.memory.capacity:100000}") int capacity,
+                                     @Value("${auth.refresh-token.max-per-user:5}") int maxPerUser) {
+        this.capacity = capacity;
+        this.maxPerUser = maxPerUser;
+        Gauge.builder("auth.refresh_tokens", this, InMemoryRefreshTokenStore::size)
+                .description("Refresh tokens held in memory")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_tokens.memory", this, store -> store.size() * ESTIMATED_ENTRY_BYTES)
+                .description("Estimated memory used by in-memory refresh tokens")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void save(Long userId, String refreshToken, Instant expiresAt) {
+        String key = RefreshTokenStore.hash(refreshToken);
+        if (tokens.size() >= capacity) {
+            sweep(Instant.now());
+        }
+        // 정리 후에도 가득 차 있으면 가장 오래된 토큰을 버림
+        while (tokens.size() >= capacity) {
+            Map.Entry<String, Entry> eldest = tokens.entrySet().iterator().next();
+            remove(eldest.getKey(), eldest.getValue());
+        }
+
+        tokens.put(key, new Entry(userId, expiresAt));
+        ArrayDeque<String> userTokens = tokensByUser.computeIfAbsent(userId, id -> new ArrayDeque<>());
+        userTokens.addLast(key);
+        while (userTokens.size() > maxPerUser) {
+            String oldest = userTokens.pollFirst();
+            tokens.remove(oldest);
+        }
+    }
+
+    @Override
+    public synchronized Optional<Long> consume(Long userId, String refreshToken) {
+        String key = RefreshTokenStore.hash(refreshToken);
+        Entry entry = tokens.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!entry.userId().equals(userId)) {
+            return Optional.of(entry.userId());
+        }
+        remove(key, entry);
+        return entry.expiresAt().isAfter(Instant.now()) ? Optional.of(entry.userId()) : Optional.empty();
+    }
+
+    @Override
+    public synchronized void removeAll(Long userId) {
+        ArrayDeque<String> userTokens = tokensByUser.remove(userId);
+        if (userTokens != null) {
+            userTokens.forEach(tokens::remove);
+        }
+    }
+
+    @Override
+    public synchronized long size() {
+        return tokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.sweep-interval-ms:60000}")
+    public synchronized void sweep() {
+        int removed = sweep(Instant.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired refresh tokens, {} left", removed, tokens.size());
+        }
+    }
+
+    private int sweep(Instant now) {
+        int removed = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = tokens.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue().expiresAt().isAfter(now)) {
+                break;
+            }
+            iterator.remove();
+            removeFromUser(eldest.getKey(), eldest.getValue().userId());
+            removed++;
+        }
+        return removed;
+    }
+
+    private void remove(String key, Entry entry) {
+        tokens.remove(key);
+        removeFromUser(key, entry.userId());
+    }
+
+    private void removeFromUser(String key, Long userId) {
+        ArrayDeque<String> userTokens = tokensByUser.get(userId);
+        if (userTokens != null) {
+            userTokens.remove(key);
+            if (userTokens.isEmpty()) {
+                tokensByUser.remove(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.MailAuthNum;
+import com.sometimes.code.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// 메모리에 저장하는 구현체 (기본값), 서버 한 대일 때 인증번호마다 DB 를 거치지 않음
+// 이메일 단위로 compute 안에서 갱신하므로 같은 이메일에 대한 동시 요청도 횟수가 빠지지 않음
+// capacity 를 넘으면 인증한 적 없는 가장 오래된 항목부터 밀어냄 (새 이메일을 모두 거절하면 아무나 가입/비밀번호 찾기를 막을 수 있음)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.mail-code.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private final VerificationCodePolicy policy;
+    private final int capacity;
+    private final ConcurrentHashMap<String, MailAuthNum> codes = new ConcurrentHashMap<>();
+    // 항목이 생긴 순서 (밀어낼 때 앞에서부터 꺼냄), 이미 지워졌거나 다시 만들어진 항목은 꺼낼 때 건너뜀
+    private final ConcurrentLinkedQueue<MailAuthNum> creationOrder = new ConcurrentLinkedQueue<>();
+    private final Counter evictedCounter;
+
+    public InMemoryVerificationCodeStore(VerificationCodePolicy policy,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${auth.mail-code.memory.capacity:100000}") int capacity) {
+        this.policy = policy;
+        this.capacity = capacity;
+        this.evictedCounter = meterRegistry.counter("auth.mail_codes.evicted");
+        Gauge.builder("auth.mail_codes", this, store -> store.codes.size())
+                .description("Mail verification entries held in memory, including resend counters")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void issue(String email, String code) {
+        String key = policy.key(email);
+        if (!codes.containsKey(key) && codes.size() >= capacity && !evictOldestUnverified()) {
+            // 남은 항목이 모두 인증한 주소라면 (보통은 없음) 만료될 때까지 새 이메일을 받지 않음
+            throw new TooManyRequestsException(60);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        MailAuthNum[] created = {null};
+        codes.compute(key, (k, state) -> {
+            MailAuthNum next = state;
+            if (next == null) {
+                next = new MailAuthNum(k);
+                created[0] = next;
+            }
+            policy.issue(next, code, now);
+            return next;
+        });
+        if (created[0] != null) {
+            creationOrder.add(created[0]);
+        }
+    }
+
+    // 인증한 적 없는 가장 오래된 항목 하나를 지움, 밀어낸 주소는 재전송 제한이 처음부터 다시 시작됨 (IP 별 요청 수 제한이 따로 막아줌)
+    // 인증한 주소는 밀어내지 않고 만료되면 sweep 이 지움
+    private boolean evictOldestUnverified() {
+        MailAuthNum oldest;
+        while ((oldest = creationOrder.poll()) != null) {
+            MailAuthNum candidate = oldest;
+            boolean[] evicted = {false};
+            codes.computeIfPresent(candidate.getEmail(), (k, current) -> {
+                if (current != candidate || current.isVerified()) {
+                    return current;
+                }
+                evicted[0] = true;
+                return null;
+            });
+            if (evicted[0]) {
+                evictedCounter.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void cancel(String email, String code) {
+        LocalDateTime now = LocalDateTime.now();
+        codes.computeIfPresent(policy.key(email), (k, state) -> {
+            policy.cancel(state, code, now);
+            return state;
+        });
+    }
+
+    @Override
+    public Result verify(String email, String code) {
+        LocalDateTime now = LocalDateTime.now();
+        Result[] result = {Result.EXPIRED};
+        codes.computeIfPresent(policy.key(email), (k, state) -> {
+            result[0] = policy.verify(state, code, now);
+            return state;
+        });
+        return result[0];
+    }
+
+    @Override
+    public long size() {
+        LocalDateTime now = LocalDateTime.now();
+        return codes.values().stream().filter(state -> state.getExpiration().isAfter(now)).count();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.mail-code.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = sweep(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired mail verification entries, {} left", removed, codes.size());
+        }
+    }
+
+    int sweep(LocalDateTime now) {
+        int before = codes.size();
+        codes.forEach((key, state) ->
+                codes.computeIfPresent(key, (k, current) -> policy.isDisposable(current, now) ? null : current));
+        creationOrder.removeIf(state -> codes.get(state.getEmail()) != state);
+        return Math.max(0, before - codes.size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.RefreshToken;
+import com.sometimes.code.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// DB(refresh_token 테이블)에 저장하는 구현체, 서버가 여러 대이거나 재시작 후에도 로그인을 유지해야 하면 이걸 사용
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${auth.refresh-token.max-per-user:5}")
+    private int maxPerUser;
+
+    @Override
+    @Transactional
+    public void save(Long userId, String refreshToken, Instant expiresAt) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .key(RefreshTokenStore.hash(refreshToken))
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build());
+
+        // 기기 수 제한을 넘으면 만료가 가까운(가장 오래된) 것부터 지움
+        List<RefreshToken> tokens = refreshTokenRepository.findByUserIdOrderByExpiresAtAsc(userId);
+        if (tokens.size() > maxPerUser) {
+            refreshTokenRepository.deleteAllInBatch(tokens.subList(0, tokens.size() - maxPerUser));
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<Long> consume(Long userId, String refreshToken) {
+        String key = RefreshTokenStore.hash(refreshToken);
+        Optional<RefreshToken> token = refreshTokenRepository.findById(key);
+        if (token.isEmpty()) {
+            return Optional.empty();
+        }
+        Long ownerId = token.get().getUserId();
+        if (ownerId == null) {
+            return Optional.empty();  // 이전 형식의 행, sweep 이 지움
+        }
+        if (!ownerId.equals(userId)) {
+            return Optional.of(ownerId);
+        }
+        if (refreshTokenRepository.deleteUnexpired(key, userId, Instant.now()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ownerId);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public long size() {
+        return refreshTokenRepository.countByExpiresAtAfter(Instant.now());
+    }
+
+    // 만료된 토큰과 이전 형식(만료 시각/사용자 없음)의 행 정리
+    @Scheduled(fixedDelayString = "${auth.refresh-token.sweep-interval-ms:60000}")
+    @Transactional
+    public void sweep() {
+        int removed = refreshTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired refresh tokens", removed);
+        }
+    }
+}
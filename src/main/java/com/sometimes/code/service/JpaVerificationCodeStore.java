@@ -0,0 +1,63 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.MailAuthNum;
+import com.sometimes.code.repository.MailAuthNumRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// DB(mail_auth_num 테이블)에 저장하는 구현체, 서버가 여러 대라 다른 서버에서 인증할 수 있으면 이걸 사용
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.mail-code.store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaVerificationCodeStore implements VerificationCodeStore {
+
+    private final MailAuthNumRepository mailAuthNumRepository;
+    private final VerificationCodePolicy policy;
+
+    @Override
+    @Transactional
+    public void issue(String email, String code) {
+        String key = policy.key(email);
+        MailAuthNum state = mailAuthNumRepository.findByEmailForUpdate(key)
+                .orElseGet(() -> new MailAuthNum(key));
+        policy.issue(state, code, LocalDateTime.now());
+        mailAuthNumRepository.save(state);
+    }
+
+    @Override
+    @Transactional
+    public void cancel(String email, String code) {
+        mailAuthNumRepository.findByEmailForUpdate(policy.key(email))
+                .ifPresent(state -> policy.cancel(state, code, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public Result verify(String email, String code) {
+        return mailAuthNumRepository.findByEmailForUpdate(policy.key(email))
+                .map(state -> policy.verify(state, code, LocalDateTime.now()))
+                .orElse(Result.EXPIRED);
+    }
+
+    @Override
+    public long size() {
+        return mailAuthNumRepository.countByExpirationAfter(LocalDateTime.now());
+    }
+
+    // 만료된 인증번호 정리, 테이블이 계속 커지지 않도록
+    @Scheduled(fixedDelayString = "${auth.mail-code.sweep-interval-ms:60000}")
+    @Transactional
+    public void sweep() {
+        int removed = mailAuthNumRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired mail verification entries", removed);
+        }
+    }
+}
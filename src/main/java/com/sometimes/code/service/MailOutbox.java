@@ -0,0 +1,172 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.exception.MailOutboxFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 메일 발송 대기열, 요청 스레드는 넣기만 하고 바로 응답하며 전용 스레드가 MailTransport 로 보냄
+// 초당 발송 수는 SES 한도(max-send-rate)에 맞춰 모든 스레드가 나눠 쓰고,
+// 일시적인 오류는 지수 backoff 로 다시 시도함, 대기열이 가득 차면 MailOutboxFullException(503)
+@Slf4j
+@Component
+public class MailOutbox {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private record MailJob(String receiver, byte[] rawMessage, int attempt, long enqueuedAt) {
+
+        MailJob nextAttempt() {
+            return new MailJob(receiver, rawMessage, attempt + 1, enqueuedAt);
+        }
+    }
+
+    private final MailTransport mailTransport;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final long sendIntervalNanos;
+    private final AtomicLong nextSendAt = new AtomicLong(System.nanoTime());
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public MailOutbox(MailTransport mailTransport,
+                      MeterRegistry meterRegistry,
+                      @Value("${mail.outbox.workers:4}") int workers,
+                      @Value("${mail.outbox.queue-capacity:1000}") int queueCapacity,
+                      @Value("${mail.outbox.max-send-rate:14}") double maxSendRate,
+                      @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${mail.outbox.initial-backoff:1s}") Duration initialBackoff) {
+        this.mailTransport = mailTransport;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.sendIntervalNanos = maxSendRate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxSendRate) : 0;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sendTimer = Timer.builder("mail.send").description("Time spent in the mail transport").register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.outbox.delivery").description("Time from enqueue to sent").register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.outbox.results", "result", "sent");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.results", "result", "retried");
+        this.failedCounter = meterRegistry.counter("mail.outbox.results", "result", "failed");
+        this.droppedCounter = meterRegistry.counter("mail.outbox.results", "result", "dropped");
+        Gauge.builder("mail.outbox.queue", executor, pool -> pool.getQueue().size())
+                .description("Mails waiting for a worker")
+                .register(meterRegistry);
+        log.info("Mail outbox: {} workers, queue {}, max {} mails/s via {}",
+                workers, queueCapacity, maxSendRate, mailTransport.getClass().getSimpleName());
+    }
+
+    public void enqueue(String receiver, byte[] rawMessage) {
+        try {
+            executor.execute(() -> deliver(new MailJob(receiver, rawMessage, 1, System.nanoTime())));
+        } catch (RejectedExecutionException e) {
+            throw new MailOutboxFullException();
+        }
+    }
+
+    private void deliver(MailJob job) {
+        acquireSendSlot();
+        long startedAt = System.nanoTime();
+        try {
+            String messageId = mailTransport.send(job.receiver(), job.rawMessage());
+            long finishedAt = System.nanoTime();
+            sendTimer.record(finishedAt - startedAt, TimeUnit.NANOSECONDS);
+            deliveryTimer.record(finishedAt - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+            sentCounter.increment();
+            log.info("Email sent successfully, message ID: {}", messageId);
+        } catch (Exception e) {
+            sendTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (job.attempt() < maxAttempts && mailTransport.isRetryable(e)) {
+                long delayMs = backoffMillis(job.attempt());
+                retriedCounter.increment();
+                log.warn("이메일 전송 실패, {}ms 후 다시 시도 ({}/{}): {}", delayMs, job.attempt(), maxAttempts, e.getMessage());
+                retryScheduler.schedule(() -> resubmit(job.nextAttempt()), delayMs, TimeUnit.MILLISECONDS);
+            } else {
+                failedCounter.increment();
+                log.error("이메일 전송 중 오류 발생 ({}회 시도)", job.attempt(), e);
+            }
+        }
+    }
+
+    private void resubmit(MailJob job) {
+        try {
+            executor.execute(() -> deliver(job));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.error("Mail outbox is full, dropping retry for {}", job.receiver());
+        }
+    }
+
+    // 모든 스레드가 같은 간격으로 순서를 나눠 받음 (쉬고 있던 만큼 몰아서 보내지는 않음)
+    private void acquireSendSlot() {
+        if (sendIntervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = nextSendAt.getAndAccumulate(now, (next, current) -> Math.max(next, current) + sendIntervalNanos);
+        long waitNanos = slot - now;
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 지수 backoff + jitter (여러 메일이 같은 시각에 다시 몰리지 않도록)
+    private long backoffMillis(int attempt) {
+        long base = Math.min(MAX_BACKOFF.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    // 종료 시 대기 중인 메일은 잠시 기다려 보내고, 다시 시도 예정인 것은 버림
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Mail outbox stopped with {} mails still queued", executor.shutdownNow().size());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sometimes.code.service;
+
+// 메일 발송 수단, mail.transport 값(ses | fake)으로 구현체를 고름
+public interface MailTransport {
+
+    // 완성된 MIME 메시지를 보내고 메시지 ID 를 돌려줌
+    String send(String receiver, byte[] rawMessage);
+
+    // 다시 보내면 성공할 수 있는 오류인지 (발송 한도 초과, 네트워크 오류 등)
+    default boolean isRetryable(Exception e) {
+        return true;
+    }
+}
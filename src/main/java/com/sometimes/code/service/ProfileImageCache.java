@@ -0,0 +1,74 @@
+package com.sometimes.code.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.sometimes.code.config.TransactionUtil;
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.repository.ProfileImageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// userId -> 프로필 이미지(크기별 URL) 목록 캐시 (게시글 상세, 댓글 목록, 마이페이지에서 공유)
+// 프로필 이미지는 UserService.uploadProfileImage 에서만 바뀌므로 그때 무효화함
+@Component
+public class ProfileImageCache {
+
+    private final LoadingCache<Long, List<ImageVariants>> cache;
+
+    public ProfileImageCache(ProfileImageRepository profileImageRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.profile-image-cache.maximum-size:50000}") long maximumSize,
+                             @Value("${user.profile-image-cache.expire-after-write:1h}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new CacheLoader<Long, List<ImageVariants>>() {
+                    @Override
+                    public List<ImageVariants> load(Long userId) {
+                        return loadAll(Set.of(userId)).get(userId);
+                    }
+
+                    // 캐시에 없는 유저들을 IN 쿼리 한 번으로 로드
+                    @Override
+                    public Map<Long, List<ImageVariants>> loadAll(Set<? extends Long> userIds) {
+                        Map<Long, List<ImageVariants>> loaded = profileImageRepository.findByUser_UserIdIn(Set.copyOf(userIds)).stream()
+                                .collect(Collectors.groupingBy(profileImage -> profileImage.getUser().getUserId(),
+                                        HashMap::new,
+                                        Collectors.mapping(profileImage -> ImageVariants.of(profileImage.getUrl(),
+                                                        profileImage.getMediumUrl(), profileImage.getThumbnailUrl()),
+                                                Collectors.toUnmodifiableList())));
+                        // 프로필 이미지가 없는 유저도 빈 목록으로 캐시
+                        for (Long userId : userIds) {
+                            loaded.putIfAbsent(userId, List.of());
+                        }
+                        return loaded;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profileImage");
+    }
+
+    public List<ImageVariants> get(Long userId) {
+        return cache.get(userId);
+    }
+
+    public Map<Long, List<ImageVariants>> getAll(Collection<Long> userIds) {
+        return cache.getAll(userIds);
+    }
+
+    // 트랜잭션 커밋 이후에 무효화
+    public void invalidate(Long userId) {
+        TransactionUtil.afterCommit(() -> cache.invalidate(userId));
+    }
+}
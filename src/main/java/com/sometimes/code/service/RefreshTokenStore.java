@@ -0,0 +1,35 @@
+package com.sometimes.code.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// refresh token 저장소, auth.refresh-token.store 값(jpa | memory)으로 구현체를 고름
+// 원문은 저장하지 않고 SHA-256 해시만 저장함
+public interface RefreshTokenStore {
+
+    // 로그인한 기기마다 하나씩 저장, 사용자당 개수를 넘으면 가장 오래된 것을 지움
+    void save(Long userId, String refreshToken, Instant expiresAt);
+
+    // 토큰 주인을 반환하고, 주인이 userId 일 때만 지움 (한 번만 사용 가능), 없거나 만료됐으면 empty
+    // 다른 사용자의 토큰이면 지우지 않고 주인만 반환하므로 남의 토큰을 보내서 없앨 수 없음
+    Optional<Long> consume(Long userId, String refreshToken);
+
+    // 사용자의 모든 기기에서 로그아웃
+    void removeAll(Long userId);
+
+    // 만료되지 않은 토큰 수
+    long size();
+
+    static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
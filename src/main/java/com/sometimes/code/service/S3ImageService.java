@@ -1,69 +1,233 @@
 package com.sometimes.code.service;
 
+import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.util.IOUtils;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.sometimes.code.exception.ErrorCode;
 import com.sometimes.code.exception.S3Exception;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLDecoder;
-import java.util.UUID;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+// 이미지를 메모리에 통째로 올리지 않고 MultipartFile 에서 바로 S3 로 흘려보냄
+// multipart-threshold 이상인 파일은 임시 파일로 복사한 뒤 TransferManager 로 part-size 단위 병렬 multipart 업로드
+// key 는 내용의 SHA-256 이므로 같은 이미지는 항상 같은 객체가 됨 (중복 확인과 참조 수는 ImageVariantProcessor, ImageRefCounter)
+// 확장자와 Content-Type 은 파일명이 아니라 내용의 앞부분(magic bytes)으로 정함, 알 수 없는 형식은 확장자 없이 application/octet-stream
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class S3ImageService {
 
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+    private static final String UNKNOWN_CONTENT_TYPE = "application/octet-stream";
+
     private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
+    private final String bucketName;
+    private final long multipartThreshold;
+
+    public S3ImageService(AmazonS3 amazonS3,
+                          @Value("${cloud.aws.s3.bucketName}") String bucketName,
+                          @Value("${cloud.aws.s3.upload.multipart-threshold:8MB}") DataSize multipartThreshold,
+                          @Value("${cloud.aws.s3.upload.part-size:5MB}") DataSize partSize,
+                          @Value("${cloud.aws.s3.upload.threads:8}") int uploadThreads) {
+        this.amazonS3 = amazonS3;
+        this.bucketName = bucketName;
+        this.multipartThreshold = multipartThreshold.toBytes();
+
+        // part 업로드 스레드는 모든 업로드가 나눠 씀
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold.toBytes())
+                .withMinimumUploadPartSize(partSize.toBytes())
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(uploadThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "s3-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .withShutDownThreadPools(true)
+                .build();
+    }
 
-    @Value("${cloud.aws.s3.bucketName}")
-    private String bucketName;
+    @PreDestroy
+    public void shutdown() {
+        transferManager.shutdownNow(false);  // AmazonS3 클라이언트는 빈이므로 닫지 않음
+    }
 
     // 폴더명을 매개변수로 받아서 이미지 업로드
     public String uploadImage(MultipartFile image, String folderName) {
         if (image == null || image.isEmpty() || image.getOriginalFilename() == null) {
             return null;  // 이미지가 없을 경우 null 반환
         }
-        return this.uploadImageToS3(image, folderName);  // 폴더명에 맞게 업로드
+        return this.putImage(image, contentKey(image, folderName));  // 폴더명에 맞게 업로드
     }
 
-    private String uploadImageToS3(MultipartFile image, String folderName) {
-        String originalFilename = image.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1);
-
-        // 폴더명을 포함한 S3 파일명 설정
-        String s3FileName = folderName + "/" + UUID.randomUUID().toString().substring(0, 10) + "_" + originalFilename;
-
+    // 폴더명/내용의 SHA-256.확장자, 톰캣이 받아둔 파일을 한 번 더 읽을 뿐 힙에 모으지 않음
+    // 확장자는 내용으로 정하므로 photo.jpg, photo.JPEG 처럼 이름만 다른 같은 이미지도 같은 key 가 됨
+    public String contentKey(MultipartFile image, String folderName) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] head;
+        byte[] buffer = new byte[64 * 1024];
         try (InputStream is = image.getInputStream()) {
-            byte[] bytes = IOUtils.toByteArray(is);
-
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType("image/" + extension);
-            metadata.setContentLength(bytes.length);
+            head = is.readNBytes(12);
+            digest.update(head);
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        }
+        String key = folderName + "/" + HexFormat.of().formatHex(digest.digest());
+        String extension = sniffExtension(head);
+        return extension == null ? key : key + "." + extension;
+    }
 
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
+    // 객체 크기 (HEAD), 없거나 확인할 수 없으면 null (이 경우 호출하는 쪽은 다시 올림)
+    public Long objectSize(String key) {
+        try {
+            return amazonS3.getObjectMetadata(bucketName, key).getContentLength();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 404) {
+                log.warn("Failed to check S3 object {}: {}", key, e.getMessage());
+            }
+            return null;
+        } catch (SdkClientException e) {
+            log.warn("Failed to check S3 object {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
 
-            // ACL 제거
-            PutObjectRequest putObjectRequest =
-                    new PutObjectRequest(bucketName, s3FileName, byteArrayInputStream, metadata);
+    public String getUrl(String key) {
+        return amazonS3.getUrl(bucketName, key).toString();
+    }
 
-            amazonS3.putObject(putObjectRequest);  // S3에 이미지 업로드
+    // 정해진 key 로 업로드
+    public String putImage(MultipartFile image, String s3FileName) {
+        // 길이를 미리 알려줘야 SDK 가 스트림을 메모리에 모아두지 않음
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType(s3FileName));
+        metadata.setContentLength(image.getSize());
 
-            return amazonS3.getUrl(bucketName, s3FileName).toString();
+        try {
+            if (image.getSize() >= multipartThreshold) {
+                uploadMultipart(image, s3FileName, metadata);
+            } else {
+                try (InputStream is = image.getInputStream()) {
+                    // ACL 제거
+                    amazonS3.putObject(new PutObjectRequest(bucketName, s3FileName, is, metadata));  // S3에 이미지 업로드
+                }
+            }
+            return getUrl(s3FileName);
         } catch (IOException e) {
             throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+        }
+    }
+
+    // 파일 앞부분으로 알아낸 이미지 확장자 (JPEG 은 jpg 로 통일), 알 수 없으면 null
+    static String sniffExtension(byte[] head) {
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8')) {
+            return "gif";
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int offset, int... magic) {
+        if (head.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[offset + i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // key 의 확장자로 정한 Content-Type (contentKey 가 붙인 확장자이므로 내용과 맞음)
+    static String contentType(String key) {
+        int dot = key.lastIndexOf('.');
+        if (dot <= key.lastIndexOf('/')) {
+            return UNKNOWN_CONTENT_TYPE;
         }
+        return CONTENT_TYPES.getOrDefault(key.substring(dot + 1).toLowerCase(Locale.ROOT), UNKNOWN_CONTENT_TYPE);
+    }
+
+    // part 를 병렬로 올리려면 SDK 가 위치별로 다시 읽을 수 있는 파일이 필요함
+    // transferTo 는 톰캣이 받아둔 파일을 옮겨버려서 동시에 읽는 쪽(크기별 이미지 디코딩)이 실패하므로 복사함
+    private void uploadMultipart(MultipartFile image, String s3FileName, ObjectMetadata metadata) throws IOException, InterruptedException {
+        File tempFile = Files.createTempFile("s3-upload-", ".part").toFile();
+        try {
+            try (InputStream is = image.getInputStream()) {
+                Files.copy(is, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            transferManager.upload(new PutObjectRequest(bucketName, s3FileName, tempFile).withMetadata(metadata))
+                    .waitForCompletion();
+        } finally {
+            if (!tempFile.delete()) {
+                log.warn("Failed to delete temp upload file {}", tempFile);
+            }
+        }
+    }
+
+    // 서버에서 만든 이미지(크기별 이미지 등)를 정해진 key 로 업로드
+    public String uploadBytes(String key, byte[] bytes, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(bytes.length);
+        amazonS3.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(bytes), metadata));
+        return getUrl(key);
     }
 
     public void deleteImageFromS3(String imageUrl) {
@@ -75,7 +239,27 @@ public class S3ImageService {
         }
     }
 
-    private String getKeyFromImageUrl(String imageUrl) {
+    // 여러 객체를 DeleteObjects 한 번으로 지움 (최대 1000개), 지우지 못한 key 를 반환
+    public Set<String> deleteObjects(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                .withKeys(keys.toArray(String[]::new))
+                .withQuiet(true);  // 실패한 key 만 응답에 담김
+        try {
+            amazonS3.deleteObjects(request);
+            return Set.of();
+        } catch (MultiObjectDeleteException e) {
+            e.getErrors().forEach(error -> log.warn("Failed to delete S3 object {}: {} {}", error.getKey(), error.getCode(), error.getMessage()));
+            return e.getErrors().stream().map(MultiObjectDeleteException.DeleteError::getKey).collect(Collectors.toSet());
+        } catch (SdkClientException e) {
+            log.warn("Failed to delete {} S3 objects: {}", keys.size(), e.getMessage());
+            return new HashSet<>(keys);
+        }
+    }
+
+    public String getKeyFromImageUrl(String imageUrl) {
         try {
             URL url = new URL(imageUrl);
             String key = URLDecoder.decode(url.getPath(), "UTF-8");
@@ -0,0 +1,38 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.simpleemail.AmazonSimpleEmailService;
+import com.amazonaws.services.simpleemail.model.RawMessage;
+import com.amazonaws.services.simpleemail.model.SendRawEmailRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "ses", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SesMailTransport implements MailTransport {
+
+    private final AmazonSimpleEmailService amazonSimpleEmailService;
+
+    @Override
+    public String send(String receiver, byte[] rawMessage) {
+        SendRawEmailRequest request = new SendRawEmailRequest(new RawMessage(ByteBuffer.wrap(rawMessage)));
+        return amazonSimpleEmailService.sendRawEmail(request).getMessageId();
+    }
+
+    // 주소 거부(MessageRejected) 같은 4xx 는 다시 보내도 실패하므로 바로 포기
+    @Override
+    public boolean isRetryable(Exception e) {
+        if (e instanceof AmazonServiceException serviceException) {
+            return serviceException.getStatusCode() >= 500 || "Throttling".equals(serviceException.getErrorCode());
+        }
+        if (e instanceof AmazonClientException clientException) {
+            return clientException.isRetryable();
+        }
+        return false;
+    }
+}
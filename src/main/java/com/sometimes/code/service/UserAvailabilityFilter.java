@@ -0,0 +1,210 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// 이메일/닉네임 중복 확인용 Bloom filter
+// 필터에 없으면 DB 를 거치지 않고 바로 "사용 가능", 있을 수도 있으면 exists 쿼리로 확인
+// 기동 시 user 테이블을 스트리밍으로 읽어 만들고, 이후에는 signup / changeNickName 에서 추가됨
+// 닉네임 변경 전 값은 지울 수 없으므로 주기적으로 새로 만들어서 교체함
+@Slf4j
+@Component
+public class UserAvailabilityFilter {
+
+    private static final String STREAM_SQL = "SELECT email, nickname FROM user";
+    private static final int FETCH_SIZE = 1000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private record Filters(BloomFilter emails, BloomFilter nickNames) {
+    }
+
+    // 실제 오탐률 = falsePositive / (falsePositive + negative)
+    private record CheckCounters(Counter negative, Counter confirmed, Counter falsePositive) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    private volatile Filters building;  // 다시 만드는 중에 추가된 값도 새 필터에 들어가도록
+    private volatile boolean ready;
+    private final AtomicLong userCount = new AtomicLong();
+
+    private final Timer rebuildTimer;
+    private final CheckCounters emailChecks;
+    private final CheckCounters nickNameChecks;
+
+    public UserAvailabilityFilter(JdbcTemplate jdbcTemplate,
+                                  UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.availability-filter.enabled:true}") boolean enabled,
+                                  @Value("${auth.availability-filter.expected-users:100000}") long expectedUsers,
+                                  @Value("${auth.availability-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = newFilters(expectedUsers);
+
+        this.rebuildTimer = Timer.builder("user.availability.filter.rebuild").register(meterRegistry);
+        this.emailChecks = checkCounters(meterRegistry, "email");
+        this.nickNameChecks = checkCounters(meterRegistry, "nickname");
+        Gauge.builder("user.availability.filter.expected.fpp", this, filter -> filter.current.emails().expectedFalsePositiveRate())
+                .tag("attribute", "email")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.filter.expected.fpp", this, filter -> filter.current.nickNames().expectedFalsePositiveRate())
+                .tag("attribute", "nickname")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.filter.memory", this,
+                        filter -> filter.current.emails().sizeInBytes() + filter.current.nickNames().sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return check(emailChecks, current.emails(), normalize(email), email, userRepository::existsByEmail);
+    }
+
+    public boolean isNickNameTaken(String nickName) {
+        return check(nickNameChecks, current.nickNames(), normalize(nickName), nickName, userRepository::existsByNickName);
+    }
+
+    // DB 에 저장하기 전에 호출해야 함 (커밋 후에 넣으면 그 사이에 "사용 가능" 으로 잘못 답할 수 있음)
+    // 저장이 실패해서 필터에만 남는 값은 오탐이 될 뿐 결과는 exists 쿼리로 확인되므로 문제없음
+    public void addUser(String email, String nickName) {
+        addEmail(email);
+        addNickName(nickName);
+        userCount.incrementAndGet();
+    }
+
+    public void addNickName(String nickName) {
+        String key = normalize(nickName);
+        current.nickNames().add(key);
+        Filters next = building;
+        if (next != null) {
+            next.nickNames().add(key);
+        }
+    }
+
+    private void addEmail(String email) {
+        String key = normalize(email);
+        current.emails().add(key);
+        Filters next = building;
+        if (next != null) {
+            next.emails().add(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("User availability filter is disabled, checks use the database");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "user-availability-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // 바뀐 닉네임이 쌓여 오탐률이 올라가므로 주기적으로 새로 만듦, 사용자 수가 늘었으면 크기도 늘림
+    @Scheduled(cron = "${auth.availability-filter.rebuild-cron:0 30 4 * * *}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        Filters next = newFilters(Math.max(expectedUsers, userCount.get() * 2));
+        building = next;
+        AtomicLong rows = new AtomicLong();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(STREAM_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);  // 전체 테이블을 메모리에 올리지 않고 스트리밍
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                next.emails().add(normalize(rs.getString("email")));
+                next.nickNames().add(normalize(rs.getString("nickname")));
+                rows.incrementAndGet();
+            });
+            current = next;
+            userCount.set(rows.get());
+            ready = true;
+            long elapsedNanos = System.nanoTime() - startedAt;
+            rebuildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("User availability filter built: {} users, {} KB, expected fpp {} in {} ms",
+                    rows.get(), (next.emails().sizeInBytes() + next.nickNames().sizeInBytes()) / 1024,
+                    String.format("%.4f", next.emails().expectedFalsePositiveRate()), elapsedNanos / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to build user availability filter, keeping the previous one", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private boolean check(CheckCounters counters, BloomFilter filter, String key, String value, Predicate<String> existsQuery) {
+        // 필터가 준비되기 전에는 DB 로 확인
+        if (!ready) {
+            return existsQuery.test(value);
+        }
+        if (!filter.mightContain(key)) {
+            counters.negative().increment();
+            return false;
+        }
+        boolean exists = existsQuery.test(value);
+        (exists ? counters.confirmed() : counters.falsePositive()).increment();
+        return exists;
+    }
+
+    private static CheckCounters checkCounters(MeterRegistry meterRegistry, String attribute) {
+        return new CheckCounters(checkCounter(meterRegistry, attribute, "negative"),
+                checkCounter(meterRegistry, attribute, "confirmed"),
+                checkCounter(meterRegistry, attribute, "false_positive"));
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String attribute, String result) {
+        return Counter.builder("user.availability.filter.checks")
+                .tag("attribute", attribute)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Filters newFilters(long expectedInsertions) {
+        return new Filters(new BloomFilter(expectedInsertions, falsePositiveRate),
+                new BloomFilter(expectedInsertions, falsePositiveRate));
+    }
+
+    // MariaDB 의 _ci collation 은 대소문자, 악센트, 뒤쪽 공백을 무시하고 비교하므로 같은 값으로 보이게 맞춤
+    // 필터 쪽이 더 많이 같다고 보는 건 괜찮지만(오탐), 덜 같다고 보면 중복을 놓치게 됨
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).stripTrailing();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sometimes.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sometimes.code.config.TransactionUtil;
+import com.sometimes.code.domain.auth.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+// 로그인 시 email -> 사용자 인증 정보 캐시 (CustomUserDetailsService 에서 사용)
+// 같은 계정으로 로그인을 반복하거나 틀린 비밀번호로 계속 시도해도 DB 를 한 번만 조회함
+// 없는 이메일도 짧게 캐시해서 무작위 이메일로 대입하는 요청이 DB 까지 가지 않도록 함
+// 비밀번호나 권한이 바뀌면 invalidate 해야 함
+@Component
+public class UserDetailsCache {
+
+    // UserDetails 는 인증 후 ProviderManager 가 비밀번호를 지우므로(eraseCredentials) 불변 값만 캐시하고 꺼낼 때마다 새로 만듦
+    public record CachedUser(Long userId, String password, String authority) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getUserId(), user.getPassword(), user.getAuthority().toString());
+        }
+    }
+
+    private final Cache<String, CachedUser> users;
+    private final Cache<String, Boolean> unknownEmails;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${auth.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${auth.user-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                            @Value("${auth.user-cache.negative.maximum-size:100000}") long negativeMaximumSize,
+                            @Value("${auth.user-cache.negative.expire-after-write:1m}") Duration negativeExpireAfterWrite) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(negativeExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "userDetails.unknown");
+    }
+
+    public Optional<CachedUser> get(String email, Function<String, Optional<User>> loader) {
+        String key = key(email);
+        if (unknownEmails.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        CachedUser user = users.get(key, k -> loader.apply(email).map(CachedUser::of).orElse(null));
+        if (user == null) {
+            unknownEmails.put(key, Boolean.TRUE);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    // 가입 직후 바로 로그인할 수 있도록 없는 이메일 캐시에서 지움
+    // 커밋 전에 지우면 그 사이 로그인 시도가 다시 "없음" 으로 캐시할 수 있으므로 커밋 이후에 지움
+    public void forgetUnknown(String email) {
+        String key = key(email);
+        TransactionUtil.afterCommit(() -> unknownEmails.invalidate(key));
+    }
+
+    // 트랜잭션 커밋 이후에 무효화
+    public void invalidate(String email) {
+        String key = key(email);
+        TransactionUtil.afterCommit(() -> {
+            users.invalidate(key);
+            unknownEmails.invalidate(key);
+        });
+    }
+
+    // DB 의 _ci collation 처럼 대소문자를 구분하지 않음
+    private static String key(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,48 +2,50 @@ package com.sometimes.code.service;
 
 import com.sometimes.code.domain.auth.ProfileImage;
 import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.image.ImageVariants;
 import com.sometimes.code.dto.myPage.UserInfoResponse;
-import com.sometimes.code.jwt.TokenProvider;
+import com.sometimes.code.exception.ErrorCode;
 import com.sometimes.code.repository.ProfileImageRepository;
 import com.sometimes.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TokenProvider tokenProvider;
-    private final S3ImageService s3ImageService;
     private final ProfileImageRepository profileImageRepository;
+    private final ArticleDetailCache articleDetailCache;
+    private final ProfileImageCache profileImageCache;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final ImageRefCounter imageRefCounter;
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional(readOnly = true)
-    public UserInfoResponse getUserInfo(String token) {
-        // 토큰에서 사용자 ID 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public UserInfoResponse getUserInfo(Long userId) {
         // 사용자 정보 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        // 해당 유저의 모든 프로필 이미지 URL 가져오기
-        List<ProfileImage> profileImages = profileImageRepository.findByUser_UserId(user.getUserId());
-        List<String> profileImageUrls = profileImages.stream()
-                .map(ProfileImage::getUrl)  // ProfileImage 객체에서 URL을 추출
-                .collect(Collectors.toList());
+        // 해당 유저의 모든 프로필 이미지 URL 가져오기 (캐시)
+        List<ImageVariants> profileImages = profileImageCache.get(user.getUserId());
 
         // 사용자 정보 DTO로 변환
         UserInfoResponse userInfoResponse = new UserInfoResponse();
         userInfoResponse.setUserId(user.getUserId());
         userInfoResponse.setEmail(user.getEmail());
-        userInfoResponse.setProfileImages(profileImageUrls);  // 이미지 URL 리스트 설정
+        userInfoResponse.setProfileImages(ImageVariants.originals(profileImages));  // 이미지 URL 리스트 설정
+        userInfoResponse.setProfileImageVariants(profileImages);
         userInfoResponse.setNickName(user.getNickName());
         userInfoResponse.setName(user.getName());
         userInfoResponse.setBirth(user.getBirth());
@@ -54,26 +56,24 @@ public class UserService {
 
 
     @Transactional
-    public void changeNickName(String token, String newNickName) {
-        // 토큰에서 사용자 이메일 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void changeNickName(Long userId, String newNickName) {
         // 사용자 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        // 닉네임 변경
+        // 닉네임 변경 (중복 확인용 필터에는 저장 전에 추가)
+        userAvailabilityFilter.addNickName(newNickName);
         user.setNickName(newNickName);
 
         // 사용자 정보 저장 (변경 사항 반영)
         userRepository.save(user);
+
+        // 캐시된 게시글 상세의 작성자 닉네임 무효화
+        articleDetailCache.invalidateByAuthor(userId);
     }
 
     @Transactional
-    public void changeName(String token, String newName) {
-        // 토큰에서 사용자 이메일 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void changeName(Long userId, String newName) {
         // 사용자 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -86,10 +86,7 @@ public class UserService {
     }
 
     @Transactional
-    public void changeGender(String token, User.Gender newGender) {
-        // 토큰에서 사용자 이메일 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void changeGender(Long userId, User.Gender newGender) {
         // 사용자 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -102,10 +99,7 @@ public class UserService {
     }
 
     @Transactional
-    public void changeBirth(String token, LocalDate newBirth) {
-        // 토큰에서 사용자 이메일 추출
-        Long userId = tokenProvider.getUserIdFromToken(token);
-
+    public void changeBirth(Long userId, LocalDate newBirth) {
         // 사용자 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -117,37 +111,51 @@ public class UserService {
         userRepository.save(user);
     }
 
-    @Transactional
-    public String uploadProfileImage(String token, MultipartFile image) {
-        Long userId = tokenProvider.getUserIdFromToken(token);
+    // S3 업로드는 트랜잭션 밖에서 먼저 끝내고 DB 변경만 짧은 트랜잭션으로, 기존 이미지는 커밋된 뒤 참조가 없으면 ImageDeleteOutbox 가 지움
+    public String uploadProfileImage(Long userId, MultipartFile image) {
+        // 새로운 프로필 이미지를 `profileImg` 폴더에 업로드 (크기별 이미지 포함)
+        ImageVariants uploaded = imageVariantProcessor.upload(image, "profileImg");
+        if (uploaded == null) {
+            throw new IllegalArgumentException(ErrorCode.EMPTY_FILE_EXCEPTION.getMessage());
+        }
 
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveProfileImage(userId, uploaded));
+        } catch (RuntimeException e) {
+            // DB 에 반영되지 않았으므로 방금 올린 이미지는 삭제 대기열로 (같은 이미지를 다른 곳에서 쓰고 있으면 남음)
+            imageRefCounter.discard(uploaded.urls());
+            throw e;
+        }
+
+        // 캐시된 프로필 이미지, 게시글 상세의 작성자 프로필 이미지 무효화
+        profileImageCache.invalidate(userId);
+        articleDetailCache.invalidateByAuthor(userId);
+
+        return uploaded.getOriginal();
+    }
+
+    private void saveProfileImage(Long userId, ImageVariants uploaded) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // 기존 프로필 이미지 삭제
         List<ProfileImage> existingProfileImages = profileImageRepository.findByUser_UserId(userId);
-        if (!existingProfileImages.isEmpty()) {
-            for (ProfileImage profileImage : existingProfileImages) {
-                // S3에서 기존 이미지 삭제
-                s3ImageService.deleteImageFromS3(profileImage.getUrl());
-
-                // ProfileImage 테이블에서 삭제
-                profileImageRepository.delete(profileImage);
-            }
-        }
-
-        // 새로운 프로필 이미지를 `profileImg` 폴더에 업로드
-        String imageUrl = s3ImageService.uploadImage(image, "profileImg");
+        imageRefCounter.release(existingProfileImages.stream()
+                .flatMap(profileImage -> ImageVariants.of(profileImage.getUrl(), profileImage.getMediumUrl(),
+                        profileImage.getThumbnailUrl()).urls().stream())
+                .toList());
+        profileImageRepository.deleteAllInBatch(existingProfileImages);
 
         // 업로드된 이미지 정보를 ProfileImage 테이블에 저장
         ProfileImage newProfileImage = ProfileImage.builder()
                 .user(user)
-                .url(imageUrl)
+                .url(uploaded.getOriginal())
+                .mediumUrl(uploaded.getMedium())
+                .thumbnailUrl(uploaded.getThumbnail())
                 .build();
 
         profileImageRepository.save(newProfileImage);
-
-        return imageUrl;
+        imageRefCounter.acquire(uploaded.urls());
     }
 
 
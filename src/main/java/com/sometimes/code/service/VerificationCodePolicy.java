@@ -0,0 +1,94 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.MailAuthNum;
+import com.sometimes.code.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// 인증번호 유효기간, 재전송/시도 횟수 제한, 두 저장소가 같은 규칙을 쓰도록 여기에 모아둠
+@Component
+public class VerificationCodePolicy {
+
+    private final Duration ttl;
+    private final Duration resendCooldown;
+    private final int maxSends;
+    private final Duration sendWindow;
+    private final int maxAttempts;
+
+    public VerificationCodePolicy(@Value("${auth.mail-code.ttl:10m}") Duration ttl,
+                                  @Value("${auth.mail-code.resend-cooldown:60s}") Duration resendCooldown,
+                                  @Value("${auth.mail-code.max-sends:5}") int maxSends,
+                                  @Value("${auth.mail-code.send-window:1h}") Duration sendWindow,
+                                  @Value("${auth.mail-code.max-attempts:5}") int maxAttempts) {
+        this.ttl = ttl;
+        this.resendCooldown = resendCooldown;
+        this.maxSends = maxSends;
+        this.sendWindow = sendWindow;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // 대소문자만 바꿔서 제한을 피하지 못하도록
+    public String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void issue(MailAuthNum state, String code, LocalDateTime now) {
+        if (state.getLastSentAt() != null && state.getLastSentAt().plus(resendCooldown).isAfter(now)) {
+            throw new TooManyRequestsException(Duration.between(now, state.getLastSentAt().plus(resendCooldown)).toSeconds());
+        }
+        if (state.getSendWindowEnd() == null || !state.getSendWindowEnd().isAfter(now)) {
+            state.setSendWindowEnd(now.plus(sendWindow));
+            state.setSendCount(0);
+        }
+        if (state.getSendCount() >= maxSends) {
+            throw new TooManyRequestsException(Duration.between(now, state.getSendWindowEnd()).toSeconds());
+        }
+        state.setSendCount(state.getSendCount() + 1);
+        state.setLastSentAt(now);
+        state.setAuthNum(code);
+        state.setExpiration(now.plus(ttl));
+        state.setFailedAttempts(0);
+    }
+
+    // issue 로 바뀐 값을 되돌림, 그 사이 다른 번호가 발급됐으면 그대로 둠
+    // issue 가 통과했다면 이전 발송은 재전송 간격 밖이었으므로 lastSentAt 을 지워도 제한이 더 풀리지 않음 (이전 번호는 되살리지 않음)
+    public void cancel(MailAuthNum state, String code, LocalDateTime now) {
+        if (!code.equals(state.getAuthNum())) {
+            return;
+        }
+        state.setSendCount(Math.max(0, state.getSendCount() - 1));
+        state.setLastSentAt(null);
+        state.setExpiration(now);
+    }
+
+    public VerificationCodeStore.Result verify(MailAuthNum state, String code, LocalDateTime now) {
+        if (state.getAuthNum() == null || !state.getExpiration().isAfter(now)) {
+            return VerificationCodeStore.Result.EXPIRED;
+        }
+        if (state.getFailedAttempts() >= maxAttempts) {
+            return VerificationCodeStore.Result.LOCKED;
+        }
+        if (code != null && MessageDigest.isEqual(state.getAuthNum().getBytes(StandardCharsets.UTF_8),
+                code.getBytes(StandardCharsets.UTF_8))) {
+            state.setExpiration(now);  // 사용 처리
+            state.setVerified(true);
+            return VerificationCodeStore.Result.VERIFIED;
+        }
+        state.setFailedAttempts(state.getFailedAttempts() + 1);
+        return state.getFailedAttempts() >= maxAttempts
+                ? VerificationCodeStore.Result.LOCKED
+                : VerificationCodeStore.Result.MISMATCH;
+    }
+
+    // 인증번호가 만료돼도 재전송 제한 기간까지는 횟수를 기억해야 함
+    public boolean isDisposable(MailAuthNum state, LocalDateTime now) {
+        return !state.getExpiration().isAfter(now)
+                && (state.getSendWindowEnd() == null || !state.getSendWindowEnd().isAfter(now));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sometimes.code.service;
+
+// 메일 인증번호 저장소, auth.mail-code.store 값(memory | jpa)으로 구현체를 고름
+// 재전송 횟수/간격, 틀린 횟수 제한은 VerificationCodePolicy 를 따름
+public interface VerificationCodeStore {
+
+    enum Result {
+        VERIFIED,
+        MISMATCH,
+        EXPIRED,  // 없거나 만료됐거나 이미 사용함
+        LOCKED    // 틀린 횟수 초과, 새로 받아야 함
+    }
+
+    // 새 인증번호 저장 (이전 번호는 무효), 재전송 제한에 걸리면 TooManyRequestsException
+    void issue(String email, String code);
+
+    // 발송하지 못한 인증번호를 되돌림 (재전송 간격/횟수에 세지 않고 번호는 사용할 수 없게 함)
+    void cancel(String email, String code);
+
+    // 맞으면 번호를 사용 처리해서 한 번만 인증되도록 함
+    Result verify(String email, String code);
+
+    // 만료되지 않은 인증번호 수
+    long size();
+}
@@ -0,0 +1,155 @@
+package com.sometimes.code.config;
+
+import com.sometimes.code.controller.AuthController;
+import com.sometimes.code.dto.login.UserDetailsRequest;
+import com.sometimes.code.exception.PasswordHashingBusyException;
+import com.sometimes.code.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 스레드 1개, 대기열 1칸: 하나는 해시 중, 하나는 대기 중이면 세 번째는 기다리지 않고 거절
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CompletableFuture<String> queued;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws Exception {
+        String hash = new BCryptPasswordEncoder(4).encode("password");
+        CompletableFuture<String> running = fillPool();
+
+        assertThatThrownBy(() -> encoder.encode("password")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThatThrownBy(() -> encoder.matches("password", hash)).isInstanceOf(PasswordHashingBusyException.class);
+
+        // 자리가 나면 다시 받음
+        release.countDown();
+        String encoded = running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertThat(encoder.matches("password", encoded)).isTrue();
+        assertThat(encoder.encode("password")).startsWith("$2a$04$");
+    }
+
+    @Test
+    void fullQueueAnswersSignupWith503AndRetryAfter() throws Exception {
+        AuthService authService = mock(AuthService.class);
+        doAnswer(invocation -> encoder.encode("password")).when(authService).signup(any());
+        AuthController controller = new AuthController(authService, null);
+        fillPool();
+
+        ResponseEntity<String> response = controller.signup(new UserDetailsRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void upgradeEncodingOnlyForWeakerHashes() {
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(5, 1, 1, new SimpleMeterRegistry());
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("password");
+
+            assertThat(encoder.upgradeEncoding(weak)).isFalse();
+            assertThat(stronger.upgradeEncoding(weak)).isTrue();
+            assertThat(stronger.upgradeEncoding(stronger.encode("password"))).isFalse();
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    // strength 를 올리면 로그인 성공 시 새 strength 로 다시 해시해서 저장함
+    @Test
+    void loginRehashesWhenStrengthIsRaised() {
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(5, 1, 1, new SimpleMeterRegistry());
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("password");
+            AtomicReference<String> saved = new AtomicReference<>();
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(stronger);
+            provider.setUserDetailsService(username -> User.withUsername(username).password(weak).roles("USER").build());
+            provider.setUserDetailsPasswordService((UserDetails user, String newPassword) -> {
+                saved.set(newPassword);
+                return User.withUserDetails(user).password(newPassword).build();
+            });
+
+            provider.authenticate(new UsernamePasswordAuthenticationToken("user@test.com", "password"));
+
+            assertThat(saved.get()).startsWith("$2a$05$");
+            assertThat(stronger.matches("password", saved.get())).isTrue();
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    // 하나는 스레드를 잡고, 하나는 대기열을 채움
+    private CompletableFuture<String> fillPool() throws InterruptedException {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode(new BlockingPassword()));
+        awaitGauge("password.hash.active", 1);
+        queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        awaitGauge("password.hash.queue", 1);
+        return running;
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertThat(System.nanoTime()).as(name).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // BCrypt 가 비밀번호를 꺼낼 때 release 될 때까지 기다림
+    private class BlockingPassword implements CharSequence {
+
+        @Override
+        public String toString() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "password";
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
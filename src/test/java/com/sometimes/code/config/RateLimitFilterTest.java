@@ -0,0 +1,104 @@
+package com.sometimes.code.config;
+
+import com.sometimes.code.exception.ErrorCode;
+import com.sometimes.code.jwt.JwtPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "POST, /api/auth/login, AUTH",
+            "POST, /api/auth/signup, AUTH",
+            "POST, /api/auth/reissue, AUTH",
+            "POST, /api/auth/resetPassword, AUTH",
+            "POST, /api/auth/mailSend, MAIL",
+            "POST, /api/auth/mailAuth, MAIL",
+            "GET, /api/auth/emailCheck/a@b.com, READ",
+            "GET, /api/auth/nickNameCheck/nick, READ",
+            "POST, /api/auth/logout, READ",
+            "POST, /api/article/write, WRITE",
+            "POST, /api/article/search/keyword, SEARCH"
+    })
+    void routesRequestToGroup(String method, String path, RateLimiter.Group group) throws Exception {
+        filter.doFilter(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiter).tryAcquire(eq(group), anyString());
+    }
+
+    // 로그인한 상태로 불러도 메일 요청은 IP 기준 (계정을 여러 개 만들어 제한을 나눠 쓰지 못하도록)
+    @Test
+    void mailRequestsAreLimitedPerIpEvenWhenLoggedIn() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(1L, List.of(), "jti", Instant.now(), Instant.now().plusSeconds(60)), null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/mailSend");
+        request.setRemoteAddr("203.0.113.7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiter).tryAcquire(RateLimiter.Group.MAIL, "ip:203.0.113.7");
+    }
+
+    @Test
+    void rejectsOverLimitWith429AndRetryAfter() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.mail.per-second", "0.5")
+                .withProperty("rate-limit.mail.burst", "3");
+        RateLimitFilter limited = new RateLimitFilter(
+                new RateLimiter(environment, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10)));
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse allowed = mailSend(limited, "198.51.100.1");
+            assertThat(allowed.getStatus()).isEqualTo(200);
+            assertThat(allowed.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+        }
+
+        MockHttpServletResponse rejected = mailSend(limited, "198.51.100.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");  // 초당 0.5 면 다음 요청까지 2초
+        assertThat(rejected.getContentAsString()).isEqualTo(ErrorCode.TOO_MANY_REQUESTS.getMessage());
+
+        // 다른 IP 는 따로 셈
+        assertThat(mailSend(limited, "198.51.100.2").getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletResponse mailSend(RateLimitFilter filter, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/mailSend");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        // 제한에 걸리면 다음 필터/컨트롤러로 넘어가지 않음
+        assertThat(chain.getRequest() != null).isEqualTo(response.getStatus() != 429);
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sometimes.code.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtFilterTest {
+
+    private final TokenProvider tokenProvider = new TokenProvider(TokenProviderTest.SECRET, 100);
+    private final TokenDenylist tokenDenylist = new TokenDenylist(new SimpleMeterRegistry());
+    private final JwtFilter jwtFilter = new JwtFilter(tokenProvider, tokenDenylist);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesWithPrincipal() throws Exception {
+        Authentication authentication = filter(new TokenProviderTest().accessToken(42L));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(JwtPrincipal.class,
+                principal -> assertThat(principal.userId()).isEqualTo(42L));
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void invalidTokensLeaveRequestAnonymous() throws Exception {
+        String expired = TokenProviderTest.signedToken(TokenProviderTest.SECRET, "42",
+                Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+
+        assertThat(filter(expired)).isNull();
+        assertThat(filter("not-a-jwt")).isNull();
+    }
+
+    Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/article/1");
+        request.addHeader(JwtFilter.AUTHORIZATION_HEADER, JwtFilter.BEARER_PREFIX + token);
+        MockFilterChain chain = new MockFilterChain();
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isNotNull();  // 인증 여부와 관계없이 다음 필터로 넘김
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sometimes.code.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenDenylist denylist = new TokenDenylist(meterRegistry, nanos::get);
+
+    @Test
+    void revokeRejectsOnlyThatToken() {
+        JwtPrincipal loggedOut = principal(1L, Instant.now());
+        JwtPrincipal otherDevice = principal(1L, Instant.now());
+
+        denylist.revoke(loggedOut);
+
+        assertThat(denylist.isRevoked(loggedOut)).isTrue();
+        assertThat(denylist.isRevoked(otherDevice)).isFalse();
+    }
+
+    @Test
+    void revokeAllRejectsTokensIssuedUpToCutoff() throws InterruptedException {
+        Instant now = Instant.now();
+        JwtPrincipal old = principal(1L, now.minusSeconds(60));
+        JwtPrincipal sameMillis = principal(1L, now.truncatedTo(ChronoUnit.MILLIS));
+        JwtPrincipal otherUser = principal(2L, now.minusSeconds(60));
+
+        Thread.sleep(2);
+        denylist.revokeAll(1L);
+        Thread.sleep(2);
+        JwtPrincipal relogin = principal(1L, Instant.now());
+
+        assertThat(denylist.isRevoked(old)).isTrue();
+        assertThat(denylist.isRevoked(sameMillis)).isTrue();
+        assertThat(denylist.isRevoked(otherUser)).isFalse();
+        assertThat(denylist.isRevoked(relogin)).isFalse();
+    }
+
+    // 토큰이 만료되면 목록에서도 빠지므로 목록 크기는 살아 있는 토큰 수를 넘지 않음
+    @Test
+    void revokedTokenIsPrunedWhenItExpires() {
+        JwtPrincipal principal = principal(1L, Instant.now(), Instant.now().plusSeconds(60));
+        denylist.revoke(principal);
+        assertThat(gauge("token")).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertThat(denylist.isRevoked(principal)).isFalse();
+    }
+
+    @Test
+    void userCutoffIsPrunedAfterAccessTokenLifetime() {
+        JwtPrincipal old = principal(1L, Instant.now().minusSeconds(60));
+        denylist.revokeAll(1L);
+        assertThat(gauge("user")).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofMillis(TokenProvider.ACCESS_TOKEN_EXPIRE_TIME).toNanos());
+        assertThat(denylist.isRevoked(old)).isTrue();  // 아직 살아 있을 수 있는 토큰이 있는 동안은 유지
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(denylist.isRevoked(old)).isFalse();
+    }
+
+    private double gauge(String type) {
+        return meterRegistry.get("auth.denylist").tag("type", type).gauge().value();
+    }
+
+    private static JwtPrincipal principal(Long userId, Instant issuedAt) {
+        return principal(userId, issuedAt, issuedAt.plusMillis(TokenProvider.ACCESS_TOKEN_EXPIRE_TIME));
+    }
+
+    private static JwtPrincipal principal(Long userId, Instant issuedAt, Instant expiresAt) {
+        List<GrantedAuthority> authorities = List.of();
+        return new JwtPrincipal(userId, authorities, UUID.randomUUID().toString(), issuedAt, expiresAt);
+    }
+}
@@ -0,0 +1,144 @@
+package com.sometimes.code.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenProviderTest {
+
+    static final String SECRET = "c29tZXRpbWVzLWJlbmNobWFyay1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzNTEyLXNpZ25pbmctcHVycG9zZXMtMTIzNDU2Nzg5MA==";
+    private static final String OTHER_SECRET = Base64.getEncoder().encodeToString(
+            "another-secret-key-that-is-also-long-enough-for-hs512-signing-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET, 100);
+
+    @Test
+    void validTokenGivesPrincipal() {
+        Instant before = Instant.now();
+        String token = accessToken(42L);
+
+        JwtPrincipal principal = tokenProvider.verify(token);
+
+        assertThat(principal.userId()).isEqualTo(42L);
+        assertThat(principal.authorities()).containsExactly(new SimpleGrantedAuthority("ROLE_USER"));
+        assertThat(principal.tokenId()).isNotBlank();
+        assertThat(principal.issuedAt()).isBetween(before.minusMillis(1), Instant.now());
+        assertThat(principal.expiresAt()).isAfter(Instant.now().plusSeconds(60 * 29));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = signedToken(SECRET, "42", Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+
+        assertThat(tokenProvider.verify(token)).isNull();
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    // 검증해서 캐시에 들어간 토큰도 exp 가 지나면 받지 않음
+    @Test
+    void cachedTokenIsRejectedAfterItsExpiry() throws InterruptedException {
+        Instant expiresAt = Instant.ofEpochSecond(Instant.now().getEpochSecond() + 2);  // exp 는 초 단위
+        String token = signedToken(SECRET, "42", Instant.now(), expiresAt);
+        assertThat(tokenProvider.verify(token)).isNotNull();
+
+        Thread.sleep(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()) + 50);
+
+        assertThat(tokenProvider.verify(token)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithOtherKeyIsRejected() {
+        String token = signedToken(OTHER_SECRET, "42", Instant.now(), Instant.now().plusSeconds(600));
+
+        assertThat(tokenProvider.verify(token)).isNull();
+    }
+
+    @Test
+    void tamperedPayloadIsRejectedEvenIfOriginalIsCached() {
+        String token = accessToken(42L);
+        assertThat(tokenProvider.verify(token)).isNotNull();
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forged = payload.replace("\"sub\":\"42\"", "\"sub\":\"1\"").replace("ROLE_USER", "ROLE_ADMIN");
+        assertThat(forged).isNotEqualTo(payload);
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(forged.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThat(tokenProvider.verify(tampered)).isNull();
+        assertThatThrownBy(() -> tokenProvider.getPrincipalIgnoringExpiry(tampered)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void cacheHitReturnsPrincipalOfThatToken() {
+        String first = accessToken(1L);
+        String second = accessToken(2L);
+        JwtPrincipal firstPrincipal = tokenProvider.verify(first);
+        JwtPrincipal secondPrincipal = tokenProvider.verify(second);
+
+        JwtPrincipal cachedFirst = tokenProvider.verify(first);
+        JwtPrincipal cachedSecond = tokenProvider.verify(second);
+
+        assertThat(cachedFirst).isSameAs(firstPrincipal);
+        assertThat(cachedFirst.userId()).isEqualTo(1L);
+        assertThat(cachedSecond).isSameAs(secondPrincipal);
+        assertThat(cachedSecond.userId()).isEqualTo(2L);
+        assertThat(cachedFirst.tokenId()).isNotEqualTo(cachedSecond.tokenId());
+    }
+
+    // jti/iat 가 없는 이전 형식 토큰은 로그아웃시킬 수 없으므로 받지 않음
+    @Test
+    void tokenWithoutIdIsRejected() {
+        String token = Jwts.builder()
+                .setSubject("42")
+                .claim("auth", "ROLE_USER")
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(key(SECRET), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThat(tokenProvider.verify(token)).isNull();
+    }
+
+    @Test
+    void principalIgnoringExpiryAcceptsExpiredButSignedToken() {
+        String token = signedToken(SECRET, "42", Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+
+        assertThat(tokenProvider.getPrincipalIgnoringExpiry(token).userId()).isEqualTo(42L);
+    }
+
+    String accessToken(Long userId) {
+        return tokenProvider.generateTokenDto(new UsernamePasswordAuthenticationToken(
+                String.valueOf(userId), "", List.of(new SimpleGrantedAuthority("ROLE_USER")))).getAccessToken();
+    }
+
+    static String signedToken(String secret, String subject, Instant issuedAt, Instant expiresAt) {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(Date.from(issuedAt))
+                .claim("iat_ms", issuedAt.toEpochMilli())
+                .claim("auth", "ROLE_USER")
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key(secret), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static Key key(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
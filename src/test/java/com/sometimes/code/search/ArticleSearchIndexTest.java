@@ -0,0 +1,123 @@
+package com.sometimes.code.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleSearchIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    // 커밋된 article 행 (articleId -> 제목, 본문)
+    private final Map<Long, String[]> rows = new HashMap<>();
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new ArticleSearchIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        doAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            String[] row = rows.get((Long) invocation.getArgument(2));
+            if (row == null) {
+                return List.of();
+            }
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("title")).thenReturn(row[0]);
+            when(rs.getString("content")).thenReturn(row[1]);
+            return List.of(mapper.mapRow(rs, 0));
+        }).when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object.class));
+    }
+
+    @Test
+    void phraseMatchesOnlyAdjacentTokens() {
+        write(1L, "서울 맛집 추천", "강남역 근처 파스타");
+        write(2L, "추천 맛집", "서울 근교 파스타 강남");
+        write(3L, "맛집 서울", "");
+
+        assertThat(index.search("\"서울 맛집\"", 0, 10).articleIds()).containsExactly(1L);
+        assertThat(index.search("서울 맛집", 0, 10).articleIds()).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("\"강남역 근처\"", 0, 10).articleIds()).containsExactly(1L);
+        assertThat(index.search("\"맛집 서울\"", 0, 10).articleIds()).containsExactly(3L);
+    }
+
+    @Test
+    void phraseSeesUpdatedPositions() {
+        write(1L, "hello world", "");
+        rows.put(1L, new String[]{"world hello", ""});
+        index.reindex(1L, "hello world", "");
+
+        assertThat(index.search("\"hello world\"", 0, 10).total()).isZero();
+        assertThat(index.search("\"world hello\"", 0, 10).articleIds()).containsExactly(1L);
+    }
+
+    @Test
+    void buildDoesNotRestoreArticleDeletedBeforeItsBatchIsAdded() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("article_id")).thenReturn(1L);
+        when(row.getString("title")).thenReturn("deleted article");
+        when(row.getString("content")).thenReturn("");
+
+        // 행을 읽은 뒤 배치가 색인에 들어가기 전에 글이 삭제됨
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            rows.remove(1L);
+            index.remove(1L, "deleted article", "");
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("deleted", 0, 10).total()).isZero();
+    }
+
+    // A -> B (T1), B -> C (T2) 순서로 커밋됐지만 T2 의 커밋 후 콜백이 먼저 실행됨
+    @Test
+    void callbacksRunningOutOfCommitOrderLeaveCommittedContent() {
+        write(1L, "alpha", "");
+        rows.put(1L, new String[]{"gamma", ""});
+
+        index.reindex(1L, "beta", "");
+        index.reindex(1L, "alpha", "");
+
+        assertThat(index.search("alpha", 0, 10).total()).isZero();
+        assertThat(index.search("beta", 0, 10).total()).isZero();
+        assertThat(index.search("gamma", 0, 10).articleIds()).containsExactly(1L);
+    }
+
+    // 수정 콜백이 삭제 콜백보다 늦게 실행돼도 삭제된 글을 되살리지 않음
+    @Test
+    void updateCallbackAfterDeleteDoesNotRestoreArticle() {
+        write(1L, "alpha", "");
+        rows.remove(1L);
+
+        index.remove(1L, "beta", "");
+        index.reindex(1L, "alpha", "");
+
+        assertThat(index.search("alpha", 0, 10).total()).isZero();
+        assertThat(index.search("beta", 0, 10).total()).isZero();
+    }
+
+    private void write(Long articleId, String title, String content) {
+        rows.put(articleId, new String[]{title, content});
+        index.index(articleId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sometimes.code.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    // 수정/삭제는 pending 에 쌓였다가 한 번에 다시 인코딩되며, 그 전후로 읽는 결과가 같아야 함
+    @Test
+    void updatesAndRemovalsMatchReferenceBeforeAndAfterCompaction() {
+        PostingList postingList = new PostingList();
+        TreeMap<Integer, int[]> expected = new TreeMap<>();
+        Random random = new Random(42);
+        for (int docId = 1; docId <= 500; docId++) {
+            int[] positions = positions(random);
+            postingList.put(docId, positions);
+            expected.put(docId, positions);
+        }
+
+        boolean sawPending = false;
+        for (int i = 0; i < 2000; i++) {
+            int docId = 1 + random.nextInt(520);
+            if (random.nextBoolean()) {
+                assertThat(postingList.remove(docId)).isEqualTo(expected.remove(docId) != null);
+            } else {
+                int[] positions = positions(random);
+                postingList.put(docId, positions);
+                expected.put(docId, positions);
+            }
+            sawPending |= postingList.pendingCount() > 0;
+            if (i % 97 == 0) {
+                assertMatches(postingList, expected);
+            }
+        }
+        assertThat(sawPending).isTrue();
+        assertMatches(postingList, expected);
+
+        postingList.trimToSize();
+        assertThat(postingList.pendingCount()).isZero();
+        assertMatches(postingList, expected);
+    }
+
+    // 수정 한 번마다 전체를 다시 인코딩하지 않음
+    @Test
+    void singleUpdateDoesNotReencode() {
+        PostingList postingList = new PostingList();
+        for (int docId = 1; docId <= 1000; docId++) {
+            postingList.put(docId, new int[]{docId});
+        }
+        postingList.trimToSize();
+        int size = postingList.sizeInBytes();
+
+        postingList.put(10, new int[]{1, 2});
+        assertThat(postingList.remove(20)).isTrue();
+        assertThat(postingList.remove(20)).isFalse();
+
+        assertThat(postingList.pendingCount()).isEqualTo(2);
+        assertThat(postingList.sizeInBytes()).isEqualTo(size);
+        assertThat(postingList.docCount()).isEqualTo(999);
+        PostingList.DocIds docIds = postingList.decodeDocIds();
+        assertThat(docIds.docIds()).hasSize(999).doesNotContain(20);
+        assertThat(postingList.positionsAt(docIds.entryOffsets()[9])).containsExactly(1, 2);
+    }
+
+    private static void assertMatches(PostingList postingList, TreeMap<Integer, int[]> expected) {
+        PostingList.DocIds docIds = postingList.decodeDocIds();
+        assertThat(postingList.docCount()).isEqualTo(expected.size());
+        assertThat(docIds.docIds()).containsExactly(expected.keySet().stream().mapToInt(Integer::intValue).toArray());
+        for (int i = 0; i < docIds.docIds().length; i++) {
+            assertThat(postingList.positionsAt(docIds.entryOffsets()[i])).containsExactly(expected.get(docIds.docIds()[i]));
+        }
+    }
+
+    private static int[] positions(Random random) {
+        int[] positions = new int[1 + random.nextInt(4)];
+        int position = 0;
+        for (int i = 0; i < positions.length; i++) {
+            position += 1 + random.nextInt(300);
+            positions[i] = position;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,67 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleCountRegistryTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private ArticleCountRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(articleRepository.countArticlesGroupByCategory()).thenReturn(rows(5));
+        registry = new ArticleCountRegistry(articleRepository);
+        registry.init();
+    }
+
+    @Test
+    void resyncOverwritesDriftedCounters() {
+        registry.increment(Article.Category.free);  // DB 에는 반영되지 않은 증가분 (어긋난 상태)
+
+        registry.resync();
+
+        assertThat(registry.count(Article.Category.free)).isEqualTo(5);
+        assertThat(registry.countAll()).isEqualTo(5);
+    }
+
+    @Test
+    void resyncKeepsIncrementCommittedDuringQuery() {
+        // COUNT 조회 중에 다른 트랜잭션이 커밋되어 카운터가 올라감, 조회 결과에는 빠져 있음
+        when(articleRepository.countArticlesGroupByCategory()).thenAnswer(invocation -> {
+            registry.increment(Article.Category.free);
+            return rows(5);
+        });
+
+        registry.resync();
+
+        assertThat(registry.count(Article.Category.free)).isEqualTo(6);
+        assertThat(registry.countAll()).isEqualTo(6);
+    }
+
+    @Test
+    void resyncDoesNotDoubleIncrementIncludedInQuery() {
+        // 조회 결과에 이미 들어간 글의 커밋 후 증가가 조회 뒤에 반영됨
+        when(articleRepository.countArticlesGroupByCategory()).thenAnswer(invocation -> {
+            registry.increment(Article.Category.free);
+            return rows(6);
+        });
+
+        registry.resync();
+
+        assertThat(registry.count(Article.Category.free)).isEqualTo(6);
+        assertThat(registry.countAll()).isEqualTo(6);
+    }
+
+    private static List<Object[]> rows(long free) {
+        return List.<Object[]>of(new Object[]{Article.Category.free, free});
+    }
+}
@@ -0,0 +1,82 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.repository.ArticleImageRepository;
+import com.sometimes.code.repository.ArticleRepository;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 비정규화된 카운터가 원본 테이블과 어긋나도 한 번 돌리면 likes/comment/article_img 기준으로 맞춰짐
+@SpringBootTest
+@ActiveProfiles("test")
+class ArticleCounterReconcilerTest {
+
+    @Autowired
+    private ArticleCounterReconciler reconciler;
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private ArticleImageRepository articleImageRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reconcileFixesCorruptedCounters() {
+        Long articleId = writeArticle();
+        for (int i = 0; i < 2; i++) {
+            Long readerId = TestUsers.create(userRepository).getUserId();
+            articleService.likeArticle(articleId, readerId);
+            CommentRequestDto comment = new CommentRequestDto();
+            comment.setContent("comment " + i);
+            articleService.createComment(articleId, readerId, comment);
+        }
+        // 카운터를 거치지 않고 저장된 이미지 행 (컬럼이 생기기 전의 글과 같은 상태)
+        transactionTemplate.executeWithoutResult(status -> articleImageRepository.insertAll(articleId, List.of(
+                ImageVariants.originalOnly("https://test.s3.ap-northeast-2.amazonaws.com/articleImg/a.jpg"),
+                ImageVariants.originalOnly("https://test.s3.ap-northeast-2.amazonaws.com/articleImg/b.jpg"),
+                ImageVariants.originalOnly("https://test.s3.ap-northeast-2.amazonaws.com/articleImg/c.jpg"))));
+        jdbcTemplate.update("UPDATE article SET like_count = 7, comment_count = -1 WHERE article_id = ?", articleId);
+        Long untouchedId = writeArticle();
+        Article corrupted = articleRepository.findById(articleId).orElseThrow();
+        assertThat(List.of(corrupted.getLikeCount(), corrupted.getCommentCount(), corrupted.getImageCount()))
+                .containsExactly(7, -1, 0);
+
+        reconciler.reconcile();
+
+        Article article = articleRepository.findById(articleId).orElseThrow();
+        assertThat(article.getLikeCount()).isEqualTo(2);
+        assertThat(article.getCommentCount()).isEqualTo(2);
+        assertThat(article.getImageCount()).isEqualTo(3);
+        Article untouched = articleRepository.findById(untouchedId).orElseThrow();
+        assertThat(untouched.getLikeCount()).isZero();
+        assertThat(untouched.getCommentCount()).isZero();
+        assertThat(untouched.getImageCount()).isZero();
+    }
+
+    private Long writeArticle() {
+        ArticleWriteRequest request = new ArticleWriteRequest();
+        request.setTitle("counters");
+        request.setContent("content");
+        request.setCategory(Article.Category.free);
+        return articleService.writeArticle(request, TestUsers.create(userRepository).getUserId(), List.of()).getArticleId();
+    }
+}
@@ -0,0 +1,131 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.controller.ArticleController;
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.article.ArticleCursorInfo;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.article.ArticlesInfo;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커서 목록: 다른 테스트가 쓰지 않는 question 카테고리만 쓰고, 테스트마다 쓴 글은 지움
+@SpringBootTest
+@ActiveProfiles("test")
+class ArticleCursorPagingTest {
+
+    private static final String CATEGORY = Article.Category.question.name();
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private ArticleController articleController;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> written = new ArrayList<>();
+
+    @AfterEach
+    void deleteWritten() {
+        written.forEach(articleService::deleteArticle);
+        written.clear();
+    }
+
+    @Test
+    void emptyCategoryGivesEmptyLastPage() {
+        ArticleCursorInfo page = articleService.getArticlesByCursor(CATEGORY, null, 5);
+
+        assertThat(page.getArticles()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // 남은 글이 정확히 한 페이지면 pageSize + 1 번째 행이 없으므로 다음 커서도 없음
+    @Test
+    void exactPageBoundaryHasNoNextCursor() {
+        List<Long> ids = writeArticles(6);
+
+        ArticleCursorInfo first = articleService.getArticlesByCursor(CATEGORY, null, 3);
+        assertThat(articleIds(first)).containsExactly(ids.get(5), ids.get(4), ids.get(3));
+        assertThat(first.getNextCursor()).isNotNull();
+
+        ArticleCursorInfo second = articleService.getArticlesByCursor(CATEGORY, first.getNextCursor(), 3);
+        assertThat(articleIds(second)).containsExactly(ids.get(2), ids.get(1), ids.get(0));
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void onePastPageBoundaryHasNextCursorToLastArticle() {
+        List<Long> ids = writeArticles(4);
+
+        ArticleCursorInfo first = articleService.getArticlesByCursor(CATEGORY, null, 3);
+        ArticleCursorInfo second = articleService.getArticlesByCursor(CATEGORY, first.getNextCursor(), 3);
+
+        assertThat(articleIds(first)).hasSize(3);
+        assertThat(articleIds(second)).containsExactly(ids.get(0));
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    // 같은 날 쓴 글은 작성일이 같지만 커서는 articleId 기준이라 페이지를 넘겨도 빠지거나 겹치는 글이 없음
+    @Test
+    void articlesWrittenSameDayArePagedWithoutGapsOrDuplicates() {
+        List<Long> ids = writeArticles(7);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ArticleCursorInfo page = articleService.getArticlesByCursor(CATEGORY, cursor, 2);
+            assertThat(page.getArticles()).extracting(ArticlesInfo.ArticleInfo::getCreatedAt).containsOnly(
+                    page.getArticles().get(0).getCreatedAt());
+            seen.addAll(articleIds(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        Collections.reverse(ids);
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void malformedOrForeignCursorIsBadRequest() {
+        String notBase64 = "%%%";
+        String notANumber = Base64.getUrlEncoder().encodeToString("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        String standardBase64 = Base64.getEncoder().encodeToString(new byte[]{(byte) 0xfb, (byte) 0xff});
+
+        for (String cursor : List.of(notBase64, notANumber, standardBase64)) {
+            assertThat(articleController.getArticlesByCursor(CATEGORY, cursor, 3).getStatusCode())
+                    .as(cursor).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+        assertThat(articleController.getArticlesByCursor("nope", null, 3).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(articleController.getArticlesByCursor(CATEGORY, null, 3).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private List<Long> writeArticles(int count) {
+        Long userId = TestUsers.create(userRepository).getUserId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ArticleWriteRequest request = new ArticleWriteRequest();
+            request.setTitle("cursor " + i);
+            request.setContent("content " + i);
+            request.setCategory(Article.Category.question);
+            ids.add(articleService.writeArticle(request, userId, List.of()).getArticleId());
+        }
+        written.addAll(ids);
+        return ids;
+    }
+
+    private static List<Long> articleIds(ArticleCursorInfo page) {
+        return page.getArticles().stream().map(ArticlesInfo.ArticleInfo::getArticleId).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.sometimes.code.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sometimes.code.domain.article.Article;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleDetailCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ArticleDetailCache cache =
+            new ArticleDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), (Ticker) nanos::get);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateByAuthorRemovesOnlyThatAuthorsArticles() {
+        load(1L, 10L);
+        load(2L, 10L);
+        load(3L, 20L);
+
+        cache.invalidateByAuthor(10L);
+
+        assertThat(isCached(1L)).isFalse();
+        assertThat(isCached(2L)).isFalse();
+        assertThat(isCached(3L)).isTrue();
+        assertThat(cache.indexedArticles(10L)).isZero();
+        assertThat(cache.indexedArticles(20L)).isEqualTo(1);
+    }
+
+    // 커밋 전에 다른 요청이 읽어도 이전 값이 그대로 보이고, 커밋 후에야 빠짐
+    @Test
+    void invalidateByAuthorWaitsForCommit() {
+        load(1L, 10L);
+
+        inTransaction(TransactionSynchronization::afterCommit, () -> {
+            cache.invalidateByAuthor(10L);
+            assertThat(isCached(1L)).isTrue();
+        });
+
+        assertThat(isCached(1L)).isFalse();
+        assertThat(cache.indexedArticles(10L)).isZero();
+    }
+
+    @Test
+    void invalidateIsSkippedOnRollback() {
+        load(1L, 10L);
+        load(2L, 10L);
+
+        inTransaction(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK), () -> {
+            cache.invalidate(1L);
+            cache.invalidateByAuthor(10L);
+        });
+
+        assertThat(isCached(1L)).isTrue();
+        assertThat(isCached(2L)).isTrue();
+        assertThat(cache.indexedArticles(10L)).isEqualTo(2);
+    }
+
+    // 개별 무효화나 만료로 빠진 글은 작성자 색인에서도 빠짐
+    @Test
+    void indexFollowsInvalidateAndExpiry() {
+        load(1L, 10L);
+        load(2L, 10L);
+
+        cache.invalidate(1L);
+        assertThat(cache.indexedArticles(10L)).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.cleanUp();
+        assertThat(cache.indexedArticles(10L)).isZero();
+
+        // 다시 로드되면 다시 색인되어 작성자 무효화 대상이 됨
+        load(2L, 10L);
+        cache.invalidateByAuthor(10L);
+        assertThat(isCached(2L)).isFalse();
+    }
+
+    private void inTransaction(Consumer<TransactionSynchronization> completion, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        body.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(completion);
+    }
+
+    private void load(Long articleId, Long userId) {
+        cache.get(articleId, id -> new ArticleDetailCache.Entry(id, userId, Article.Category.info, "title", "nick",
+                LocalDate.now(), "content", List.of(), 0, 0, 0, List.of()));
+    }
+
+    private boolean isCached(Long articleId) {
+        return cache.get(articleId, id -> null) != null;
+    }
+}
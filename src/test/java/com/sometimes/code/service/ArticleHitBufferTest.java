@@ -0,0 +1,161 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.support.StatementCounter;
+import com.sometimes.code.support.StatementCountingDataSource;
+import com.sometimes.code.support.TestUsers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 조회수 write-behind: 반영, 실패 시 되돌리기, 캐시된 조회수가 DB 와 맞는지
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCountingDataSource.class)
+class ArticleHitBufferTest {
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void flushAddsPendingHitsToDatabase() {
+        Long articleId = writeArticle();
+        ArticleHitBuffer buffer = new ArticleHitBuffer(jdbcTemplate, newCache(), transactionTemplate);
+        for (int i = 0; i < 3; i++) {
+            buffer.increment(articleId);
+        }
+        assertThat(buffer.pending(articleId)).isEqualTo(3);
+
+        buffer.flush();
+
+        assertThat(buffer.pending(articleId)).isZero();
+        assertThat(persistedHits(articleId)).isEqualTo(3);
+    }
+
+    // 커밋 직후 캐시 미스로 DB 에서 새로 로드된 항목(이미 증가분 포함)에 증가분을 또 더하지 않음
+    @Test
+    void entryLoadedRightAfterCommitIsNotCountedTwice() {
+        Long articleId = writeArticle();
+        ArticleDetailCache cache = new ArticleDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)) {
+            @Override
+            public void setPersistedHits(Long id, int hits) {
+                invalidate(id);
+                get(id, this::loadFromDatabase);
+                super.setPersistedHits(id, hits);
+            }
+
+            private Entry loadFromDatabase(Long id) {
+                return entry(id, persistedHits(id));
+            }
+        };
+        cache.get(articleId, id -> entry(id, 0));
+        ArticleHitBuffer buffer = new ArticleHitBuffer(jdbcTemplate, cache, transactionTemplate);
+        buffer.increment(articleId);
+        buffer.increment(articleId);
+
+        buffer.flush();
+
+        assertThat(cachedHits(cache, articleId)).isEqualTo(2).isEqualTo(persistedHits(articleId));
+    }
+
+    @Test
+    void cachedEntryLoadedBeforeFlushIsBroughtUpToDate() {
+        Long articleId = writeArticle();
+        ArticleDetailCache cache = newCache();
+        cache.get(articleId, id -> entry(id, 0));
+        ArticleHitBuffer buffer = new ArticleHitBuffer(jdbcTemplate, cache, transactionTemplate);
+        buffer.increment(articleId);
+
+        buffer.flush();
+        buffer.increment(articleId);
+        buffer.flush();
+
+        assertThat(cachedHits(cache, articleId)).isEqualTo(2).isEqualTo(persistedHits(articleId));
+    }
+
+    @Test
+    void failedFlushKeepsHitsForNextFlush() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        ArticleDetailCache cache = newCache();
+        cache.get(1L, id -> entry(id, 10));
+        ArticleHitBuffer buffer = new ArticleHitBuffer(failing, cache,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        buffer.increment(1L);
+        buffer.increment(1L);
+
+        buffer.flush();
+        buffer.increment(1L);
+
+        // 롤백된 증가분은 버퍼로 돌아오고 그 사이 들어온 증가분과 합쳐짐, 캐시는 그대로
+        assertThat(buffer.pending(1L)).isEqualTo(3);
+        assertThat(cachedHits(cache, 1L)).isEqualTo(10);
+    }
+
+    // 캐시 히트면 로그인하지 않은 상세 조회는 커넥션을 꺼내지 않음
+    @Test
+    void cachedDetailDoesNotCheckOutConnection() {
+        Long articleId = writeArticle();
+        articleService.getArticleDetail(articleId, null);
+
+        long connections = StatementCounter.connections();
+        long statements = StatementCounter.current();
+        articleService.getArticleDetail(articleId, null);
+
+        assertThat(StatementCounter.connections() - connections).isZero();
+        assertThat(StatementCounter.current() - statements).isZero();
+    }
+
+    private int persistedHits(Long articleId) {
+        Integer hits = jdbcTemplate.queryForObject("SELECT hits FROM article WHERE article_id = ?", Integer.class, articleId);
+        return hits == null ? 0 : hits;
+    }
+
+    private static int cachedHits(ArticleDetailCache cache, Long articleId) {
+        return cache.get(articleId, id -> {
+            throw new AssertionError("not cached");
+        }).hits();
+    }
+
+    private static ArticleDetailCache newCache() {
+        return new ArticleDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    private static ArticleDetailCache.Entry entry(Long articleId, int hits) {
+        return new ArticleDetailCache.Entry(articleId, 1L, Article.Category.info, "title", "nick", LocalDate.now(),
+                "content", List.of(), 0, hits, 0, List.of());
+    }
+
+    private Long writeArticle() {
+        ArticleWriteRequest request = new ArticleWriteRequest();
+        request.setTitle("hits");
+        request.setContent("content");
+        request.setCategory(Article.Category.info);
+        return articleService.writeArticle(request, TestUsers.create(userRepository).getUserId(), List.of()).getArticleId();
+    }
+}
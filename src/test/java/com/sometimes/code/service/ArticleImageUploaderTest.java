@@ -0,0 +1,274 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.exception.ErrorCode;
+import com.sometimes.code.exception.ImageUploadBusyException;
+import com.sometimes.code.exception.S3Exception;
+import com.sometimes.code.support.DiskMultipartFile;
+import com.sometimes.code.support.LocalS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// 여러 장 업로드가 실패/시간 초과/대기열 초과로 끝났을 때 이미 올라간 이미지와 뒤늦게 올라가는 이미지를 모두 지우는지 (LocalS3 사용)
+class ArticleImageUploaderTest {
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+    private StubProcessor processor;
+    private final RecordingRefCounter refCounter = new RecordingRefCounter();
+    private final List<DiskMultipartFile> files = new ArrayList<>();
+    private ArticleImageUploader uploader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        s3ImageService = new S3ImageService(amazonS3, "test", DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 2);
+        processor = new StubProcessor();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        processor.gates.values().forEach(CountDownLatch::countDown);
+        if (uploader != null) {
+            uploader.shutdown();
+        }
+        processor.shutdown();
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+        for (DiskMultipartFile file : files) {
+            file.delete();
+        }
+    }
+
+    @Test
+    void failureDiscardsFinishedAndLateUploads() throws IOException {
+        uploader = uploader(3, 10, Duration.ofSeconds(10));
+        MultipartFile fast = file("fast");
+        MultipartFile failing = file("failing");
+        MultipartFile slow = file("slow");
+        processor.failing.add("failing");
+        CountDownLatch failingGate = processor.gate("failing");
+        CountDownLatch slowGate = processor.gate("slow");
+        // fast 가 올라가고 slow 가 시작된 뒤에 실패시킴
+        releaseWhen(failingGate, () -> processor.completed.contains("fast") && processor.calls.contains("slow"));
+
+        assertThatThrownBy(() -> uploader.uploadAll(List.of(fast, failing, slow), "articleImg"))
+                .isInstanceOfSatisfying(S3Exception.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD));
+        await().until(() -> refCounter.discarded.contains(url(fast)));
+        assertThat(refCounter.discarded).doesNotContain(url(slow));
+
+        // 요청은 이미 실패했지만 진행 중이던 업로드가 끝나면 그 이미지도 지움
+        slowGate.countDown();
+        await().until(() -> refCounter.discarded.contains(url(slow)));
+        assertThat(localS3.objectSize("test", key(slow))).isEqualTo(slow.getSize());
+        assertThat(refCounter.discarded).containsExactlyInAnyOrder(url(fast), url(slow));
+    }
+
+    // 실패한 묶음에서 아직 시작하지 않은 업로드는 올리지 않음
+    @Test
+    void failureSkipsQueuedUploads() throws IOException {
+        uploader = uploader(1, 10, Duration.ofSeconds(10));
+        processor.failing.add("failing");
+        CountDownLatch failingGate = processor.gate("failing");
+        MultipartFile failing = file("failing");
+        MultipartFile queued = file("queued");
+
+        // 요청 스레드가 기다리기 시작할 시간을 두고 실패시킴
+        releaseWhen(failingGate, () -> processor.calls.size() == 1 && sleep(100));
+
+        assertThatThrownBy(() -> uploader.uploadAll(List.of(failing, queued), "articleImg"))
+                .isInstanceOf(S3Exception.class);
+        await().until(() -> uploaderIdle());
+        assertThat(processor.calls).containsExactly("failing");
+        assertThat(localS3.objectSize("test", key(queued))).isNull();
+        assertThat(refCounter.discarded).isEmpty();
+    }
+
+    @Test
+    void deadlineFailsRequestAndDiscardsUploadFinishingLater() throws IOException {
+        uploader = uploader(2, 10, Duration.ofMillis(200));
+        MultipartFile fast = file("fast");
+        MultipartFile slow = file("slow");
+        CountDownLatch slowGate = processor.gate("slow");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> uploader.uploadAll(List.of(fast, slow), "articleImg"))
+                .isInstanceOfSatisfying(S3Exception.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.IMAGE_UPLOAD_TIMEOUT));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        await().until(() -> refCounter.discarded.contains(url(fast)));
+
+        slowGate.countDown();
+        await().until(() -> refCounter.discarded.contains(url(slow)));
+        assertThat(localS3.objectSize("test", key(slow))).isEqualTo(slow.getSize());
+    }
+
+    // 다른 요청이 스레드와 대기열을 차지하고 있으면 기다리지 않고 503, 대기열에 넣었던 업로드는 올리지 않음
+    @Test
+    void fullQueueIsServiceUnavailable() throws Exception {
+        uploader = uploader(1, 1, Duration.ofSeconds(10));
+        MultipartFile other = file("other");
+        MultipartFile queued = file("queued");
+        MultipartFile rejected = file("rejected");
+        CountDownLatch otherGate = processor.gate("other");
+        CompletableFuture<List<ImageVariants>> otherRequest =
+                CompletableFuture.supplyAsync(() -> uploader.uploadAll(List.of(other), "articleImg"));
+        await().until(() -> processor.calls.contains("other"));
+
+        assertThatThrownBy(() -> uploader.uploadAll(List.of(queued, rejected), "articleImg"))
+                .isInstanceOf(ImageUploadBusyException.class)
+                .hasMessage(ErrorCode.IMAGE_UPLOAD_BUSY.getMessage());
+        assertThat(ImageUploadBusyException.class.getAnnotation(ResponseStatus.class).value())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        otherGate.countDown();
+        assertThat(otherRequest.get(10, TimeUnit.SECONDS)).extracting(ImageVariants::getOriginal).containsExactly(url(other));
+        await().until(() -> uploaderIdle() && uploaderQueueEmpty());
+        assertThat(processor.calls).containsExactly("other");
+        assertThat(localS3.objectSize("test", key(queued))).isNull();
+        assertThat(refCounter.discarded).isEmpty();
+    }
+
+    @Test
+    void successReturnsImagesInRequestOrder() throws IOException {
+        uploader = uploader(3, 10, Duration.ofSeconds(10));
+        MultipartFile first = file("first");
+        MultipartFile second = file("second");
+        releaseWhen(processor.gate("first"), () -> processor.completed.contains("second"));
+
+        List<ImageVariants> images = uploader.uploadAll(List.of(first, second), "articleImg");
+
+        assertThat(images).extracting(ImageVariants::getOriginal).containsExactly(url(first), url(second));
+        assertThat(refCounter.discarded).isEmpty();
+    }
+
+    private ArticleImageUploader uploader(int threads, int queueCapacity, Duration timeout) {
+        return new ArticleImageUploader(processor, refCounter, new SimpleMeterRegistry(), threads, queueCapacity, timeout);
+    }
+
+    private boolean uploaderIdle() {
+        return processor.completed.size() == processor.calls.size();
+    }
+
+    private boolean uploaderQueueEmpty() {
+        return ((ThreadPoolExecutor) ReflectionTestUtils.getField(uploader, "executor")).getQueue().isEmpty();
+    }
+
+    private static void releaseWhen(CountDownLatch gate, Callable<Boolean> condition) {
+        Thread release = new Thread(() -> {
+            await().until(condition);
+            gate.countDown();
+        });
+        release.setDaemon(true);
+        release.start();
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private DiskMultipartFile file(String name) throws IOException {
+        DiskMultipartFile file = DiskMultipartFile.of(("image " + name).getBytes(StandardCharsets.UTF_8),
+                name + ".jpg", "image/jpeg");
+        files.add(file);
+        return file;
+    }
+
+    private String key(MultipartFile file) {
+        return s3ImageService.contentKey(file, "articleImg");
+    }
+
+    private String url(MultipartFile file) {
+        return s3ImageService.getUrl(key(file));
+    }
+
+    // 이름으로 실패시키거나 gate 가 열릴 때까지 붙잡아 두는 대역, 통과하면 원본만 LocalS3 에 올림
+    private class StubProcessor extends ImageVariantProcessor {
+
+        final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+        final Set<String> failing = ConcurrentHashMap.newKeySet();
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final List<String> completed = new CopyOnWriteArrayList<>();
+
+        StubProcessor() {
+            super(s3ImageService, null, new SimpleMeterRegistry(), 1280, 320, 0.82f, 1, 1, Duration.ofSeconds(30));
+        }
+
+        CountDownLatch gate(String name) {
+            return gates.computeIfAbsent(name, key -> new CountDownLatch(1));
+        }
+
+        @Override
+        public ImageVariants upload(MultipartFile image, String folderName) {
+            String name = image.getOriginalFilename().replace(".jpg", "");
+            calls.add(name);
+            try {
+                CountDownLatch gate = gates.get(name);
+                if (gate != null && !gate.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("gate " + name + " was never opened");
+                }
+                if (failing.contains(name)) {
+                    throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+                }
+                return ImageVariants.originalOnly(s3ImageService.uploadImage(image, folderName));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new S3Exception(ErrorCode.IO_EXCEPTION_ON_IMAGE_UPLOAD);
+            } finally {
+                completed.add(name);
+            }
+        }
+    }
+
+    // DB 없이 돌리기 위한 참조 수 대역, 지우라고 넘겨받은 URL 만 기록함
+    private static class RecordingRefCounter extends ImageRefCounter {
+
+        final List<String> discarded = new CopyOnWriteArrayList<>();
+
+        RecordingRefCounter() {
+            super(null, null, null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public void discard(Collection<String> imageUrls) {
+            discarded.addAll(imageUrls);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.article.ArticlesInfo;
+import com.sometimes.code.dto.article.SearchDetailCriteriaDto;
+import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.search.ArticleSearchIndex;
+import com.sometimes.code.support.StatementCounter;
+import com.sometimes.code.support.StatementCountingDataSource;
+import com.sometimes.code.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 목록 페이지는 글 수, 좋아요/댓글 수와 관계없이 페이지당 SQL 문 개수가 일정해야 함 (N+1 이 없어야 함)
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCountingDataSource.class)
+class ArticleListQueryCountTest {
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    void waitForSearchIndex() {
+        await().until(articleSearchIndex::isReady);
+    }
+
+    @Test
+    void categoryPageRunsOneStatement() {
+        User author = TestUsers.create(userRepository);
+        writeArticles(author, 1, "category");
+        long sparse = statementsOf(() -> articleService.getArticles(1, Article.Category.counseling.name()));
+
+        writeArticles(author, 20, "category");
+        long full = statementsOf(() -> articleService.getArticles(1, Article.Category.counseling.name()));
+
+        // 전체 글 수는 ArticleCountRegistry 에서 읽으므로 목록 조회 하나
+        assertThat(sparse).isEqualTo(1);
+        assertThat(full).isEqualTo(sparse);
+    }
+
+    @Test
+    void authorPageRunsSameStatementsForAnyArticleCount() {
+        User author = TestUsers.create(userRepository);
+        writeArticles(author, 1, "author");
+        long sparse = statementsOf(() -> articleService.getArticlesByAuthor(1, author.getNickName()));
+
+        writeArticles(author, 20, "author");
+        ArticlesInfo page = articleService.getArticlesByAuthor(1, author.getNickName());
+        long full = statementsOf(() -> articleService.getArticlesByAuthor(1, author.getNickName()));
+
+        // 작성자 조회, 목록 조회, 글 수 조회
+        assertThat(page.getArticles()).hasSize(15);
+        assertThat(sparse).isEqualTo(3);
+        assertThat(full).isEqualTo(sparse);
+    }
+
+    @Test
+    void searchPageRunsOneStatementFromIndex() {
+        User author = TestUsers.create(userRepository);
+        String keyword = "kw" + UUID.randomUUID().toString().replace("-", "");
+        writeArticles(author, 1, keyword);
+        long sparse = statementsOf(() -> articleService.searchArticles(search(keyword), 1L));
+
+        writeArticles(author, 20, keyword);
+        ArticlesInfo page = articleService.searchArticles(search(keyword), 1L);
+        long full = statementsOf(() -> articleService.searchArticles(search(keyword), 1L));
+
+        // 색인에서 찾은 글 ID 로 행만 조회
+        assertThat(page.getArticles()).hasSize(15);
+        assertThat(sparse).isEqualTo(1);
+        assertThat(full).isEqualTo(sparse);
+    }
+
+    private long statementsOf(Supplier<?> call) {
+        long before = StatementCounter.current();
+        call.get();
+        return StatementCounter.current() - before;
+    }
+
+    // 글마다 좋아요와 댓글을 달아서 행이 늘어도 쿼리가 늘지 않는지 봄
+    private void writeArticles(User author, int count, String titleWord) {
+        User reader = TestUsers.create(userRepository);
+        for (int i = 0; i < count; i++) {
+            ArticleWriteRequest request = new ArticleWriteRequest();
+            request.setTitle(titleWord + " title " + i);
+            request.setContent("content " + i);
+            request.setCategory(Article.Category.counseling);
+            Article article = articleService.writeArticle(request, author.getUserId(), List.of());
+
+            articleService.likeArticle(article.getArticleId(), reader.getUserId());
+            CommentRequestDto comment = new CommentRequestDto();
+            comment.setContent("comment " + i);
+            articleService.createComment(article.getArticleId(), reader.getUserId(), comment);
+        }
+    }
+
+    private static SearchDetailCriteriaDto search(String keyword) {
+        SearchDetailCriteriaDto criteria = new SearchDetailCriteriaDto();
+        criteria.setKeyword(keyword);
+        return criteria;
+    }
+}
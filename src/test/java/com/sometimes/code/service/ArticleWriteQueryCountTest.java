@@ -0,0 +1,88 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.repository.ArticleRepository;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.support.StatementCounter;
+import com.sometimes.code.support.StatementCountingDataSource;
+import com.sometimes.code.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 좋아요/댓글 쓰기는 사용자와 게시글을 읽지 않고 카운터 UPDATE 와 INSERT(DELETE) 두 문장으로 끝나야 함
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCountingDataSource.class)
+class ArticleWriteQueryCountTest {
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void likeAndUnlikeRunTwoStatementsEach() {
+        Long articleId = writeArticle();
+        User reader = TestUsers.create(userRepository);
+
+        long like = statementsOf(() -> articleService.likeArticle(articleId, reader.getUserId()));
+        long unlike = statementsOf(() -> articleService.unlikeArticle(articleId, reader.getUserId()));
+
+        assertThat(like).isEqualTo(2);
+        assertThat(unlike).isEqualTo(2);
+        assertThat(articleRepository.findById(articleId).orElseThrow().getLikeCount()).isZero();
+    }
+
+    @Test
+    void secondLikeIsRejectedAndCounterRolledBack() {
+        Long articleId = writeArticle();
+        User reader = TestUsers.create(userRepository);
+        articleService.likeArticle(articleId, reader.getUserId());
+
+        assertThatThrownBy(() -> articleService.likeArticle(articleId, reader.getUserId()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(articleRepository.findById(articleId).orElseThrow().getLikeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createCommentRunsTwoStatements() {
+        Long articleId = writeArticle();
+        User reader = TestUsers.create(userRepository);
+        CommentRequestDto comment = new CommentRequestDto();
+        comment.setContent("comment");
+
+        long statements = statementsOf(() -> articleService.createComment(articleId, reader.getUserId(), comment));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(articleRepository.findById(articleId).orElseThrow().getCommentCount()).isEqualTo(1);
+    }
+
+    private long statementsOf(Runnable call) {
+        long before = StatementCounter.current();
+        call.run();
+        return StatementCounter.current() - before;
+    }
+
+    private Long writeArticle() {
+        ArticleWriteRequest request = new ArticleWriteRequest();
+        request.setTitle("writes");
+        request.setContent("content");
+        request.setCategory(Article.Category.info);
+        return articleService.writeArticle(request, TestUsers.create(userRepository).getUserId(), List.of()).getArticleId();
+    }
+}
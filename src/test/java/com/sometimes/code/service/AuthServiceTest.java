@@ -0,0 +1,220 @@
+package com.sometimes.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sometimes.code.dto.login.TokenDto;
+import com.sometimes.code.dto.login.TokenRequestDto;
+import com.sometimes.code.dto.login.UserDetailsRequest;
+import com.sometimes.code.jwt.JwtFilter;
+import com.sometimes.code.jwt.JwtPrincipal;
+import com.sometimes.code.jwt.TokenDenylist;
+import com.sometimes.code.jwt.TokenProvider;
+import com.sometimes.code.support.StatementCountingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCountingDataSource.class)
+class AuthServiceTest {
+
+    private static final String PASSWORD = "password1!";
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TokenProvider tokenProvider;
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Test
+    void reissueWithAnotherUsersRefreshTokenKeepsThatToken() {
+        TokenDto attacker = login(signup());
+        TokenDto victim = login(signup());
+
+        assertThatThrownBy(() -> authService.reissue(request(attacker.getAccessToken(), victim.getRefreshToken())))
+                .hasMessage("토큰의 유저 정보가 일치하지 않습니다.");
+
+        // 주인은 그대로 재발급 받을 수 있음
+        TokenDto reissued = authService.reissue(request(victim.getAccessToken(), victim.getRefreshToken()));
+        assertThat(reissued.getRefreshToken()).isNotEqualTo(victim.getRefreshToken());
+    }
+
+    @Test
+    void refreshTokenIsSingleUse() {
+        TokenDto tokens = login(signup());
+
+        authService.reissue(request(tokens.getAccessToken(), tokens.getRefreshToken()));
+
+        assertThatThrownBy(() -> authService.reissue(request(tokens.getAccessToken(), tokens.getRefreshToken())))
+                .hasMessage("로그아웃 된 사용자입니다.");
+    }
+
+    @Test
+    void logoutWithoutRefreshTokenRemovesRefreshTokens() {
+        TokenDto tokens = login(signup());
+
+        authService.logout(tokenProvider.verify(tokens.getAccessToken()), null);
+
+        assertThatThrownBy(() -> authService.reissue(request(tokens.getAccessToken(), tokens.getRefreshToken())))
+                .hasMessage("로그아웃 된 사용자입니다.");
+    }
+
+    @Test
+    void logoutWithAnotherUsersRefreshTokenRemovesOwnTokensOnly() {
+        TokenDto user = login(signup());
+        TokenDto other = login(signup());
+
+        authService.logout(tokenProvider.verify(user.getAccessToken()), other.getRefreshToken());
+
+        assertThatThrownBy(() -> authService.reissue(request(user.getAccessToken(), user.getRefreshToken())))
+                .hasMessage("로그아웃 된 사용자입니다.");
+        assertThat(authService.reissue(request(other.getAccessToken(), other.getRefreshToken()))).isNotNull();
+    }
+
+    @Test
+    void reissueIsRejectedForRevokedSessions() {
+        TokenDto tokens = login(signup());
+        JwtPrincipal principal = tokenProvider.verify(tokens.getAccessToken());
+
+        // refresh token 은 남아 있어도 (예: 강제 로그아웃 직후 저장된 토큰) 재발급하지 않음
+        tokenDenylist.revokeAll(principal.userId());
+
+        assertThatThrownBy(() -> authService.reissue(request(tokens.getAccessToken(), tokens.getRefreshToken())))
+                .hasMessage("로그아웃 된 사용자입니다.");
+    }
+
+    @Test
+    void loginRightAfterRevokeAllIsNotRevoked() {
+        UserDetailsRequest user = signup();
+        TokenDto before = login(user);
+        JwtPrincipal revoked = tokenProvider.verify(before.getAccessToken());
+
+        authService.revokeAllSessions(revoked.userId());
+        JwtPrincipal relogin = tokenProvider.verify(login(user).getAccessToken());
+
+        assertThat(tokenDenylist.isRevoked(revoked)).isTrue();
+        assertThat(tokenDenylist.isRevoked(relogin)).isFalse();
+    }
+
+    // JwtFilter 가 이미 검증해서 캐시에 둔 토큰도 로그아웃하면 바로 인증되지 않음
+    @Test
+    void cachedTokenIsRejectedAfterLogout() throws Exception {
+        TokenDto tokens = login(signup());
+        JwtFilter jwtFilter = new JwtFilter(tokenProvider, tokenDenylist);
+        assertThat(authenticate(jwtFilter, tokens.getAccessToken())).isNotNull();
+
+        authService.logout(tokenProvider.verify(tokens.getAccessToken()), tokens.getRefreshToken());
+
+        assertThat(authenticate(jwtFilter, tokens.getAccessToken())).isNull();
+    }
+
+    @Test
+    void revokeAllSessionsRejectsCachedTokensAndRefreshTokens() throws Exception {
+        UserDetailsRequest user = signup();
+        TokenDto phone = login(user);
+        TokenDto laptop = login(user);
+        JwtFilter jwtFilter = new JwtFilter(tokenProvider, tokenDenylist);
+        assertThat(authenticate(jwtFilter, phone.getAccessToken())).isNotNull();
+        assertThat(authenticate(jwtFilter, laptop.getAccessToken())).isNotNull();
+
+        authService.revokeAllSessions(tokenProvider.verify(phone.getAccessToken()).userId());
+
+        assertThat(authenticate(jwtFilter, phone.getAccessToken())).isNull();
+        assertThat(authenticate(jwtFilter, laptop.getAccessToken())).isNull();
+        assertThatThrownBy(() -> authService.reissue(request(laptop.getAccessToken(), laptop.getRefreshToken())))
+                .hasMessage("로그아웃 된 사용자입니다.");
+    }
+
+    @Test
+    void reissueKeepsUserAndAuthorities() {
+        TokenDto tokens = login(signup());
+        JwtPrincipal before = tokenProvider.verify(tokens.getAccessToken());
+
+        JwtPrincipal after = tokenProvider.verify(
+                authService.reissue(request(tokens.getAccessToken(), tokens.getRefreshToken())).getAccessToken());
+
+        assertThat(after.userId()).isEqualTo(before.userId());
+        assertThat(after.authorities()).isEqualTo(before.authorities());
+        assertThat(after.tokenId()).isNotEqualTo(before.tokenId());
+    }
+
+    @Test
+    void resetPasswordChangesLoginPassword() {
+        UserDetailsRequest user = signup();
+
+        authService.resetPassword(user.getEmail(), "changed1!");
+
+        assertThatThrownBy(() -> login(user)).isInstanceOf(BadCredentialsException.class);
+        user.setPassword("changed1!");
+        assertThat(login(user).getAccessToken()).isNotBlank();
+    }
+
+    // 가입 전에 로그인을 시도해서 "없는 이메일" 로 캐시돼 있어도 가입 직후 바로 로그인됨
+    @Test
+    void signupClearsUnknownEmailCache() {
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        UserDetailsRequest user = new UserDetailsRequest();
+        user.setEmail(id + "@test.com");
+        user.setPassword(PASSWORD);
+        assertThatThrownBy(() -> login(user)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> login(user)).isInstanceOf(BadCredentialsException.class);  // 캐시에서 바로 거절
+
+        signup(user.getEmail(), id);
+
+        assertThat(login(user).getAccessToken()).isNotBlank();
+    }
+
+    private UserDetailsRequest signup() {
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        return signup(id + "@test.com", id);
+    }
+
+    private UserDetailsRequest signup(String email, String id) {
+        UserDetailsRequest request = new UserDetailsRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        request.setName("tester");
+        request.setNickName("nick-" + id);
+        authService.signup(request);
+        return request;
+    }
+
+    private TokenDto login(UserDetailsRequest user) {
+        UserDetailsRequest request = new UserDetailsRequest();
+        request.setEmail(user.getEmail());
+        request.setPassword(user.getPassword());
+        return authService.login(request);
+    }
+
+    private static Authentication authenticate(JwtFilter jwtFilter, String accessToken) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/article/1");
+        request.addHeader(JwtFilter.AUTHORIZATION_HEADER, JwtFilter.BEARER_PREFIX + accessToken);
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private TokenRequestDto request(String accessToken, String refreshToken) {
+        return objectMapper.convertValue(Map.of("accessToken", accessToken, "refreshToken", refreshToken),
+                TokenRequestDto.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.dto.mail.MailVO;
+import com.sometimes.code.exception.MailOutboxFullException;
+import com.sometimes.code.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class AwsMailServiceTest {
+
+    private final VerificationCodePolicy policy = new VerificationCodePolicy(
+            Duration.ofMinutes(10), Duration.ofSeconds(60), 5, Duration.ofHours(1), 5);
+    private final MailOutbox mailOutbox = mock(MailOutbox.class);
+    private final AwsMailService mailService = new AwsMailService(mailOutbox,
+            new InMemoryVerificationCodeStore(policy, new SimpleMeterRegistry(), 100), new SimpleMeterRegistry());
+
+    @Test
+    void fullOutboxDoesNotUseResendLimits() {
+        doThrow(new MailOutboxFullException()).when(mailOutbox).enqueue(anyString(), any());
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> mailService.send(mail("user@test.com")))
+                    .isInstanceOf(MailOutboxFullException.class);
+        }
+
+        // 대기열이 비면 재전송 간격을 기다리지 않고 바로 받을 수 있음
+        doNothing().when(mailOutbox).enqueue(anyString(), any());
+        assertThatCode(() -> mailService.send(mail("user@test.com"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void sentMailStillStartsCooldown() {
+        mailService.send(mail("user@test.com"));
+
+        assertThatThrownBy(() -> mailService.send(mail("user@test.com")))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private static MailVO mail(String email) {
+        MailVO mailVO = new MailVO();
+        mailVO.setEmail(email);
+        return mailVO;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sometimes.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class BloomFilterTest {
+
+    // application.yaml 의 auth.availability-filter 설정과 같은 크기
+    private static final int EXPECTED_USERS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRateWhenFull() {
+        BloomFilter filter = new BloomFilter(EXPECTED_USERS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_USERS; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        double measured = (double) falsePositives / probes;
+        assertThat(measured).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+        assertThat(filter.expectedFalsePositiveRate()).isCloseTo(FALSE_POSITIVE_RATE, offset(0.002));
+    }
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(EXPECTED_USERS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_USERS; i++) {
+            filter.add("nick" + i);
+        }
+
+        for (int i = 0; i < EXPECTED_USERS; i++) {
+            assertThat(filter.mightContain("nick" + i)).isTrue();
+        }
+    }
+}
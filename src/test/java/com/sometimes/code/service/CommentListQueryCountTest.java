@@ -0,0 +1,94 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.article.Article;
+import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.dto.article.ArticleWriteRequest;
+import com.sometimes.code.dto.comment.CommentInfo;
+import com.sometimes.code.dto.comment.CommentRequestDto;
+import com.sometimes.code.repository.UserRepository;
+import com.sometimes.code.support.StatementCounter;
+import com.sometimes.code.support.StatementCountingDataSource;
+import com.sometimes.code.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 댓글 목록은 댓글/작성자 수와 관계없이 댓글 조회 한 번과 프로필 이미지 조회 한 번이어야 함
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCountingDataSource.class)
+class CommentListQueryCountTest {
+
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void commentListRunsSameStatementsForAnyCommentCount() {
+        User author = TestUsers.create(userRepository);
+        Long sparseArticle = writeArticle(author);
+        Long fullArticle = writeArticle(author);
+        comment(sparseArticle, 1);
+        comment(fullArticle, 20);
+
+        long sparse = statementsOf(sparseArticle);
+        long full = statementsOf(fullArticle);
+
+        // 댓글+작성자 fetch join 한 번, 캐시에 없는 작성자들의 프로필 이미지 IN 조회 한 번
+        assertThat(sparse).isEqualTo(2);
+        assertThat(full).isEqualTo(sparse);
+    }
+
+    @Test
+    void cachedProfileImagesAreNotQueriedAgain() {
+        User author = TestUsers.create(userRepository);
+        Long articleId = writeArticle(author);
+        comment(articleId, 10);
+
+        statementsOf(articleId);
+        long cached = statementsOf(articleId);
+        List<CommentInfo> comments = articleService.getCommentsByArticleId(articleId);
+
+        assertThat(cached).isEqualTo(1);
+        assertThat(comments).hasSize(10);
+        assertThat(comments).filteredOn(comment -> !comment.getProfileImages().isEmpty()).hasSize(5);
+    }
+
+    private long statementsOf(Long articleId) {
+        long before = StatementCounter.current();
+        articleService.getCommentsByArticleId(articleId);
+        return StatementCounter.current() - before;
+    }
+
+    private Long writeArticle(User author) {
+        ArticleWriteRequest request = new ArticleWriteRequest();
+        request.setTitle("comments");
+        request.setContent("content");
+        request.setCategory(Article.Category.free);
+        return articleService.writeArticle(request, author.getUserId(), List.of()).getArticleId();
+    }
+
+    // 댓글마다 다른 작성자, 절반은 프로필 이미지가 있음
+    private void comment(Long articleId, int count) {
+        for (int i = 0; i < count; i++) {
+            User writer = TestUsers.create(userRepository);
+            if (i % 2 == 0) {
+                jdbcTemplate.update("INSERT INTO profile_img (user_id, url) VALUES (?, ?)",
+                        writer.getUserId(), "https://test.local/profile/" + writer.getUserId() + ".png");
+            }
+            CommentRequestDto comment = new CommentRequestDto();
+            comment.setContent("comment " + i);
+            articleService.createComment(articleId, writer.getUserId(), comment);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.domain.image.ImageDeleteTask;
+import com.sometimes.code.domain.image.ImageRef;
+import com.sometimes.code.repository.ImageDeleteTaskRepository;
+import com.sometimes.code.repository.ImageRefRepository;
+import com.sometimes.code.support.LocalS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// 삭제 대기열: 커밋된 작업만 LocalS3 에서 지우고, 실패하면 backoff 로 재시도, 참조 수/grace-period 에 따라 남기거나 미룸
+// 공유 H2 에 다른 테스트의 작업이 있을 수 있으므로 이 테스트가 만든 key 의 작업만 확인함
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageDeleteOutboxTest {
+
+    private static final String BUCKET = "test";
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(10);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private ImageDeleteTaskRepository imageDeleteTaskRepository;
+    @Autowired
+    private ImageRefRepository imageRefRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+    private ImageDeleteOutbox outbox;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        s3ImageService = new S3ImageService(amazonS3, BUCKET, DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 1);
+        outbox = new ImageDeleteOutbox(imageDeleteTaskRepository, imageRefRepository, s3ImageService, transactionTemplate,
+                new SimpleMeterRegistry(), 1000, MAX_ATTEMPTS, INITIAL_BACKOFF, GRACE_PERIOD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+    }
+
+    @Test
+    void committedUnreferencedObjectsAreDeleted() {
+        String withoutRef = upload();
+        String releasedLongAgo = upload();
+        saveRef(releasedLongAgo, 0, Instant.now().minus(GRACE_PERIOD).minusSeconds(60));
+
+        enqueue(withoutRef, releasedLongAgo);
+        outbox.drain();
+
+        assertThat(localS3.objectSize(BUCKET, withoutRef)).isNull();
+        assertThat(localS3.objectSize(BUCKET, releasedLongAgo)).isNull();
+        assertThat(imageRefRepository.existsById(releasedLongAgo)).isFalse();
+        assertThat(task(withoutRef)).isEmpty();
+        assertThat(task(releasedLongAgo)).isEmpty();
+    }
+
+    @Test
+    void rolledBackEnqueueDeletesNothing() {
+        String key = upload();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue(List.of(url(key)));
+            status.setRollbackOnly();
+        });
+        outbox.drain();
+
+        assertThat(localS3.objectSize(BUCKET, key)).isNotNull();
+        assertThat(task(key)).isEmpty();
+    }
+
+    // 다시 참조된 객체는 작업만 없애고, 참조가 없어진 지 얼마 안 된 객체는 grace-period 가 끝날 때로 미룸
+    @Test
+    void referencedObjectIsKeptAndRecentlyReleasedObjectIsDeferred() {
+        String referenced = upload();
+        String recentlyReleased = upload();
+        saveRef(referenced, 1, Instant.now().minus(GRACE_PERIOD).minusSeconds(60));
+        Instant releasedAt = Instant.now().minusSeconds(60);
+        saveRef(recentlyReleased, 0, releasedAt);
+
+        enqueue(referenced, recentlyReleased);
+        outbox.drain();
+
+        assertThat(localS3.objectSize(BUCKET, referenced)).isNotNull();
+        assertThat(imageRefRepository.existsById(referenced)).isTrue();
+        assertThat(task(referenced)).isEmpty();
+
+        assertThat(localS3.objectSize(BUCKET, recentlyReleased)).isNotNull();
+        ImageDeleteTask deferred = task(recentlyReleased).orElseThrow();
+        assertThat(deferred.getAttempts()).isZero();
+        assertThat(deferred.getNextAttemptAt()).isCloseTo(releasedAt.plus(GRACE_PERIOD), within(1, ChronoUnit.MILLIS));
+    }
+
+    // 실패하면 지수 backoff(절반 ~ 전체 구간에서 무작위)로 다시 예약하고, max-attempts 번째 실패에서 버림
+    @Test
+    void failedDeleteIsRetriedWithBackoffThenDropped() {
+        String key = upload();
+        saveRef(key, 0, Instant.now().minus(GRACE_PERIOD).minusSeconds(60));
+        localS3.failDeletes(BUCKET, key);
+        enqueue(key);
+
+        Instant before = Instant.now();
+        outbox.drain();
+        ImageDeleteTask first = task(key).orElseThrow();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getNextAttemptAt()).isBetween(before.plus(INITIAL_BACKOFF.dividedBy(2)), Instant.now().plus(INITIAL_BACKOFF));
+
+        makeDue(first);
+        before = Instant.now();
+        outbox.drain();
+        ImageDeleteTask second = task(key).orElseThrow();
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(second.getNextAttemptAt()).isBetween(before.plus(INITIAL_BACKOFF), Instant.now().plus(INITIAL_BACKOFF.multipliedBy(2)));
+
+        makeDue(second);
+        outbox.drain();
+        assertThat(task(key)).isEmpty();
+        // 지우지 못했으므로 객체와 참조 행은 남음
+        assertThat(localS3.objectSize(BUCKET, key)).isNotNull();
+        assertThat(imageRefRepository.existsById(key)).isTrue();
+    }
+
+    @Test
+    void retriedDeleteSucceedsOnceS3Recovers() {
+        String key = upload();
+        localS3.failDeletes(BUCKET, key);
+        enqueue(key);
+        outbox.drain();
+        assertThat(task(key)).hasValueSatisfying(task -> assertThat(task.getAttempts()).isEqualTo(1));
+
+        localS3.allowDeletes(BUCKET, key);
+        makeDue(task(key).orElseThrow());
+        outbox.drain();
+
+        assertThat(localS3.objectSize(BUCKET, key)).isNull();
+        assertThat(task(key)).isEmpty();
+    }
+
+    private String upload() {
+        String key = "articleImg/" + UUID.randomUUID() + ".jpg";
+        s3ImageService.uploadBytes(key, key.getBytes(StandardCharsets.UTF_8), "image/jpeg");
+        assertThat(localS3.objectSize(BUCKET, key)).isNotNull();
+        return key;
+    }
+
+    private void saveRef(String key, int refCount, Instant updatedAt) {
+        imageRefRepository.save(ImageRef.builder()
+                .objectKey(key)
+                .refCount(refCount)
+                .sizeBytes(key.length())
+                .updatedAt(updatedAt)
+                .build());
+    }
+
+    private void enqueue(String... keys) {
+        transactionTemplate.executeWithoutResult(status ->
+                outbox.enqueue(List.of(keys).stream().map(ImageDeleteOutboxTest::url).toList()));
+    }
+
+    private void makeDue(ImageDeleteTask task) {
+        transactionTemplate.executeWithoutResult(status ->
+                imageDeleteTaskRepository.reschedule(task.getTaskId(), task.getAttempts(), Instant.now()));
+    }
+
+    private Optional<ImageDeleteTask> task(String key) {
+        return imageDeleteTaskRepository.findAll().stream()
+                .filter(task -> task.getObjectKey().equals(key))
+                .findFirst();
+    }
+
+    // 운영과 같은 virtual-hosted 형식의 URL (path-style 이면 경로에 bucket 이 들어감)
+    private static String url(String key) {
+        return "https://" + BUCKET + ".s3.ap-northeast-2.amazonaws.com/" + key;
+    }
+}
@@ -0,0 +1,208 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.domain.image.ImageDeleteTask;
+import com.sometimes.code.domain.image.ImageRef;
+import com.sometimes.code.repository.ImageDeleteTaskRepository;
+import com.sometimes.code.repository.ImageRefRepository;
+import com.sometimes.code.support.LocalS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// content-hash 객체의 참조 수: 같은 URL 을 여러 번 저장, 참조 행이 없는 이전 객체, 예약과 삭제 대기열이 겹치는 경우
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageRefCounterTest {
+
+    private static final String BUCKET = "test";
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(10);
+
+    @Autowired
+    private ImageRefCounter imageRefCounter;
+    @Autowired
+    private ImageRefRepository imageRefRepository;
+    @Autowired
+    private ImageDeleteTaskRepository imageDeleteTaskRepository;
+    @Autowired
+    private ImageDeleteOutbox imageDeleteOutbox;  // 작업 기록(enqueue)만 씀, 지우는 쪽은 LocalS3 로 만든 대기열
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 한 글에 같은 이미지를 두 번 넣으면 행이 둘이므로 참조 수도 2
+    @Test
+    void sameUrlTwiceInOneWriteCountsTwice() {
+        String key = contentKey();
+        assertThat(imageRefCounter.reserve(key, 100)).isFalse();
+
+        inTransaction(() -> imageRefCounter.acquire(List.of(url(key), url(key))));
+        assertThat(refCount(key)).isEqualTo(2);
+
+        inTransaction(() -> imageRefCounter.release(List.of(url(key))));
+        assertThat(refCount(key)).isEqualTo(1);
+        inTransaction(() -> imageRefCounter.release(List.of(url(key))));
+        assertThat(refCount(key)).isZero();
+        assertThat(tasks(key)).hasSize(2);
+    }
+
+    // content-hash 이전에 올린 UUID 이름의 이미지는 참조 행 없이 저장될 수 있음
+    @Test
+    void legacyKeyWithoutRefRowIsCounted() {
+        String legacy = "articleImg/" + UUID.randomUUID() + "_photo.jpg";
+
+        inTransaction(() -> imageRefCounter.acquire(List.of(url(legacy), url(legacy))));
+        assertThat(refCount(legacy)).isEqualTo(2);
+
+        inTransaction(() -> imageRefCounter.release(List.of(url(legacy), url(legacy))));
+        assertThat(refCount(legacy)).isZero();
+        // 같은 URL 을 한 번에 여러 번 풀어도 삭제 작업은 하나
+        assertThat(tasks(legacy)).hasSize(1);
+    }
+
+    // 참조 행이 없는 같은 객체를 두 트랜잭션이 동시에 저장해도 둘 다 커밋되고 참조 수는 2
+    @Test
+    void concurrentFirstAcquireOfMissingRefDoesNotFail() throws Exception {
+        String legacy = "articleImg/" + UUID.randomUUID() + "_photo.jpg";
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            imageRefCounter.acquire(List.of(url(legacy)));
+            firstInserted.countDown();
+            await(releaseFirst);
+        }));
+        assertThat(firstInserted.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                inTransaction(() -> imageRefCounter.acquire(List.of(url(legacy)))));
+        Thread.sleep(200);  // 두 번째 INSERT 가 첫 번째 트랜잭션의 행 잠금을 기다리는 동안 커밋
+        releaseFirst.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertThat(refCount(legacy)).isEqualTo(2);
+    }
+
+    // 업로드가 예약(reserve)한 뒤 HEAD 로 객체를 확인하고 acquire 하기 전에 삭제 대기열이 돌아도 객체는 지워지지 않음
+    @Test
+    void reservedObjectSurvivesDrainBeforeAcquire() throws Exception {
+        try (LocalS3 localS3 = new LocalS3()) {
+            AmazonS3 amazonS3 = localS3.client();
+            S3ImageService s3ImageService = new S3ImageService(amazonS3, BUCKET, DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 1);
+            ImageDeleteOutbox outbox = new ImageDeleteOutbox(imageDeleteTaskRepository, imageRefRepository, s3ImageService,
+                    transactionTemplate, new SimpleMeterRegistry(), 1000, 3, Duration.ofSeconds(30), GRACE_PERIOD);
+            try {
+                String key = releasedLongAgo(s3ImageService);
+
+                // 다른 글이 같은 이미지를 올림: 예약으로 updated_at 이 갱신되어 grace-period 안에 들어옴
+                assertThat(imageRefCounter.reserve(key, 100)).isTrue();
+                assertThat(s3ImageService.objectSize(key)).isNotNull();
+                outbox.drain();
+                assertThat(localS3.objectSize(BUCKET, key)).isNotNull();
+                assertThat(tasks(key)).singleElement().satisfies(task ->
+                        assertThat(task.getNextAttemptAt()).isAfter(Instant.now().plus(GRACE_PERIOD).minusSeconds(60)));
+
+                inTransaction(() -> imageRefCounter.acquire(List.of(url(key))));
+                makeDue(key);
+                outbox.drain();
+
+                // 다시 참조됐으므로 작업만 없어지고 객체와 참조는 남음
+                assertThat(localS3.objectSize(BUCKET, key)).isNotNull();
+                assertThat(refCount(key)).isEqualTo(1);
+                assertThat(tasks(key)).isEmpty();
+            } finally {
+                s3ImageService.shutdown();
+                amazonS3.shutdown();
+            }
+        }
+    }
+
+    // 삭제 대기열이 먼저 지웠으면 예약은 false 를 돌려주므로 업로드하는 쪽이 다시 올림
+    @Test
+    void reserveAfterDrainReportsMissingObject() throws Exception {
+        try (LocalS3 localS3 = new LocalS3()) {
+            AmazonS3 amazonS3 = localS3.client();
+            S3ImageService s3ImageService = new S3ImageService(amazonS3, BUCKET, DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 1);
+            ImageDeleteOutbox outbox = new ImageDeleteOutbox(imageDeleteTaskRepository, imageRefRepository, s3ImageService,
+                    transactionTemplate, new SimpleMeterRegistry(), 1000, 3, Duration.ofSeconds(30), GRACE_PERIOD);
+            try {
+                String key = releasedLongAgo(s3ImageService);
+
+                outbox.drain();
+                assertThat(localS3.objectSize(BUCKET, key)).isNull();
+
+                assertThat(imageRefCounter.reserve(key, 100)).isFalse();
+                assertThat(refCount(key)).isZero();
+            } finally {
+                s3ImageService.shutdown();
+                amazonS3.shutdown();
+            }
+        }
+    }
+
+    // 올라가 있고 참조가 없어진 지 grace-period 가 지났으며 삭제 작업이 기록된 객체
+    private String releasedLongAgo(S3ImageService s3ImageService) {
+        String key = contentKey();
+        s3ImageService.uploadBytes(key, key.getBytes(StandardCharsets.UTF_8), "image/jpeg");
+        imageRefRepository.save(ImageRef.builder()
+                .objectKey(key)
+                .refCount(0)
+                .sizeBytes(100)
+                .updatedAt(Instant.now().minus(GRACE_PERIOD).minusSeconds(60))
+                .build());
+        inTransaction(() -> imageDeleteOutbox.enqueue(List.of(url(key))));
+        return key;
+    }
+
+    private void makeDue(String key) {
+        for (ImageDeleteTask task : tasks(key)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    imageDeleteTaskRepository.reschedule(task.getTaskId(), task.getAttempts(), Instant.now()));
+        }
+    }
+
+    private int refCount(String key) {
+        return imageRefRepository.findById(key).orElseThrow().getRefCount();
+    }
+
+    private List<ImageDeleteTask> tasks(String key) {
+        return imageDeleteTaskRepository.findAll().stream()
+                .filter(task -> task.getObjectKey().equals(key))
+                .toList();
+    }
+
+    private void inTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String contentKey() {
+        return "articleImg/" + UUID.randomUUID().toString().replace("-", "") + ".jpg";
+    }
+
+    private static String url(String key) {
+        return "https://" + BUCKET + ".s3.ap-northeast-2.amazonaws.com/" + key;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.dto.image.ImageVariants;
+import com.sometimes.code.support.DiskMultipartFile;
+import com.sometimes.code.support.LocalS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 원본 업로드와 크기별 이미지 디코딩이 같은 MultipartFile 을 동시에 읽어도 크기별 이미지가 만들어지는지 (LocalS3 사용)
+class ImageVariantProcessorTest {
+
+    private static final DataSize MULTIPART_THRESHOLD = DataSize.ofKilobytes(256);
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+    private ImageVariantProcessor processor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        // multipart 경로를 타도록 threshold 를 낮춤 (운영은 8MB)
+        s3ImageService = new S3ImageService(amazonS3, "test", MULTIPART_THRESHOLD, DataSize.ofMegabytes(5), 2);
+        processor = new ImageVariantProcessor(s3ImageService, new AlwaysReferencedImages(), new SimpleMeterRegistry(),
+                1280, 320, 0.82f, 1, 4, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+    }
+
+    @Test
+    void largeDiskFileGetsVariants() throws IOException {
+        DiskMultipartFile image = DiskMultipartFile.of(syntheticJpeg(3000, 2000), "photo.jpg", "image/jpeg");
+        assertThat(image.getSize()).isGreaterThanOrEqualTo(MULTIPART_THRESHOLD.toBytes());
+
+        ImageVariants variants = processor.upload(image, "articleImg");
+
+        // 톰캣이 받아둔 파일을 옮기지 않아야 디코딩하는 쪽이 끝까지 읽을 수 있음
+        assertThat(image.transferred()).isFalse();
+        assertThat(variants.getMedium()).isNotEqualTo(variants.getOriginal()).endsWith("_1280.jpg");
+        assertThat(variants.getThumbnail()).isNotEqualTo(variants.getOriginal()).endsWith("_320.jpg");
+        assertThat(localS3.objectSize("test", s3ImageService.contentKey(image, "articleImg"))).isEqualTo(image.getSize());
+        image.delete();
+    }
+
+    // DB 없이 돌리기 위한 참조 수 대역 (참조 기록은 항상 있는 것으로 봄)
+    private static class AlwaysReferencedImages extends ImageRefCounter {
+
+        AlwaysReferencedImages() {
+            super(null, null, null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public boolean reserve(String objectKey, long sizeBytes) {
+            return true;
+        }
+
+        @Override
+        public boolean touch(String objectKey) {
+            return true;
+        }
+
+        @Override
+        public void discard(Collection<String> imageUrls) {
+        }
+    }
+
+    // 압축이 너무 잘 되지 않도록 색 블록을 흩뿌린 JPEG
+    private static byte[] syntheticJpeg(int width, int height) throws IOException {
+        BufferedImage source = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = source.createGraphics();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 4000; i++) {
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillRect(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(200), 20 + random.nextInt(200));
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(source, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.sometimes.code.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(new SimpleMeterRegistry(), 100, 5);
+
+    @Test
+    void consumeByAnotherUserReturnsOwnerWithoutRemoving() {
+        store.save(1L, "token", Instant.now().plusSeconds(60));
+
+        assertThat(store.consume(2L, "token")).contains(1L);
+
+        assertThat(store.consume(1L, "token")).contains(1L);
+        assertThat(store.consume(1L, "token")).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsNotConsumed() {
+        store.save(1L, "token", Instant.now().minusSeconds(1));
+
+        assertThat(store.consume(1L, "token")).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryVerificationCodeStoreTest {
+
+    private final VerificationCodePolicy policy = new VerificationCodePolicy(
+            Duration.ofMinutes(10), Duration.ofSeconds(60), 5, Duration.ofHours(1), 5);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryVerificationCodeStore store = new InMemoryVerificationCodeStore(policy, meterRegistry, 3);
+
+    @Test
+    void fullStoreEvictsOldestUnverifiedInsteadOfRejecting() {
+        store.issue("first@test.com", "111111");
+        store.issue("second@test.com", "222222");
+        store.issue("third@test.com", "333333");
+
+        // 가득 차도 새 이메일은 받음
+        assertThatCode(() -> store.issue("fourth@test.com", "444444")).doesNotThrowAnyException();
+
+        assertThat(store.verify("first@test.com", "111111")).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+        assertThat(store.verify("second@test.com", "222222")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+        assertThat(store.verify("fourth@test.com", "444444")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+        assertThat(meterRegistry.counter("auth.mail_codes.evicted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void verifiedAddressesAreNotEvicted() {
+        store.issue("verified@test.com", "111111");
+        store.verify("verified@test.com", "111111");
+        store.issue("second@test.com", "222222");
+        store.issue("third@test.com", "333333");
+
+        store.issue("fourth@test.com", "444444");
+
+        // 인증한 주소는 재전송 제한이 그대로 남음, 대신 그 다음으로 오래된 항목이 밀려남
+        assertThatThrownBy(() -> store.issue("verified@test.com", "555555"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(store.verify("second@test.com", "222222")).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+        assertThat(store.verify("third@test.com", "333333")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+    }
+
+    @Test
+    void rejectsNewEmailOnlyWhenEveryEntryIsVerified() {
+        for (String email : new String[]{"a@test.com", "b@test.com", "c@test.com"}) {
+            store.issue(email, "123456");
+            store.verify(email, "123456");
+        }
+
+        assertThatThrownBy(() -> store.issue("d@test.com", "444444"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void existingEmailIsNotCountedAgainstCapacity() {
+        store.issue("a@test.com", "1");
+        store.issue("b@test.com", "2");
+        store.issue("c@test.com", "3");
+        store.cancel("c@test.com", "3");
+
+        store.issue("C@test.com", "4");  // 같은 주소 (대소문자 무시)
+
+        assertThat(store.verify("a@test.com", "1")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+    }
+
+    @Test
+    void sweepRemovesEntriesOnceSendWindowEnds() {
+        store.issue("a@test.com", "111111");
+        store.issue("b@test.com", "222222");
+        assertThat(store.size()).isEqualTo(2);
+
+        assertThat(store.sweep(LocalDateTime.now().plusMinutes(30))).isZero();
+        assertThat(store.sweep(LocalDateTime.now().plusHours(2))).isEqualTo(2);
+
+        // 지운 뒤에는 재전송 제한 없이 다시 받을 수 있음
+        assertThatCode(() -> store.issue("a@test.com", "333333")).doesNotThrowAnyException();
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
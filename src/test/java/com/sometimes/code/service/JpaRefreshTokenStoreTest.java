@@ -0,0 +1,67 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JpaRefreshTokenStoreTest {
+
+    @Autowired
+    private JpaRefreshTokenStore store;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 해시 키로 바뀌기 전에 저장된 행(expires_at, user_id 가 NULL)도 sweep 으로 지워짐
+    @Test
+    void sweepRemovesExpiredAndLegacyRows() {
+        String legacy = insertRow(null, null);
+        String legacyWithUser = insertRow(1L, null);
+        String expired = insertRow(1L, Instant.now().minusSeconds(60));
+        String live = insertRow(1L, Instant.now().plusSeconds(3600));
+
+        store.sweep();
+
+        assertThat(refreshTokenRepository.existsById(legacy)).isFalse();
+        assertThat(refreshTokenRepository.existsById(legacyWithUser)).isFalse();
+        assertThat(refreshTokenRepository.existsById(expired)).isFalse();
+        assertThat(refreshTokenRepository.existsById(live)).isTrue();
+    }
+
+    @Test
+    void legacyRowIsNotConsumed() {
+        String token = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO refresh_token (rt_key) VALUES (?)", RefreshTokenStore.hash(token));
+
+        assertThat(store.consume(1L, token)).isEmpty();
+    }
+
+    @Test
+    void savedTokenIsConsumedOnceByOwner() {
+        String token = UUID.randomUUID().toString();
+        store.save(7L, token, Instant.now().plusSeconds(3600));
+
+        assertThat(store.consume(8L, token)).contains(7L);  // 주인이 아니면 지우지 않고 주인만 알려줌
+        assertThat(store.consume(7L, token)).contains(7L);
+        assertThat(store.consume(7L, token)).isEmpty();
+    }
+
+    private String insertRow(Long userId, Instant expiresAt) {
+        String key = UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.update("INSERT INTO refresh_token (rt_key, user_id, expires_at) VALUES (?, ?, ?)",
+                key, userId, expiresAt == null ? null : Timestamp.from(expiresAt));
+        return key;
+    }
+}
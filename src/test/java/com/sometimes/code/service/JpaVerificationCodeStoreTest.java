@@ -0,0 +1,91 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.MailAuthNum;
+import com.sometimes.code.exception.TooManyRequestsException;
+import com.sometimes.code.repository.MailAuthNumRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 서버가 여러 대일 때 쓰는 DB 저장소, 규칙은 VerificationCodePolicy 와 같아야 함
+@SpringBootTest(properties = "auth.mail-code.store=jpa")
+@ActiveProfiles("test")
+class JpaVerificationCodeStoreTest {
+
+    @Autowired
+    private VerificationCodeStore store;
+    @Autowired
+    private MailAuthNumRepository mailAuthNumRepository;
+
+    @Test
+    void usesDatabaseStore() {
+        assertThat(store).isInstanceOf(JpaVerificationCodeStore.class);
+    }
+
+    @Test
+    void issueVerifyAndResendCooldown() {
+        String email = uniqueEmail();
+        store.issue(email, "123456");
+
+        assertThatThrownBy(() -> store.issue(email.toUpperCase(), "654321"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(store.verify(email, "000000")).isEqualTo(VerificationCodeStore.Result.MISMATCH);
+        assertThat(store.verify(email, "123456")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+        assertThat(store.verify(email, "123456")).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+    }
+
+    @Test
+    void wrongCodesLock() {
+        String email = uniqueEmail();
+        store.issue(email, "123456");
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(store.verify(email, "000000")).isEqualTo(VerificationCodeStore.Result.MISMATCH);
+        }
+        assertThat(store.verify(email, "000000")).isEqualTo(VerificationCodeStore.Result.LOCKED);
+        assertThat(store.verify(email, "123456")).isEqualTo(VerificationCodeStore.Result.LOCKED);
+    }
+
+    @Test
+    void cancelledCodeDoesNotStartCooldown() {
+        String email = uniqueEmail();
+        store.issue(email, "123456");
+        store.cancel(email, "123456");
+
+        assertThat(store.verify(email, "123456")).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+        store.issue(email, "654321");
+        assertThat(store.verify(email, "654321")).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+    }
+
+    @Test
+    void sweepRemovesOnlyRowsPastSendWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        String expired = saveRow(now.minusMinutes(1), now.minusMinutes(1));
+        String counting = saveRow(now.minusMinutes(1), now.plusMinutes(30));
+
+        ((JpaVerificationCodeStore) store).sweep();
+
+        assertThat(mailAuthNumRepository.existsById(expired)).isFalse();
+        assertThat(mailAuthNumRepository.existsById(counting)).isTrue();
+    }
+
+    private String saveRow(LocalDateTime expiration, LocalDateTime sendWindowEnd) {
+        MailAuthNum row = new MailAuthNum(uniqueEmail());
+        row.setAuthNum("123456");
+        row.setExpiration(expiration);
+        row.setSendWindowEnd(sendWindowEnd);
+        row.setSendCount(1);
+        return mailAuthNumRepository.save(row).getEmail();
+    }
+
+    private static String uniqueEmail() {
+        return UUID.randomUUID() + "@test.com";
+    }
+}
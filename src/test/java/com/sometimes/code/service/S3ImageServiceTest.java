@@ -0,0 +1,128 @@
+package com.sometimes.code.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sometimes.code.support.DiskMultipartFile;
+import com.sometimes.code.support.LocalS3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// LocalS3 에 실제로 올려보고 크기/업로드 방식, key 와 Content-Type, 파일을 힙에 통째로 읽지 않는지 확인
+class S3ImageServiceTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private LocalS3 localS3;
+    private AmazonS3 amazonS3;
+    private S3ImageService s3ImageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localS3 = new LocalS3();
+        amazonS3 = localS3.client();
+        s3ImageService = new S3ImageService(amazonS3, "test", DataSize.ofMegabytes(8), DataSize.ofMegabytes(5), 4);
+        // SDK 초기화 때의 할당이 측정에 섞이지 않도록 한 번 올려둠
+        upload(DiskMultipartFile.of(randomBytes(1024), "warmup.jpg", "image/jpeg"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3ImageService.shutdown();
+        amazonS3.shutdown();
+        localS3.close();
+    }
+
+    @Test
+    void smallFileIsStreamedInOnePut() throws IOException {
+        DiskMultipartFile image = DiskMultipartFile.of(randomBytes(6 * MB), "photo.jpg", "image/jpeg");
+        long partsBefore = localS3.partsPut();
+
+        upload(image);
+
+        assertThat(localS3.objectSize("test", key(image))).isEqualTo(6L * MB);
+        assertThat(localS3.partsPut()).isEqualTo(partsBefore);
+        // 파일을 통째로 힙에 읽지 않고 SDK 버퍼 단위로 흘려보냄
+        // (http 엔드포인트의 aws-chunked 서명은 청크마다 버퍼를 새로 만들어 할당량은 파일 크기에 비례하지만 한 번에 잡는 양은 청크 하나)
+        assertThat(image.loadedIntoHeap()).isFalse();
+        assertThat(image.largestRead()).isLessThanOrEqualTo(256 * 1024);
+        image.delete();
+    }
+
+    @Test
+    void largeFileIsUploadedInParts() throws IOException {
+        DiskMultipartFile image = DiskMultipartFile.of(randomBytes(12 * MB), "photo.jpg", "image/jpeg");
+        String key = key(image);
+        long partsBefore = localS3.partsPut();
+
+        long allocated = allocatedBytes(() -> upload(image));
+
+        assertThat(localS3.objectSize("test", key)).isEqualTo(12L * MB);
+        assertThat(localS3.partsPut() - partsBefore).isEqualTo(3);  // 5MB + 5MB + 2MB
+        // part 는 업로드 스레드가 파일에서 위치별로 읽으므로 요청 스레드는 내용을 읽지 않음
+        assertThat(image.loadedIntoHeap()).isFalse();
+        assertThat(allocated).isLessThan(2L * MB);
+        image.delete();
+    }
+
+    @Test
+    void sameImageGetsOneKeyWhateverTheFilename() throws IOException {
+        byte[] jpeg = randomBytes(4096);
+        jpeg[0] = (byte) 0xFF;
+        jpeg[1] = (byte) 0xD8;
+        jpeg[2] = (byte) 0xFF;
+        DiskMultipartFile lower = DiskMultipartFile.of(jpeg, "photo.jpg", "image/jpeg");
+        DiskMultipartFile upper = DiskMultipartFile.of(jpeg, "PHOTO.JPEG", "image/jpeg");
+        DiskMultipartFile noExtension = DiskMultipartFile.of(jpeg, "photo", "application/octet-stream");
+
+        assertThat(key(lower)).endsWith(".jpg").isEqualTo(key(upper)).isEqualTo(key(noExtension));
+
+        upload(upper);
+        assertThat(localS3.contentType("test", key(lower))).isEqualTo("image/jpeg");
+        lower.delete();
+        upper.delete();
+        noExtension.delete();
+    }
+
+    @Test
+    void unknownFormatIsStoredWithoutImageContentType() throws IOException {
+        byte[] content = randomBytes(4096);
+        content[0] = 0;  // 어떤 이미지 형식의 시작과도 맞지 않도록
+        DiskMultipartFile file = DiskMultipartFile.of(content, "notes.bin", "application/octet-stream");
+
+        String key = key(file);
+        upload(file);
+
+        assertThat(key.substring(key.lastIndexOf('/') + 1)).doesNotContain(".");
+        assertThat(localS3.contentType("test", key)).isEqualTo("application/octet-stream");
+        file.delete();
+    }
+
+    private String upload(DiskMultipartFile image) {
+        return s3ImageService.uploadImage(image, "articleImg");
+    }
+
+    private String key(DiskMultipartFile image) {
+        return s3ImageService.contentKey(image, "articleImg");
+    }
+
+    // 호출한 스레드에서 할당한 바이트 수 (part 업로드 스레드의 할당은 포함되지 않음)
+    private static long allocatedBytes(Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        call.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
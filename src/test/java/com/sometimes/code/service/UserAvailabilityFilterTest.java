@@ -0,0 +1,76 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 필터 키는 MariaDB _ci 비교처럼 대소문자, 악센트, 전각, 뒤쪽 공백을 무시해야 중복을 놓치지 않음
+class UserAvailabilityFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserAvailabilityFilter filter = new UserAvailabilityFilter(mock(JdbcTemplate.class), userRepository,
+            meterRegistry, true, 1000, 0.01);
+
+    @BeforeEach
+    void buildEmptyFilter() {
+        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userRepository.existsByNickName(anyString())).thenReturn(true);
+        filter.rebuild();  // 빈 테이블로 만들어져 준비 상태가 됨
+    }
+
+    @Test
+    void emailVariantsThatDatabaseTreatsAsEqualReachTheDatabase() {
+        filter.addUser("José.Kim@Example.com", "nick");
+
+        assertThat(filter.isEmailTaken("jose.kim@example.com")).isTrue();
+        assertThat(filter.isEmailTaken("JOSÉ.KIM@EXAMPLE.COM  ")).isTrue();
+        assertThat(filter.isEmailTaken("José.Kim@Example.com")).isTrue();  // 조합형 악센트
+        assertThat(checks("email", "confirmed")).isEqualTo(3);
+        assertThat(checks("email", "negative")).isZero();
+    }
+
+    @Test
+    void nickNameVariantsThatDatabaseTreatsAsEqualReachTheDatabase() {
+        filter.addUser("nick@example.com", "Ｎｉｃｋ");
+
+        assertThat(filter.isNickNameTaken("nick")).isTrue();
+        assertThat(filter.isNickNameTaken("NICK ")).isTrue();
+        assertThat(checks("nickname", "confirmed")).isEqualTo(2);
+    }
+
+    @Test
+    void unknownValueIsAnsweredWithoutDatabase() {
+        filter.addUser("taken@example.com", "taken");
+
+        assertThat(filter.isEmailTaken("free@example.com")).isFalse();
+        assertThat(filter.isNickNameTaken("free")).isFalse();
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByNickName(anyString());
+        assertThat(checks("email", "negative")).isEqualTo(1);
+        assertThat(checks("nickname", "negative")).isEqualTo(1);
+    }
+
+    @Test
+    void checkCountersAreRegisteredUpFront() {
+        for (String attribute : new String[]{"email", "nickname"}) {
+            for (String result : new String[]{"negative", "confirmed", "false_positive"}) {
+                assertThat(checks(attribute, result)).isZero();
+            }
+        }
+    }
+
+    private double checks(String attribute, String result) {
+        return meterRegistry.get("user.availability.filter.checks")
+                .tag("attribute", attribute).tag("result", result).counter().count();
+    }
+}
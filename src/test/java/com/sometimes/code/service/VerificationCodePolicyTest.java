@@ -0,0 +1,106 @@
+package com.sometimes.code.service;
+
+import com.sometimes.code.domain.auth.MailAuthNum;
+import com.sometimes.code.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 시각을 직접 넘겨서 유효기간, 재전송 간격/횟수, 틀린 횟수 제한을 확인
+class VerificationCodePolicyTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    // ttl 10분, 재전송 간격 60초, 1시간에 3번, 3번 틀리면 잠김
+    private final VerificationCodePolicy policy = new VerificationCodePolicy(
+            Duration.ofMinutes(10), Duration.ofSeconds(60), 3, Duration.ofHours(1), 3);
+
+    @Test
+    void resendWithinCooldownIsRejectedWithRemainingSeconds() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "111111", T0);
+
+        assertThatThrownBy(() -> policy.issue(state, "222222", T0.plusSeconds(20)))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(40));
+
+        policy.issue(state, "222222", T0.plusSeconds(60));
+        assertThat(state.getAuthNum()).isEqualTo("222222");
+    }
+
+    @Test
+    void sendsAreLimitedPerWindow() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "1", T0);
+        policy.issue(state, "2", T0.plusMinutes(1));
+        policy.issue(state, "3", T0.plusMinutes(2));
+
+        assertThatThrownBy(() -> policy.issue(state, "4", T0.plusMinutes(3)))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // 제한 기간이 지나면 다시 보낼 수 있음
+        policy.issue(state, "4", T0.plusHours(1));
+        assertThat(state.getSendCount()).isEqualTo(1);
+    }
+
+    @Test
+    void wrongCodesLockUntilNewCodeIsIssued() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "123456", T0);
+
+        assertThat(policy.verify(state, "000000", T0)).isEqualTo(VerificationCodeStore.Result.MISMATCH);
+        assertThat(policy.verify(state, "000001", T0)).isEqualTo(VerificationCodeStore.Result.MISMATCH);
+        assertThat(policy.verify(state, "000002", T0)).isEqualTo(VerificationCodeStore.Result.LOCKED);
+        // 잠긴 뒤에는 맞는 번호도 받지 않음
+        assertThat(policy.verify(state, "123456", T0)).isEqualTo(VerificationCodeStore.Result.LOCKED);
+
+        policy.issue(state, "654321", T0.plusMinutes(1));
+        assertThat(policy.verify(state, "654321", T0.plusMinutes(1))).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+    }
+
+    @Test
+    void codeIsUsableOnceAndExpires() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "123456", T0);
+
+        assertThat(policy.verify(state, "123456", T0.plusMinutes(10))).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+
+        policy.issue(state, "654321", T0.plusMinutes(11));
+        assertThat(policy.verify(state, "654321", T0.plusMinutes(12))).isEqualTo(VerificationCodeStore.Result.VERIFIED);
+        assertThat(state.isVerified()).isTrue();
+        assertThat(policy.verify(state, "654321", T0.plusMinutes(12))).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+    }
+
+    @Test
+    void entryIsKeptUntilSendWindowEnds() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "123456", T0);
+
+        // 번호는 만료됐지만 재전송 횟수는 기억해야 함
+        assertThat(policy.isDisposable(state, T0.plusMinutes(30))).isFalse();
+        assertThat(policy.isDisposable(state, T0.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void cancelUndoesOnlyTheCancelledCode() {
+        MailAuthNum state = new MailAuthNum("a@test.com");
+        policy.issue(state, "123456", T0);
+
+        policy.cancel(state, "999999", T0);
+        assertThat(state.getSendCount()).isEqualTo(1);
+
+        policy.cancel(state, "123456", T0);
+        assertThat(state.getSendCount()).isZero();
+        assertThat(policy.verify(state, "123456", T0)).isEqualTo(VerificationCodeStore.Result.EXPIRED);
+        policy.issue(state, "222222", T0);  // 재전송 간격에 세지 않음
+    }
+
+    @Test
+    void keyIgnoresCaseAndSurroundingSpaces() {
+        assertThat(policy.key(" User@Test.COM ")).isEqualTo("user@test.com");
+    }
+}
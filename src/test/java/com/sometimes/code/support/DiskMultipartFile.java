@@ -0,0 +1,121 @@
+package com.sometimes.code.support;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// 톰캣이 디스크에 받아둔 큰 part 처럼 동작하는 MultipartFile (MockMultipartFile 은 내용을 힙에 들고 있음)
+// getInputStream 은 파일에서 읽고, transferTo 는 톰캣처럼 파일을 옮기므로 그 뒤에는 다시 읽을 수 없음
+public class DiskMultipartFile implements MultipartFile {
+
+    private final String originalFilename;
+    private final String contentType;
+    private final Path file;
+    private final long size;
+
+    private volatile boolean loadedIntoHeap;
+    private volatile int largestRead;
+    private volatile boolean transferred;
+
+    private DiskMultipartFile(String originalFilename, String contentType, Path file) throws IOException {
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.file = file;
+        this.size = Files.size(file);
+    }
+
+    // 요청마다 톰캣이 새로 받는 것처럼 원본을 임시 파일로 복사
+    public static DiskMultipartFile copyOf(Path source, String originalFilename, String contentType) throws IOException {
+        Path copy = Files.createTempFile("upload-part-", ".tmp");
+        Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+        return new DiskMultipartFile(originalFilename, contentType, copy);
+    }
+
+    public static DiskMultipartFile of(byte[] content, String originalFilename, String contentType) throws IOException {
+        Path file = Files.createTempFile("upload-part-", ".tmp");
+        Files.write(file, content);
+        return new DiskMultipartFile(originalFilename, contentType, file);
+    }
+
+    // 요청이 끝나면 톰캣이 지우는 것처럼 (이미 옮겨졌으면 아무것도 안 함)
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // getBytes 로 내용 전체를 힙에 읽은 적이 있는지
+    public boolean loadedIntoHeap() {
+        return loadedIntoHeap;
+    }
+
+    // getInputStream 에서 read 한 번에 읽어간 가장 큰 바이트 수 (스트리밍이면 SDK 의 버퍼 크기 정도)
+    public int largestRead() {
+        return largestRead;
+    }
+
+    // transferTo 로 파일이 옮겨졌는지 (그 뒤로는 getInputStream 이 실패함)
+    public boolean transferred() {
+        return transferred;
+    }
+
+    @Override
+    public String getName() {
+        return "image";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        loadedIntoHeap = true;
+        return Files.readAllBytes(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read > largestRead) {
+                    largestRead = read;
+                }
+                return read;
+            }
+        };
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.move(file, dest, StandardCopyOption.REPLACE_EXISTING);
+        transferred = true;
+    }
+}
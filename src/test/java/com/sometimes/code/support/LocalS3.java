@@ -0,0 +1,257 @@
+package com.sometimes.code.support;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 테스트/벤치마크용 S3 대역 (PutObject, multipart 업로드(ListParts 포함), HeadObject, DeleteObject(s) 만 흉내)
+// 받은 내용은 저장하지 않고 MD5 만 계산해서 ETag 로 돌려줌 (SDK 의 무결성 검사를 통과하도록), HEAD 용으로 key 별 크기와 Content-Type 만 기억함
+public class LocalS3 implements AutoCloseable {
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>([^<]+)</Key>");
+
+    private record Received(String etag, long size) {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final AtomicLong objectsPut = new AtomicLong();
+    private final AtomicLong partsPut = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final Map<String, Long> objectSizes = new ConcurrentHashMap<>();
+    private final Map<String, Long> multipartSizes = new ConcurrentHashMap<>();
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+    private final Set<String> failingDeletes = ConcurrentHashMap.newKeySet();
+
+    public LocalS3() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public AmazonS3 client() {
+        return AmazonS3ClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        "http://127.0.0.1:" + server.getAddress().getPort(), "ap-northeast-2"))
+                .withPathStyleAccessEnabled(true)
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("bench", "bench")))
+                .build();
+    }
+
+    public long objectsPut() {
+        return objectsPut.get();
+    }
+
+    public long partsPut() {
+        return partsPut.get();
+    }
+
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+
+    // 올라간 객체의 크기 (multipart 는 part 크기의 합), 없으면 null
+    public Long objectSize(String bucket, String key) {
+        return objectSizes.get("/" + bucket + "/" + key);
+    }
+
+    // 올라간 객체의 Content-Type (multipart 는 시작할 때 보낸 값), 없으면 null
+    public String contentType(String bucket, String key) {
+        return contentTypes.get("/" + bucket + "/" + key);
+    }
+
+    // DeleteObjects 에서 이 객체는 지우지 않고 실패로 응답함
+    public void failDeletes(String bucket, String key) {
+        failingDeletes.add("/" + bucket + "/" + key);
+    }
+
+    public void allowDeletes(String bucket, String key) {
+        failingDeletes.remove("/" + bucket + "/" + key);
+    }
+
+    // 올라간 객체를 모두 잊음 (다음 업로드가 처음 올리는 것이 되도록)
+    public void clear() {
+        objectSizes.clear();
+        contentTypes.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String query = exchange.getRequestURI().getRawQuery() == null ? "" : exchange.getRequestURI().getRawQuery();
+        String path = exchange.getRequestURI().getPath();
+        try (exchange) {
+            if ("POST".equals(method) && query.startsWith("uploads")) {
+                drain(exchange.getRequestBody());
+                rememberContentType(exchange, path);
+                xml(exchange, "<InitiateMultipartUploadResult><Bucket>b</Bucket><Key>k</Key>"
+                        + "<UploadId>local-upload</UploadId></InitiateMultipartUploadResult>");
+            } else if ("POST".equals(method) && query.contains("uploadId")) {
+                drain(exchange.getRequestBody());
+                objectsPut.incrementAndGet();
+                objectSizes.put(path, multipartSizes.getOrDefault(path, 0L));
+                multipartSizes.remove(path);
+                xml(exchange, "<CompleteMultipartUploadResult><Location>local</Location><Bucket>b</Bucket><Key>k</Key>"
+                        + "<ETag>\"local-multipart\"</ETag></CompleteMultipartUploadResult>");
+            } else if ("POST".equals(method) && query.startsWith("delete")) {
+                deleteObjects(exchange, path);
+            } else if ("GET".equals(method) && query.contains("uploadId")) {
+                // 병렬 multipart 업로드 전에 이어 올릴 part 가 있는지 조회함
+                xml(exchange, "<ListPartsResult><Bucket>b</Bucket><Key>k</Key><UploadId>local-upload</UploadId>"
+                        + "<IsTruncated>false</IsTruncated></ListPartsResult>");
+            } else if ("PUT".equals(method)) {
+                Received received = readObject(exchange);
+                if (query.contains("partNumber")) {
+                    partsPut.incrementAndGet();
+                    multipartSizes.merge(path, received.size(), Long::sum);
+                } else {
+                    objectsPut.incrementAndGet();
+                    objectSizes.put(path, received.size());
+                    rememberContentType(exchange, path);
+                }
+                exchange.getResponseHeaders().add("ETag", "\"" + received.etag() + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("HEAD".equals(method)) {
+                Long size = objectSizes.get(path);
+                if (size == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(size));
+                    exchange.getResponseHeaders().add("ETag", "\"local\"");
+                    // 본문 없는 응답 뒤에 연결을 재사용하면 다음 요청이 ~100ms 씩 늦어지므로 닫음
+                    exchange.getResponseHeaders().add("Connection", "close");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            } else {
+                drain(exchange.getRequestBody());
+                if ("DELETE".equals(method)) {
+                    objectSizes.remove(path);
+                    contentTypes.remove(path);
+                }
+                exchange.sendResponseHeaders("DELETE".equals(method) ? 204 : 200, -1);
+            }
+        }
+    }
+
+    // 요청 본문의 <Key> 들을 지우고, 실패하도록 정해둔 key 만 Error 로 돌려줌 (Quiet 모드 응답)
+    private void deleteObjects(HttpExchange exchange, String bucketPath) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        StringBuilder errors = new StringBuilder();
+        Matcher matcher = DELETE_KEY.matcher(body);
+        while (matcher.find()) {
+            String path = (bucketPath.endsWith("/") ? bucketPath : bucketPath + "/") + matcher.group(1);
+            if (failingDeletes.contains(path)) {
+                errors.append("<Error><Key>").append(matcher.group(1))
+                        .append("</Key><Code>InternalError</Code><Message>local failure</Message></Error>");
+            } else {
+                objectSizes.remove(path);
+                contentTypes.remove(path);
+            }
+        }
+        xml(exchange, "<DeleteResult>" + errors + "</DeleteResult>");
+    }
+
+    private void rememberContentType(HttpExchange exchange, String path) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            contentTypes.put(path, contentType);
+        }
+    }
+
+    // http 엔드포인트면 SDK 가 aws-chunked 인코딩(청크마다 서명)으로 보내므로 풀어서 본문만 MD5
+    private Received readObject(HttpExchange exchange) throws IOException {
+        MessageDigest md5 = md5();
+        long total = 0;
+        byte[] buffer = new byte[64 * 1024];
+        InputStream body = exchange.getRequestBody();
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (sha256 != null && sha256.startsWith("STREAMING-")) {
+            while (true) {
+                String header = readLine(body);
+                int size = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+                if (size == 0) {
+                    break;
+                }
+                int remaining = size;
+                while (remaining > 0) {
+                    int read = body.read(buffer, 0, Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        throw new IOException("Truncated chunk");
+                    }
+                    md5.update(buffer, 0, read);
+                    remaining -= read;
+                }
+                bytesReceived.addAndGet(size);
+                total += size;
+                readLine(body);
+            }
+            drain(body);
+        } else {
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                md5.update(buffer, 0, read);
+                bytesReceived.addAndGet(read);
+                total += read;
+            }
+        }
+        return new Received(HexFormat.of().formatHex(md5.digest()), total);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    private static void xml(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
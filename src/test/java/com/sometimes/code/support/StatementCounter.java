@@ -0,0 +1,45 @@
+package com.sometimes.code.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// 스레드별로 실행된 SQL 문 개수와 커넥션을 꺼낸 횟수를 셈 (datasource-proxy 리스너)
+// 스케줄러 등 다른 스레드에서 나간 쿼리는 측정하는 스레드(테스트, 벤치마크)의 값에 섞이지 않음
+public final class StatementCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    public static long connections() {
+        return COUNT.get()[1];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        COUNT.get()[0] += queryInfoList.size();
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof DataSource && "getConnection".equals(executionContext.getMethod().getName())) {
+            COUNT.get()[1]++;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sometimes.code.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// 실행된 SQL 문 개수와 커넥션을 꺼낸 횟수를 세기 위해 DataSource 를 프록시로 감쌈 (StatementCounter)
+// 벤치마크 컨텍스트가 컴포넌트 스캔으로 가져가지 않도록 @Configuration 을 붙이지 않고 @Import 로만 씀
+public class StatementCountingDataSource {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    StatementCounter counter = new StatementCounter();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(counter)
+                            .methodListener(counter)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.sometimes.code.support;
+
+import com.sometimes.code.domain.auth.Authority;
+import com.sometimes.code.domain.auth.User;
+import com.sometimes.code.repository.UserRepository;
+
+import java.util.UUID;
+
+// 테스트끼리 컨텍스트(DB)를 같이 쓰므로 겹치지 않는 이메일/닉네임으로 사용자를 만듦
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User create(UserRepository userRepository) {
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setEmail(id + "@test.com");
+        user.setPassword("password");
+        user.setName("tester");
+        user.setNickName("nick-" + id);
+        user.setAuthority(Authority.ROLE_USER);
+        return userRepository.save(user);
+    }
+}